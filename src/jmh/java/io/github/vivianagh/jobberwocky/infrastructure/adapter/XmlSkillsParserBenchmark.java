@@ -0,0 +1,135 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.NodeList;
+import org.xml.sax.InputSource;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.StringReader;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Skills snippet parsing: the former DOM parser against the StAX parser,
+ * with and without its snippet cache.
+ *
+ * Each invocation parses the next snippet of a feed where {@code distinct}
+ * different snippets repeat, like the external API's. Run with -prof gc to
+ * compare allocation per parse.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.include=XmlSkillsParserBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class XmlSkillsParserBenchmark {
+
+    private static final List<String> SKILLS = List.of(
+            "Java", "Spring", "SQL", "AWS", "Docker", "Kubernetes", "Python", "Go",
+            "React", "TypeScript", "Kafka", "Terraform", "Linux", "CI/CD", "Azure", "Scala");
+
+    @Param({"200"})
+    int distinct;
+
+    private String[] feed;
+    private int next;
+
+    private DomSkillsParser dom;
+    private XmlSkillsParser stax;
+    private XmlSkillsParser staxCached;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] snippets = new String[distinct];
+        for (int i = 0; i < distinct; i++) {
+            StringBuilder xml = new StringBuilder("<skills>");
+            int count = 1 + random.nextInt(5);
+            for (int k = 0; k < count; k++) {
+                xml.append("<skill>").append(SKILLS.get(random.nextInt(SKILLS.size()))).append("</skill>");
+            }
+            snippets[i] = xml.append("</skills>").toString();
+        }
+        feed = new String[4096];
+        for (int i = 0; i < feed.length; i++) {
+            // Fresh String instances, as each job's snippet is once read from JSON
+            feed[i] = new String(snippets[random.nextInt(distinct)]);
+        }
+
+        dom = new DomSkillsParser();
+        stax = new XmlSkillsParser(0);
+        staxCached = new XmlSkillsParser(10_000);
+    }
+
+    private String nextSnippet() {
+        String xml = feed[next];
+        next = (next + 1) & (feed.length - 1);
+        return xml;
+    }
+
+    @Benchmark
+    public Set<String> dom() {
+        return dom.parseSkills(nextSnippet());
+    }
+
+    @Benchmark
+    public Set<String> stax() {
+        return stax.parseSkills(nextSnippet());
+    }
+
+    @Benchmark
+    public Set<String> staxCached() {
+        return staxCached.parseSkills(nextSnippet());
+    }
+
+    /**
+     * Baseline: the DOM implementation XmlSkillsParser used to have.
+     */
+    static final class DomSkillsParser {
+        private final DocumentBuilderFactory factory;
+
+        DomSkillsParser() {
+            factory = DocumentBuilderFactory.newInstance();
+            try {
+                factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+                factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
+                factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        Set<String> parseSkills(String xmlString) {
+            try {
+                Document document = factory.newDocumentBuilder().parse(new InputSource(new StringReader(xmlString)));
+                NodeList skillNodes = document.getElementsByTagName("skill");
+                Set<String> skills = new HashSet<>();
+                for (int i = 0; i < skillNodes.getLength(); i++) {
+                    String skill = skillNodes.item(i).getTextContent().trim();
+                    if (!skill.isEmpty()) skills.add(skill);
+                }
+                return skills;
+            } catch (Exception e) {
+                return new HashSet<>();
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Near-duplicate detection over a merged result: the LSH index against
+ * comparing every pair of jobs (exact Jaccard of title shingles, same
+ * country / salary / source rules).
+ *
+ * A third of the jobs are a second source's copy of another one, under an
+ * abbreviated or slightly edited title. Time per merged result; the
+ * pairwise baseline grows with jobs^2, the index with jobs.
+ *
+ * mvn -Pjmh test-compile exec:exec -Djmh.include=NearDuplicateBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NearDuplicateBenchmark {
+
+    private static final List<String> SENIORITY = List.of("", "Senior", "Sr.", "Junior", "Lead", "Principal");
+    private static final List<String> STACK = List.of(
+            "Java", "Go", "Python", "Frontend", "Backend", "Data", "Platform", "Mobile", "DevOps", "QA");
+    private static final List<String> ROLE = List.of("Developer", "Dev", "Engineer", "Eng", "Architect", "Analyst");
+    private static final List<String> COUNTRY = List.of("USA", "Spain", "Germany", "Argentina", "UK");
+
+    @Param({"1000", "5000"})
+    int jobs;
+
+    private List<Job> merged;
+    private NearDuplicateDetector detector;
+    private PairwiseDetector pairwise;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        merged = new ArrayList<>(jobs);
+        while (merged.size() < jobs) {
+            String title = String.join(" ", SENIORITY.get(random.nextInt(SENIORITY.size())),
+                    STACK.get(random.nextInt(STACK.size())), ROLE.get(random.nextInt(ROLE.size())),
+                    "#" + random.nextInt(1000)).trim();
+            String country = COUNTRY.get(random.nextInt(COUNTRY.size()));
+            int salary = 30_000 + random.nextInt(150) * 1000;
+            merged.add(job(title, country, salary, "INTERNAL"));
+            if (random.nextInt(2) == 0) {
+                String copy = title.replace("Senior", "Sr").replace("Developer", "Dev").replace("Engineer", "Eng");
+                merged.add(job(copy, country.toLowerCase(), salary + random.nextInt(3) * 1000, "EXTERNAL_API"));
+            }
+        }
+        Collections.shuffle(merged, random);
+
+        SourcesProperties.NearDuplicates settings = new SourcesProperties.NearDuplicates();
+        detector = new NearDuplicateDetector(settings);
+        pairwise = new PairwiseDetector(settings.getThreshold(), settings.getSalaryTolerancePercent() / 100);
+    }
+
+    private static Job job(String title, String country, int salary, String source) {
+        return Job.builder().title(title).country(country).salary(new BigDecimal(salary)).source(source).build();
+    }
+
+    @Benchmark
+    public int[] lsh() {
+        return detector.representatives(merged);
+    }
+
+    @Benchmark
+    public int[] pairwise() {
+        return pairwise.representatives(merged);
+    }
+
+    /**
+     * Baseline: every job against every earlier one.
+     */
+    static final class PairwiseDetector {
+        private final double threshold;
+        private final double salaryTolerance;
+
+        PairwiseDetector(double threshold, double salaryTolerance) {
+            this.threshold = threshold;
+            this.salaryTolerance = salaryTolerance;
+        }
+
+        int[] representatives(List<Job> jobs) {
+            int n = jobs.size();
+            List<Set<String>> shingles = new ArrayList<>(n);
+            for (Job job : jobs) shingles.add(shingles(NearDuplicateDetector.normalize(job.getTitle())));
+            int[] representative = new int[n];
+            for (int i = 0; i < n; i++) {
+                representative[i] = i;
+                for (int j = 0; j < i; j++) {
+                    if (matches(jobs.get(i), jobs.get(j)) && jaccard(shingles.get(i), shingles.get(j)) >= threshold) {
+                        representative[i] = representative[j];
+                        break;
+                    }
+                }
+            }
+            return representative;
+        }
+
+        private boolean matches(Job a, Job b) {
+            if (!a.getCountry().equalsIgnoreCase(b.getCountry()) || a.getSource().equals(b.getSource())) return false;
+            double x = a.getSalary().doubleValue();
+            double y = b.getSalary().doubleValue();
+            return Math.abs(x - y) <= salaryTolerance * Math.max(x, y);
+        }
+
+        private static Set<String> shingles(String text) {
+            Set<String> out = new HashSet<>();
+            for (int i = 0; i + 3 <= text.length(); i++) out.add(text.substring(i, i + 3));
+            return out;
+        }
+
+        private static double jaccard(Set<String> a, Set<String> b) {
+            int common = 0;
+            for (String s : a) {
+                if (b.contains(s)) common++;
+            }
+            return (double) common / (a.size() + b.size() - common);
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package io.github.vivianagh.jobberwocky.application.servicio;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vivianagh.jobberwocky.config.IngestProperties;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.BatchItemResult;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.BatchResponse;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.JobRequest;
+import io.github.vivianagh.jobberwocky.infrastructure.web.mapper.JobMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bulk create for partner imports (POST /api/jobs/batch).
+ *
+ * The body is read one item at a time, so it may be a JSON array or NDJSON
+ * (one object per line) of any length without being held in memory. Each
+ * item is validated like a single POST; valid ones are written in chunks of
+ * ingest.chunk-size, one transaction per chunk (see JobService#createAll).
+ * A chunk that fails is retried item by item so the result pinpoints the
+ * offending jobs instead of failing its neighbours.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JobBatchService {
+
+    private final JobService jobService;
+    private final JobMapper jobMapper;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final IngestProperties properties;
+
+    public BatchResponse createAll(InputStream body) {
+        List<BatchItemResult> results = new ArrayList<>();
+        List<Pending> chunk = new ArrayList<>();
+        String error = null;
+        int received = 0;
+
+        try (MappingIterator<JsonNode> items = objectMapper.readerFor(JsonNode.class).readValues(body)) {
+            // A top-level array is unwrapped by the iterator, so both formats read the same way
+            while (items.hasNextValue()) {
+                if (received == properties.getMaxItems()) {
+                    error = "Too many items, only the first " + properties.getMaxItems() + " were read";
+                    break;
+                }
+                JsonNode node = items.nextValue();
+                int index = received++;
+
+                Parsed parsed = parse(node);
+                if (!parsed.errors().isEmpty()) {
+                    results.add(BatchItemResult.invalid(index, parsed.errors()));
+                    continue;
+                }
+                chunk.add(new Pending(index, parsed.request()));
+                if (chunk.size() == properties.getChunkSize()) {
+                    results.addAll(save(chunk));
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            // Unreadable JSON: nothing after this point can be trusted
+            String detail = e instanceof JsonProcessingException jpe ? jpe.getOriginalMessage() : e.getMessage();
+            error = "Malformed body at item " + received + ": " + detail;
+        }
+        results.addAll(save(chunk));
+
+        results.sort(Comparator.comparingInt(BatchItemResult::index));
+        int created = (int) results.stream().filter(r -> r.status() == BatchItemResult.Status.CREATED).count();
+        log.info("Batch create: {} received, {} created", received, created);
+        return new BatchResponse(received, created, received - created, results, error);
+    }
+
+    // -------- Helpers --------
+    private record Pending(int index, JobRequest request) {
+    }
+
+    /** Either a valid request or its errors by field */
+    private record Parsed(JobRequest request, Map<String, String> errors) {
+        static Parsed invalid(String field, String message) {
+            return new Parsed(null, Map.of(field, message));
+        }
+    }
+
+    private Parsed parse(JsonNode node) {
+        JobRequest request;
+        try {
+            request = node.isObject() ? objectMapper.treeToValue(node, JobRequest.class) : null;
+        } catch (JsonProcessingException | IllegalArgumentException e) {
+            String detail = e instanceof JsonProcessingException jpe ? jpe.getOriginalMessage() : e.getMessage();
+            return Parsed.invalid("body", detail);
+        }
+        if (request == null) return Parsed.invalid("body", "Item is not a JSON object");
+
+        Map<String, String> errors = new LinkedHashMap<>();
+        for (ConstraintViolation<JobRequest> v : validator.validate(request)) {
+            errors.put(v.getPropertyPath().toString(), v.getMessage());
+        }
+        return new Parsed(request, errors);
+    }
+
+    private List<BatchItemResult> save(List<Pending> chunk) {
+        if (chunk.isEmpty()) return List.of();
+        try {
+            List<Job> saved = jobService.createAll(chunk.stream().map(p -> jobMapper.toDomain(p.request())).toList());
+            List<BatchItemResult> out = new ArrayList<>(chunk.size());
+            for (int i = 0; i < chunk.size(); i++) {
+                out.add(BatchItemResult.created(chunk.get(i).index(), saved.get(i).getId()));
+            }
+            return out;
+        } catch (RuntimeException e) {
+            log.warn("Batch chunk of {} jobs failed ({}), retrying one by one", chunk.size(), e.getMessage());
+        }
+
+        // Fresh entities: the ones from the rolled back transaction already carry ids
+        List<BatchItemResult> out = new ArrayList<>(chunk.size());
+        for (Pending p : chunk) {
+            try {
+                Job saved = jobService.createAll(List.of(jobMapper.toDomain(p.request()))).get(0);
+                out.add(BatchItemResult.created(p.index(), saved.getId()));
+            } catch (RuntimeException e) {
+                out.add(BatchItemResult.failed(p.index(), rootMessage(e)));
+            }
+        }
+        return out;
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null && root.getCause() != root) root = root.getCause();
+        return root.getMessage() != null ? root.getMessage() : root.getClass().getSimpleName();
+    }
+}
@@ -1,7 +1,13 @@
 package io.github.vivianagh.jobberwocky.application.servicio;
 
+import io.github.vivianagh.jobberwocky.domain.event.JobCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.event.JobsCreatedEvent;
 import io.github.vivianagh.jobberwocky.domain.model.Job;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.JobSort;
+import io.github.vivianagh.jobberwocky.domain.model.SearchCursor;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
 import io.github.vivianagh.jobberwocky.domain.port.JobSource;
 import io.github.vivianagh.jobberwocky.infrastructure.repository.JobRepository;
 import io.github.vivianagh.jobberwocky.infrastructure.web.dto.JobRequest;
@@ -10,6 +16,7 @@ import io.github.vivianagh.jobberwocky.infrastructure.web.dto.PageResponse;
 import io.github.vivianagh.jobberwocky.infrastructure.web.dto.SearchParams;
 import io.github.vivianagh.jobberwocky.infrastructure.web.mapper.JobMapper;
 import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,10 +24,8 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.*;
 
-import java.math.BigDecimal;
-import java.time.LocalDateTime;
-import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
@@ -28,14 +33,30 @@ public class JobService {
 
     private final JobRepository jobRepository;
     private final JobSource jobSource;
+    private final ApplicationEventPublisher events;
 
     @Transactional
     public Job create(Job job) {
         job.setSource("INTERNAL");
-        return jobRepository.save(job);
+        Job saved = jobRepository.save(job);
+        events.publishEvent(new JobCreatedEvent(saved));
+        return saved;
+    }
+
+    /**
+     * Inserts the jobs in one transaction, returned in the same order. Ids come
+     * from the pooled jobs_seq, so Hibernate can send the inserts as JDBC
+     * batches (hibernate.jdbc.batch_size). Listeners get one JobsCreatedEvent
+     * for the batch.
+     */
+    @Transactional
+    public List<Job> createAll(List<Job> jobs) {
+        jobs.forEach(job -> job.setSource("INTERNAL"));
+        List<Job> saved = jobRepository.saveAll(jobs);
+        if (!saved.isEmpty()) events.publishEvent(new JobsCreatedEvent(saved));
+        return saved;
     }
 
-    @Transactional(readOnly = true)
     public List<Job> search(JobSearchCriteria criteria) {
         if (criteria == null) {
             criteria = JobSearchCriteria.builder().build();
@@ -44,50 +65,64 @@ public class JobService {
         return jobSource.searchJobs(criteria);
     }
 
-    @Transactional(readOnly = true)
     public PageResponse<Job> searchPaged(JobSearchCriteria criteria,
                                          Integer page,
                                          Integer size,
                                          String sort) {
+        return searchPaged(criteria, page, size, sort, null);
+    }
+
+    /**
+     * Offset pagination (page/size), or keyset pagination when a cursor from a
+     * previous response's nextCursor is given. The cursor carries its own
+     * sort and page number; page is then ignored.
+     *
+     * Not transactional, like search: the sources run on their own threads,
+     * and a transaction here would only hold a second connection meanwhile.
+     */
+    public PageResponse<Job> searchPaged(JobSearchCriteria criteria,
+                                         Integer page,
+                                         Integer size,
+                                         String sort,
+                                         String cursor) {
         if (criteria == null) criteria = JobSearchCriteria.builder().build();
         criteria.validate();
 
-        List<Job> all = jobSource.searchJobs(criteria);
-        sortList(all, sort);
-
-        int p = (page == null || page < 0) ? 0 : page;
         int s = (size == null || size <= 0 || size > 100) ? 20 : size;
-        int from = Math.min(p * s, all.size());
-        int to = Math.min(from + s, all.size());
-        List<Job> slice = all.subList(from, to);
 
-        return new PageResponse<>(slice, p, s, all.size());
-    }
-
-    private void sortList(List<Job> list, String sort) {
-        if (sort == null || sort.isBlank()) return; // sin orden, tal cual viene
-
-        String[] parts = sort.split(",", 2);
-        String field = parts[0].trim().toLowerCase();
-        boolean desc = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim());
-
-        Comparator<Job> cmp = switch (field) {
-            case "title"     -> Comparator.comparing(Job::getTitle, Comparator.nullsLast(String::compareToIgnoreCase));
-            case "company"   -> Comparator.comparing(Job::getCompany, Comparator.nullsLast(String::compareToIgnoreCase));
-            case "country"   -> Comparator.comparing(Job::getCountry, Comparator.nullsLast(String::compareToIgnoreCase));
-            case "salary"    -> Comparator.comparing(Job::getSalary, Comparator.nullsLast(BigDecimal::compareTo));
-            case "createdat" -> Comparator.comparing(Job::getCreatedAt, Comparator.nullsLast(LocalDateTime::compareTo));
-            default          -> null;
-        };
-
-        if (cmp != null) {
-            if (desc) cmp = cmp.reversed();
-            list.sort(cmp);
+        if (cursor != null && !cursor.isBlank()) {
+            SearchCursor after = SearchCursor.decode(cursor);
+            JobSort requested = JobSort.parse(sort);
+            if (requested != null && !requested.equals(after.sort())) {
+                throw new IllegalArgumentException("cursor was issued for sort " + after.sort());
+            }
+            SearchResult result = jobSource.search(criteria, SearchWindow.after(after, s));
+            // Deep pages are not re-counted: the total comes from the first page
+            return toPage(result, after.page(), s, after.total());
         }
-    }
 
+        int p = (page == null || page < 0) ? 0 : page;
 
+        // Sources only load the rows needed for this page (see JobSource#search(criteria, window))
+        SearchWindow window = SearchWindow.page(p, s, JobSort.parse(sort));
+        SearchResult result = jobSource.search(criteria, window);
 
+        return toPage(result, p, s, result.total());
+    }
 
+    /**
+     * Unsorted, unpaginated search handed to onJobs as the sources answer
+     * (JobSource#stream). Not transactional: no connection is held while the
+     * results are written out.
+     */
+    public SearchResult stream(JobSearchCriteria criteria, Consumer<List<Job>> onJobs) {
+        if (criteria == null) criteria = JobSearchCriteria.builder().build();
+        criteria.validate();
+        return jobSource.stream(criteria, onJobs);
+    }
 
+    private PageResponse<Job> toPage(SearchResult result, int page, int size, long total) {
+        String nextCursor = result.next() == null ? null : result.next().at(page + 1, total).encode();
+        return new PageResponse<>(result.jobs(), page, size, total, result.droppedSources(), nextCursor);
+    }
 }
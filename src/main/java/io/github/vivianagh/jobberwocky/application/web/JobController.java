@@ -1,37 +1,59 @@
 package io.github.vivianagh.jobberwocky.application.web;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vivianagh.jobberwocky.application.servicio.JobBatchService;
 import io.github.vivianagh.jobberwocky.application.servicio.JobService;
 import io.github.vivianagh.jobberwocky.domain.model.Job;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.BatchResponse;
 import io.github.vivianagh.jobberwocky.infrastructure.web.dto.JobRequest;
 import io.github.vivianagh.jobberwocky.infrastructure.web.dto.JobResponse;
 import io.github.vivianagh.jobberwocky.infrastructure.web.dto.PageResponse;
 import io.github.vivianagh.jobberwocky.infrastructure.web.dto.SearchParams;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.SearchSummary;
 import io.github.vivianagh.jobberwocky.infrastructure.web.mapper.JobMapper;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
-import java.util.Set;
 
 @RestController
 @RequestMapping("/api/jobs")
 @RequiredArgsConstructor
+@Slf4j
 public class JobController {
 
     private final JobService jobService;
+    private final JobBatchService jobBatchService;
     private final JobMapper jobMapper;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<JobResponse> create(@Valid @RequestBody JobRequest request) {
-        Job saved = jobService.create(toDomain(request));
+        Job saved = jobService.create(jobMapper.toDomain(request));
         return ResponseEntity.status(HttpStatus.CREATED).body(jobMapper.toResponse(saved));
     }
 
+    /**
+     * Bulk create from a JSON array or NDJSON body, read as a stream.
+     * Always 200: the per-item results tell which jobs were created.
+     */
+    @PostMapping(path = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BatchResponse> createBatch(InputStream body) {
+        return ResponseEntity.ok(jobBatchService.createAll(body));
+    }
+
     @GetMapping
     public ResponseEntity<PageResponse<JobResponse>> search(SearchParams params) {
         var criteria = toCriteria(params);
@@ -40,17 +62,61 @@ public class JobController {
         var size = params.size();
         var sort = params.sort();
 
-        var pageResult = jobService.searchPaged(criteria, page, size, sort);
+        var pageResult = jobService.searchPaged(criteria, page, size, sort, params.cursor());
 
         var mapped = pageResult.content().stream()
                 .map(jobMapper::toResponse)
                 .toList();
 
         return ResponseEntity.ok(
-                new PageResponse<>(mapped, pageResult.page(), pageResult.size(), pageResult.total())
+                new PageResponse<>(mapped, pageResult.page(), pageResult.size(), pageResult.total(),
+                        pageResult.droppedSources(), pageResult.nextCursor())
         );
     }
 
+    /**
+     * Same search, streamed as the sources answer instead of after the
+     * slowest one: every job once its source has answered (deduplicated,
+     * unsorted, unpaginated), then a summary with the counts and which
+     * sources answered.
+     *
+     * NDJSON (SearchEvent lines) by default; SSE ("job" and "summary"
+     * events) when the client asks for text/event-stream. Invalid criteria
+     * get a 400 before anything is streamed; a search failing afterwards
+     * ends the stream with an error event instead of the summary.
+     */
+    @GetMapping(path = "/stream", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public ResponseEntity<StreamingResponseBody> stream(
+            SearchParams params,
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = MediaType.APPLICATION_NDJSON_VALUE) String accept) {
+        var criteria = toCriteria(params);
+        // Before the response starts, so invalid searches still get a 400
+        criteria.validate();
+        boolean sse = MediaType.parseMediaTypes(accept).stream()
+                .anyMatch(MediaType.TEXT_EVENT_STREAM::equalsTypeAndSubtype);
+
+        StreamingResponseBody body = out -> {
+            SearchStreamWriter writer = new SearchStreamWriter(objectMapper, out, sse);
+            SearchResult result;
+            try {
+                result = jobService.stream(criteria,
+                        jobs -> writer.jobs(jobs.stream().map(jobMapper::toResponse).toList()));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();   // the client is gone, nothing more can be written
+            } catch (RuntimeException e) {
+                // The 200 is already sent: end with an error event rather than a cut-off body
+                log.warn("Streamed search failed after {} jobs", writer.streamed(), e);
+                writer.error("Search failed, the jobs sent are incomplete");
+                return;
+            }
+            writer.summary(new SearchSummary(result.total(), writer.streamed(),
+                    result.respondedSources(), result.droppedSources()));
+        };
+        return ResponseEntity.ok()
+                .contentType(sse ? MediaType.TEXT_EVENT_STREAM : MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     private JobSearchCriteria toCriteria(SearchParams p) {
         return JobSearchCriteria.builder()
                 .title(p.title())
@@ -58,6 +124,7 @@ public class JobController {
                 .minSalary(parseBigDecimal(p.minSalary()))
                 .maxSalary(parseBigDecimal(p.maxSalary()))
                 .skill(p.skill())
+                .skillMatch(JobSearchCriteria.SkillMatch.parse(p.skillMatch()))
                 .build();
     }
 
@@ -66,16 +133,4 @@ public class JobController {
         return new BigDecimal(raw.trim());
     }
 
-    private Job toDomain(JobRequest request) {
-        return Job.builder()
-                .title(request.getTitle())
-                .description(request.getDescription())
-                .company(request.getCompany())
-                .country(request.getCountry())
-                .city(request.getCity())
-                .salary(request.getSalary())
-                .skills(request.getSkills())
-                .build();
-    }
-
 }
@@ -0,0 +1,82 @@
+package io.github.vivianagh.jobberwocky.application.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.JobResponse;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.SearchEvent;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.SearchSummary;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a streamed search as NDJSON (one SearchEvent per line) or as
+ * Server-Sent Events ("job" events carrying a JobResponse, then a "summary"
+ * event, or an "error" event carrying {"message": ...}). Each batch is
+ * flushed, so the client sees it right away.
+ */
+final class SearchStreamWriter {
+
+    private static final byte[] NEWLINE = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper;
+    private final OutputStream out;
+    private final boolean sse;
+    private long streamed;
+
+    SearchStreamWriter(ObjectMapper objectMapper, OutputStream out, boolean sse) {
+        this.objectMapper = objectMapper;
+        this.out = out;
+        this.sse = sse;
+    }
+
+    /** Unchecked, as it is called from the search's callback */
+    void jobs(List<JobResponse> jobs) {
+        try {
+            for (JobResponse job : jobs) {
+                if (sse) event("job", job);
+                else line(SearchEvent.job(job));
+            }
+            streamed += jobs.size();
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    void summary(SearchSummary summary) throws IOException {
+        if (sse) event("summary", summary);
+        else line(SearchEvent.summary(summary));
+        out.flush();
+    }
+
+    /** Ends a stream whose search failed, in place of the summary */
+    void error(String message) throws IOException {
+        if (sse) event("error", Map.of("message", message));
+        else line(SearchEvent.error(message));
+        out.flush();
+    }
+
+    /** Jobs written so far */
+    long streamed() {
+        return streamed;
+    }
+
+    // -------- Helpers --------
+    private void line(SearchEvent event) throws IOException {
+        // Serialized to bytes first: writing to the stream directly would close it
+        out.write(objectMapper.writeValueAsBytes(event));
+        out.write(NEWLINE);
+    }
+
+    private void event(String name, Object data) throws IOException {
+        out.write(("event: " + name + "\ndata: ").getBytes(StandardCharsets.UTF_8));
+        // JSON has no raw newlines, so the data fits on one line
+        out.write(objectMapper.writeValueAsBytes(data));
+        out.write(NEWLINE);
+        out.write(NEWLINE);
+    }
+}
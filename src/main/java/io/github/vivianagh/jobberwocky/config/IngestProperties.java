@@ -0,0 +1,14 @@
+package io.github.vivianagh.jobberwocky.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "ingest")
+public class IngestProperties {
+    // Jobs written per transaction; a multiple of hibernate.jdbc.batch_size
+    private int chunkSize = 1000;
+    // Items read from one POST /api/jobs/batch body; the rest is rejected
+    private int maxItems = 500_000;
+}
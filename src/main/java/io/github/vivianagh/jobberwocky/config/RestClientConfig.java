@@ -1,35 +1,201 @@
 package io.github.vivianagh.jobberwocky.config;
 
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.AdaptiveTimeout;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.ConnectionLimitInterceptor;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.GzipResponseInterceptor;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.RequestHedger;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.RetryPolicy;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.web.client.RestClient;
 
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.function.Function;
+
 
 @Configuration
+@Slf4j
 @EnableConfigurationProperties(ExternalJobsProps.class)
 public class RestClientConfig {
 
     @Bean("externalJobsRestClient")
-    public RestClient externalJobsRestClient(ExternalJobsProps p) {
-        var factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(p.getConnectTimeoutMs());
-        factory.setReadTimeout(p.getReadTimeoutMs());
-
-        return RestClient.builder()
-                .baseUrl(p.getBaseUrl())
-                .requestFactory(factory)
+    public RestClient externalJobsRestClient(ExternalJobsProps p, MeterRegistry registry) {
+        Function<Duration, ClientHttpRequestFactory> factories = requestFactories(p);
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl(p.getBaseUrl());
+
+        if (p.getMaxConnections() > 0) {
+            builder.requestInterceptor(new ConnectionLimitInterceptor(
+                    "external-jobs", p.getMaxConnections(), p.getAcquireTimeoutMs(), registry));
+        }
+        if (p.isGzip()) {
+            builder.requestInterceptor(new GzipResponseInterceptor());
+        }
+
+        ExternalJobsProps.Timeouts t = p.getTimeouts();
+        if (t.isAdaptive()) {
+            AdaptiveTimeout timeout = new AdaptiveTimeout("external-jobs", Duration.ofMillis(t.getMinMs()),
+                    Duration.ofMillis(p.getReadTimeoutMs()), t.getPercentile(), t.getMultiplier(),
+                    t.getMinSamples(), registry);
+            // Last, so it times the call itself and not the wait for a connection
+            builder.requestInterceptor(timeout);
+            builder.requestFactory(timeout.wrap(factories));
+        } else {
+            builder.requestFactory(factories.apply(Duration.ofMillis(p.getReadTimeoutMs())));
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "external-jobs.hedge", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RequestHedger externalJobsHedger(ExternalJobsProps p, MeterRegistry registry) {
+        ExternalJobsProps.Hedge h = p.getHedge();
+        return new RequestHedger("external-jobs", h.getDelayMs(), h.getMinDelayMs(), h.getBudgetPercent(),
+                h.getMinSamples(), registry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "external-jobs.retry", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public RetryPolicy externalJobsRetryPolicy(ExternalJobsProps p, MeterRegistry registry) {
+        ExternalJobsProps.Retry r = p.getRetry();
+        return new RetryPolicy("external-jobs", r.getMaxAttempts(), r.getBaseBackoffMs(), r.getMaxBackoffMs(),
+                r.getBudgetPercent(), registry);
+    }
+
+    /**
+     * Request factories by read timeout. Cheap to build: the JDK client, its
+     * connection pool and executor are shared.
+     */
+    private Function<Duration, ClientHttpRequestFactory> requestFactories(ExternalJobsProps p) {
+        if (p.getEngine() == ExternalJobsProps.Engine.SIMPLE) {
+            return readTimeout -> {
+                var factory = new SimpleClientHttpRequestFactory();
+                factory.setConnectTimeout(p.getConnectTimeoutMs());
+                factory.setReadTimeout(readTimeout);
+                return factory;
+            };
+        }
+
+        // JDK client: pooled keep-alive connections, HTTP/2 (multiplexed) when the server agrees.
+        // Idle connections close after jdk.httpclient.keepalive.timeout, a JVM-wide setting
+        // given at launch (see application.yml)
+        HttpClient client = HttpClient.newBuilder()
+                .version(p.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(p.getConnectTimeoutMs()))
+                .followRedirects(HttpClient.Redirect.NORMAL)
                 .build();
+        log.info("External jobs client: JDK HttpClient ({}, gzip={}, max {} connections)",
+                client.version(), p.isGzip(), p.getMaxConnections());
+
+        // Writes request bodies: virtual threads, no more at once than calls allowed in flight
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("external-jobs-");
+        executor.setVirtualThreads(true);
+        if (p.getMaxConnections() > 0) executor.setConcurrencyLimit(p.getMaxConnections());
+        return readTimeout -> {
+            var factory = new JdkClientHttpRequestFactory(client, executor);
+            factory.setReadTimeout(readTimeout);
+            return factory;
+        };
     }
 }
 
 @ConfigurationProperties(prefix = "external-jobs")
 class ExternalJobsProps {
+
+    enum Engine { JDK, SIMPLE }
+
     private String baseUrl;
     private int connectTimeoutMs = 2000;
     private int readTimeoutMs = 3000;
+    // JDK: java.net.http.HttpClient; SIMPLE: HttpURLConnection, one connection per call
+    private Engine engine = Engine.JDK;
+    private boolean http2 = true;
+    private boolean gzip = true;
+    // Requests in flight at once (connections, or HTTP/2 streams); 0 = unbounded
+    private int maxConnections = 50;
+    // How long a request may wait for a free connection before failing
+    private long acquireTimeoutMs = 1000;
+    private final Hedge hedge = new Hedge();
+    private final Timeouts timeouts = new Timeouts();
+    private final Retry retry = new Retry();
+
+    /** Read timeout from recent latencies, see AdaptiveTimeout; readTimeoutMs is the ceiling */
+    static class Timeouts {
+        private boolean adaptive = true;
+        private double percentile = 0.99;
+        // Timeout = percentile latency x multiplier
+        private double multiplier = 2.0;
+        private long minMs = 200;
+        // Calls to observe before leaving readTimeoutMs
+        private int minSamples = 100;
+
+        public boolean isAdaptive() { return adaptive; }
+        public void setAdaptive(boolean adaptive) { this.adaptive = adaptive; }
+        public double getPercentile() { return percentile; }
+        public void setPercentile(double percentile) { this.percentile = percentile; }
+        public double getMultiplier() { return multiplier; }
+        public void setMultiplier(double multiplier) { this.multiplier = multiplier; }
+        public long getMinMs() { return minMs; }
+        public void setMinMs(long minMs) { this.minMs = minMs; }
+        public int getMinSamples() { return minSamples; }
+        public void setMinSamples(int minSamples) { this.minSamples = minSamples; }
+    }
+
+    /** Retries of transient failures, see RetryPolicy */
+    static class Retry {
+        private boolean enabled = true;
+        // Calls at most, first one included
+        private int maxAttempts = 3;
+        private long baseBackoffMs = 50;
+        private long maxBackoffMs = 1000;
+        // Retries allowed per 100 calls
+        private double budgetPercent = 10;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public int getMaxAttempts() { return maxAttempts; }
+        public void setMaxAttempts(int maxAttempts) { this.maxAttempts = maxAttempts; }
+        public long getBaseBackoffMs() { return baseBackoffMs; }
+        public void setBaseBackoffMs(long baseBackoffMs) { this.baseBackoffMs = baseBackoffMs; }
+        public long getMaxBackoffMs() { return maxBackoffMs; }
+        public void setMaxBackoffMs(long maxBackoffMs) { this.maxBackoffMs = maxBackoffMs; }
+        public double getBudgetPercent() { return budgetPercent; }
+        public void setBudgetPercent(double budgetPercent) { this.budgetPercent = budgetPercent; }
+    }
+
+    /** Second copy of a slow call, see RequestHedger */
+    static class Hedge {
+        private boolean enabled = true;
+        // Wait before hedging; 0 = the observed p95
+        private long delayMs = 0;
+        // Floor of the observed delay
+        private long minDelayMs = 20;
+        // Hedges allowed per 100 calls
+        private double budgetPercent = 5;
+        // Calls to observe before hedging on the p95
+        private int minSamples = 100;
+
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+        public long getDelayMs() { return delayMs; }
+        public void setDelayMs(long delayMs) { this.delayMs = delayMs; }
+        public long getMinDelayMs() { return minDelayMs; }
+        public void setMinDelayMs(long minDelayMs) { this.minDelayMs = minDelayMs; }
+        public double getBudgetPercent() { return budgetPercent; }
+        public void setBudgetPercent(double budgetPercent) { this.budgetPercent = budgetPercent; }
+        public int getMinSamples() { return minSamples; }
+        public void setMinSamples(int minSamples) { this.minSamples = minSamples; }
+    }
 
     public String getBaseUrl() { return baseUrl; }
     public void setBaseUrl(String baseUrl) { this.baseUrl = baseUrl; }
@@ -37,4 +203,17 @@ class ExternalJobsProps {
     public void setConnectTimeoutMs(int connectTimeoutMs) { this.connectTimeoutMs = connectTimeoutMs; }
     public int getReadTimeoutMs() { return readTimeoutMs; }
     public void setReadTimeoutMs(int readTimeoutMs) { this.readTimeoutMs = readTimeoutMs; }
+    public Engine getEngine() { return engine; }
+    public void setEngine(Engine engine) { this.engine = engine; }
+    public boolean isHttp2() { return http2; }
+    public void setHttp2(boolean http2) { this.http2 = http2; }
+    public boolean isGzip() { return gzip; }
+    public void setGzip(boolean gzip) { this.gzip = gzip; }
+    public int getMaxConnections() { return maxConnections; }
+    public void setMaxConnections(int maxConnections) { this.maxConnections = maxConnections; }
+    public long getAcquireTimeoutMs() { return acquireTimeoutMs; }
+    public void setAcquireTimeoutMs(long acquireTimeoutMs) { this.acquireTimeoutMs = acquireTimeoutMs; }
+    public Hedge getHedge() { return hedge; }
+    public Timeouts getTimeouts() { return timeouts; }
+    public Retry getRetry() { return retry; }
 }
@@ -0,0 +1,55 @@
+package io.github.vivianagh.jobberwocky.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "search")
+public class SearchProperties {
+
+    private TitleIndex titleIndex = new TitleIndex();
+    private Columnar columnar = new Columnar();
+    private ResultCache resultCache = new ResultCache();
+
+    /**
+     * In-memory inverted index over job titles.
+     */
+    @Getter @Setter
+    public static class TitleIndex {
+        private boolean enabled = true;
+        // Above this many matches titles are matched in SQL instead: the ids go in an IN list,
+        // one bind parameter each (and twice with a COUNT), so keep it within what databases accept
+        private int maxCandidates = 1000;
+        // Rows read per query while loading titles the index has not seen yet
+        private int loadBatchSize = 5000;
+        // How often every title is re-read, to add rows that committed out of id order
+        private long reconcileIntervalMs = 300_000;
+    }
+
+    /**
+     * In-memory columnar copy of the jobs table, serving internal searches
+     * instead of the database (ColumnarJobSource).
+     */
+    @Getter @Setter
+    public static class Columnar {
+        private boolean enabled = false;
+        // Rows read per query while loading the snapshot
+        private int loadBatchSize = 5000;
+        // Rows scanned per fork/join task
+        private int segmentSize = 65536;
+        // Below this many rows a single thread scans everything
+        private int parallelThreshold = 200_000;
+    }
+
+    /**
+     * Cache of complete (non-partial) composite search results.
+     */
+    @Getter @Setter
+    public static class ResultCache {
+        private boolean enabled = true;
+        private int maxEntries = 1000;
+        // Upper bound on staleness for sources that do not publish changes (external)
+        private long ttlMs = 30_000;
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.vivianagh.jobberwocky.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Getter @Setter
+@ConfigurationProperties(prefix = "sources")
+public class SourcesProperties {
+    // Query all sources at once (virtual threads) instead of one after another
+    private boolean parallel = true;
+    // Request-wide budget; sources still running after it are dropped
+    private long deadlineMs = 2500;
+    // Concurrent identical searches share one call per source
+    private boolean coalesce = true;
+
+    private External external = new External();
+    private Health health = new Health();
+    private Bulkhead bulkhead = new Bulkhead();
+    private NearDuplicates nearDuplicates = new NearDuplicates();
+
+    @Getter @Setter
+    public static class External {
+        // Jobs read from one external response at most; the rest of the body is not downloaded (0 = all)
+        private int maxResults = 10000;
+        // Distinct skills XML snippets kept parsed (XmlSkillsParser); 0 = no cache
+        private int skillsCacheSize = 10000;
+        // Live calls slower than the search deadline (median) make searches skip the API; the estimate
+        // is forgotten after this long without a live call, so a skipped API gets tried again
+        private long costTtlMs = 30_000;
+
+        private Mirror mirror = new Mirror();
+        private ResultCache resultCache = new ResultCache();
+    }
+
+    /**
+     * Cache of the external API's answers, also serving narrower queries
+     * (ExternalResultCache).
+     */
+    @Getter @Setter
+    public static class ResultCache {
+        private boolean enabled = true;
+        private int maxEntries = 256;
+        private long ttlMs = 60_000;
+        // Larger answers are not cached (nor read past the search's own limit to be cached)
+        private int maxJobsPerEntry = 10_000;
+    }
+
+    /**
+     * Local copy of the whole external catalogue (ExternalJobMirror),
+     * answering external searches without a call per search.
+     */
+    @Getter @Setter
+    public static class Mirror {
+        private boolean enabled = false;
+        // Scheduled pull of the full feed
+        private long refreshIntervalMs = 300_000;
+        // Older copies are still served, but a search triggers a background refresh
+        private long staleAfterMs = 600_000;
+        // Older copies are not served (searches go to the API again); 0 = serve any age
+        private long maxStaleMs = 86_400_000;
+        // Minimum time between two background refreshes, so a failing API is not hammered
+        private long retryIntervalMs = 10_000;
+        // Where the last good feed is kept across restarts; blank = memory only
+        private String snapshotFile = "";
+    }
+
+    /**
+     * Merging also folds the same posting seen by two sources under
+     * different titles (NearDuplicateDetector): MinHash over title
+     * shingles, LSH buckets by country and salary band.
+     */
+    @Getter @Setter
+    public static class NearDuplicates {
+        private boolean enabled = false;
+        // MinHash signature length; split into bands of hashes/bands rows
+        private int hashes = 32;
+        private int bands = 8;
+        // Estimated title similarity (Jaccard of shingles) from which two jobs are the same posting
+        private double threshold = 0.6;
+        // Salaries further apart than this are different postings
+        private double salaryTolerancePercent = 10;
+    }
+
+    /**
+     * Per-source cap on concurrent calls (SourceBulkheads), so a slow source
+     * cannot hold every searching thread. A search finding a source full
+     * skips it and is partial.
+     */
+    @Getter @Setter
+    public static class Bulkhead {
+        private boolean enabled = true;
+        // Calls to one source running at once
+        private int maxConcurrent = 32;
+        // Calls waiting for one of those, until the search deadline; further searches skip the source
+        private int maxQueued = 32;
+        // Per source name (e.g. EXTERNAL_API), overriding the limits above
+        private Map<String, Limits> sources = new HashMap<>();
+    }
+
+    /** Unset values fall back to the bulkhead defaults */
+    @Getter @Setter
+    public static class Limits {
+        private Integer maxConcurrent;
+        private Integer maxQueued;
+    }
+
+    /**
+     * Circuit breaker settings, applied to every source.
+     */
+    @Getter @Setter
+    public static class Health {
+        // Background isAvailable() probe period
+        private long probeIntervalMs = 15000;
+        // Number of recent calls used to compute the failure rate
+        private int windowSize = 20;
+        // Calls needed in the window before the failure rate can trip the breaker
+        private int minimumCalls = 5;
+        private double failureRateThreshold = 0.5;
+        // How long an open breaker rejects calls before letting a trial through
+        private long openStateMs = 30000;
+        private int halfOpenMaxCalls = 1;
+    }
+}
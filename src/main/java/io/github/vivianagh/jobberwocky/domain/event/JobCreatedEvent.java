@@ -0,0 +1,10 @@
+package io.github.vivianagh.jobberwocky.domain.event;
+
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+
+/**
+ * Published by JobService after a job is stored, so derived structures
+ * (search index, caches) can follow without JobService knowing about them.
+ */
+public record JobCreatedEvent(Job job) {
+}
@@ -0,0 +1,16 @@
+package io.github.vivianagh.jobberwocky.domain.event;
+
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+
+import java.util.List;
+
+/**
+ * Published by JobService#createAll once per batch, instead of one
+ * JobCreatedEvent per job, so listeners can follow a whole import in one go.
+ */
+public record JobsCreatedEvent(List<Job> jobs) {
+
+    public JobsCreatedEvent {
+        jobs = List.copyOf(jobs);
+    }
+}
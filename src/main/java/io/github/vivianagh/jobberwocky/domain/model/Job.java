@@ -5,12 +5,24 @@ import lombok.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Set;
+import java.util.regex.Pattern;
 
 @Entity
-@Table(name = "jobs")
+@Table(name = "jobs",
+        // Mirrors db/migration for schemas generated by Hibernate (tests)
+        indexes = {
+                @Index(name = "idx_jobs_country_norm_salary", columnList = "country_norm, salary"),
+                @Index(name = "idx_jobs_salary", columnList = "salary, id"),
+                @Index(name = "idx_jobs_title_norm", columnList = "title_norm"),
+                @Index(name = "ux_jobs_source_external_id", columnList = "source, external_id", unique = true)
+        })
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,8 +30,12 @@ import java.util.Set;
 @Builder
 public class Job {
 
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Sequence (pooled, 50 ids per round trip) so inserts can be batched; see V3 migration
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "jobs_seq")
+    @SequenceGenerator(name = "jobs_seq", sequenceName = "jobs_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -33,32 +49,154 @@ public class Job {
     @Column(nullable = false)
     private String country;
 
+    // Normalized copies the search filters on (indexed), see normalize()
+    @Column(name = "title_norm", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private String titleNorm;
+
+    // Title tokens, each after a space (" senior java engineer"), see titleTokens()
+    @Column(name = "title_tokens", nullable = false, length = 256)
+    @Setter(AccessLevel.NONE)
+    private String titleTokens;
+
+    @Column(name = "country_norm", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private String countryNorm;
+
+    @Column(name = "company_norm", nullable = false)
+    @Setter(AccessLevel.NONE)
+    private String companyNorm;
+
     private String city;
 
     @Column(nullable = false) private BigDecimal salary;
 
     @ElementCollection(fetch = FetchType.LAZY)
-    @CollectionTable(name ="job_skills", joinColumns = @JoinColumn(name = "job_id"))
+    @CollectionTable(name ="job_skills", joinColumns = @JoinColumn(name = "job_id"),
+            indexes = @Index(name = "idx_job_skills_skill_job", columnList = "skill, job_id"))
     @Column(name = "skill")
     @Builder.Default
     private Set<String> skills = new HashSet<>();
 
+    /**
+     * Normalized copy of skills (see JobSearchCriteria#normalizeSkill), only
+     * used to filter on skills in SQL through the (skill_key, job_id) index.
+     * Kept in sync by setSkills() and on insert.
+     */
+    @ElementCollection(fetch = FetchType.LAZY)
+    @CollectionTable(name = "job_skill_keys", joinColumns = @JoinColumn(name = "job_id"),
+            indexes = @Index(name = "idx_job_skill_keys_key_job", columnList = "skill_key, job_id"))
+    @Column(name = "skill_key")
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private Set<String> skillKeys = new HashSet<>();
+
     private String source;
     private String externalId;
 
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    public void setSkills(Set<String> skills) {
+        this.skills = skills;
+        syncSkillKeys();
+    }
+
     @PrePersist
     void prePersist() {
         var now = LocalDateTime.now();
         if (createdAt == null) createdAt = now;
         updatedAt = now;
+        syncSearchColumns();
+        syncSkillKeys();
+    }
+
+    private void syncSkillKeys() {
+        Set<String> keys = new HashSet<>();
+        if (skills != null) {
+            for (String s : skills) {
+                String key = JobSearchCriteria.normalizeSkill(s);
+                if (!key.isEmpty()) keys.add(key);
+            }
+        }
+        if (skillKeys == null) {
+            skillKeys = keys;
+        } else {
+            // Keep Hibernate's collection instance on managed entities
+            skillKeys.retainAll(keys);
+            skillKeys.addAll(keys);
+        }
     }
 
     @PreUpdate
     void preUpdate() {
         updatedAt = LocalDateTime.now();
+        syncSearchColumns();
+    }
+
+    /**
+     * Form used by the normalized search columns: trimmed, lower-case, single spaces.
+     * Search input must go through the same function.
+     */
+    public static String normalize(String value) {
+        if (value == null) return null;
+        return value.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Lower-case letter/digit runs of text, without repeats: the terms of
+     * title searches, on both the job and the query side.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null) return List.of();
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String t : TOKEN_SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!t.isEmpty()) tokens.add(t);
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    /**
+     * Form of the title_tokens column: every token of title preceded by a
+     * space, so " " + term is a token prefix exactly when it occurs in it
+     * (a LIKE '% term%' on the column).
+     */
+    public static String titleTokens(String title) {
+        return " " + String.join(" ", tokenize(title));
+    }
+
+    /**
+     * Same order as normalize(a).compareTo(normalize(b)), without building
+     * the strings: sort comparators run this many times per search.
+     */
+    public static int compareNormalized(String a, String b) {
+        int i = trimStart(a), endA = trimEnd(a);
+        int j = trimStart(b), endB = trimEnd(b);
+        while (i < endA && j < endB) {
+            // Trimmed, so a whitespace run always ends before the end
+            char ca = a.charAt(i++);
+            if (isSpace(ca)) {
+                ca = ' ';
+                while (isSpace(a.charAt(i))) i++;
+            }
+            char cb = b.charAt(j++);
+            if (isSpace(cb)) {
+                cb = ' ';
+                while (isSpace(b.charAt(j))) j++;
+            }
+            ca = Character.toLowerCase(ca);
+            cb = Character.toLowerCase(cb);
+            if (ca != cb) return ca - cb;
+        }
+        return Boolean.compare(i < endA, j < endB);
+    }
+
+    private void syncSearchColumns() {
+        titleNorm = normalize(title);
+        titleTokens = titleTokens(title);
+        countryNorm = normalize(country);
+        companyNorm = normalize(company);
     }
 
     @Override
@@ -73,4 +211,22 @@ public class Job {
         return Objects.hash(id);
     }
 
+    // -------- Helpers --------
+    /** As String#trim */
+    private static int trimStart(String s) {
+        int i = 0;
+        while (i < s.length() && s.charAt(i) <= ' ') i++;
+        return i;
+    }
+
+    private static int trimEnd(String s) {
+        int end = s.length();
+        while (end > 0 && s.charAt(end - 1) <= ' ') end--;
+        return end;
+    }
+
+    /** The \s of normalize's regex */
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
 }
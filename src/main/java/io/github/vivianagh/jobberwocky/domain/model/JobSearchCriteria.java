@@ -4,19 +4,147 @@ package io.github.vivianagh.jobberwocky.domain.model;
 import lombok.Builder;
 
 import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
 
+/**
+ * skill may hold several comma-separated skills; skillMatch says whether a
+ * job needs all of them (default) or any of them.
+ */
 @Builder
 public record JobSearchCriteria(
         String title,
         String country,
         BigDecimal minSalary,
         BigDecimal maxSalary,
-        String skill
+        String skill,
+        SkillMatch skillMatch
 ) {
+    private static final Pattern TERM_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    public enum SkillMatch {
+        ALL, ANY;
+
+        /** "any" (any case) means ANY, everything else ALL */
+        public static SkillMatch parse(String raw) {
+            return raw != null && "any".equalsIgnoreCase(raw.trim()) ? ANY : ALL;
+        }
+    }
+
     public void validate() {
         if (minSalary != null && maxSalary != null && minSalary.compareTo(maxSalary) > 0) {
             throw new IllegalArgumentException("minSalary cannot be greater than maxSalary");
         }
     }
 
+    public boolean matchAnySkill() {
+        return skillMatch == SkillMatch.ANY;
+    }
+
+    /**
+     * Requested skills in their normalized (trimmed, lower-case) form, the
+     * same form Job stores in its skill keys. Empty when there is no skill filter.
+     */
+    public Set<String> skillKeys() {
+        Set<String> keys = new LinkedHashSet<>();
+        if (skill == null) return keys;
+        for (String s : skill.split(",")) {
+            String key = normalizeSkill(s);
+            if (!key.isEmpty()) keys.add(key);
+        }
+        return keys;
+    }
+
+    /**
+     * In-memory version of the skill filter, for sources that cannot filter
+     * on skills themselves.
+     */
+    public boolean matchesSkills(Collection<String> jobSkills) {
+        Set<String> wanted = skillKeys();
+        if (wanted.isEmpty()) return true;
+
+        Set<String> have = new LinkedHashSet<>();
+        if (jobSkills != null) {
+            for (String s : jobSkills) have.add(normalizeSkill(s));
+        }
+        return matchAnySkill()
+                ? wanted.stream().anyMatch(have::contains)
+                : have.containsAll(wanted);
+    }
+
+    /**
+     * Equivalent criteria in one canonical form, so equal searches compare
+     * equal (cache keys): text trimmed and lower-cased, blanks dropped,
+     * amounts without trailing zeros, skills sorted.
+     */
+    public JobSearchCriteria canonical() {
+        Set<String> keys = new TreeSet<>(skillKeys());
+        return new JobSearchCriteria(
+                blankToNull(Job.normalize(title)),
+                blankToNull(Job.normalize(country)),
+                minSalary == null ? null : minSalary.stripTrailingZeros(),
+                maxSalary == null ? null : maxSalary.stripTrailingZeros(),
+                keys.isEmpty() ? null : String.join(",", keys),
+                // ANY and ALL only differ with several skills
+                keys.size() > 1 && matchAnySkill() ? SkillMatch.ANY : SkillMatch.ALL);
+    }
+
+    /**
+     * Whether job could be among the results of these criteria. Titles are
+     * matched loosely (every term appears somewhere in the title), which
+     * accepts everything the sources accept and maybe a bit more: fine for
+     * deciding what to invalidate, not for filtering (see matchesExactly).
+     */
+    public boolean matches(Job job) {
+        if (job == null) return false;
+        if (title != null && !title.isBlank()) {
+            String jobTitle = Job.normalize(job.getTitle());
+            if (jobTitle == null) return false;
+            for (String term : TERM_SEPARATORS.split(Job.normalize(title))) {
+                if (!term.isEmpty() && !jobTitle.contains(term)) return false;
+            }
+        }
+        return matchesAllButTitle(job);
+    }
+
+    /**
+     * Whether a source applying every filter itself would return job: each
+     * title term starts some title token (TitleIndex, the SQL fallback),
+     * same normalized country, salary within [min, max], skills as
+     * matchesSkills. For filtering a source's results on the criteria it
+     * does not apply.
+     */
+    public boolean matchesExactly(Job job) {
+        if (job == null) return false;
+        if (title != null && !title.isBlank()) {
+            String tokens = Job.titleTokens(job.getTitle());
+            for (String term : Job.tokenize(title)) {
+                if (!tokens.contains(" " + term)) return false;
+            }
+        }
+        return matchesAllButTitle(job);
+    }
+
+    private boolean matchesAllButTitle(Job job) {
+        if (country != null && !country.isBlank()
+                && !Job.normalize(country).equals(Job.normalize(job.getCountry()))) {
+            return false;
+        }
+        BigDecimal salary = job.getSalary();
+        if (minSalary != null && (salary == null || salary.compareTo(minSalary) < 0)) return false;
+        if (maxSalary != null && (salary == null || salary.compareTo(maxSalary) > 0)) return false;
+        return matchesSkills(job.getSkills());
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isEmpty() ? null : s;
+    }
+
+    public static String normalizeSkill(String skill) {
+        return skill == null ? "" : skill.trim().toLowerCase(Locale.ROOT);
+    }
 }
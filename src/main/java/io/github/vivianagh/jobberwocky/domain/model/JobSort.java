@@ -0,0 +1,123 @@
+package io.github.vivianagh.jobberwocky.domain.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Sort requested by the client, e.g. "salary,desc".
+ *
+ * Sources that can sort natively map the field to their own ordering
+ * (see InternalJobSource); everything else uses comparator(). Text fields
+ * compare in their normalized form (Job#normalize), the form the database
+ * sorts on (column()), so both order rows the same way.
+ * Ties are broken by id, then externalId, in the same direction, so the
+ * order is total and can be used for keyset pagination (see SearchCursor).
+ */
+public record JobSort(Field field, boolean descending) {
+
+    public enum Field {
+        TITLE("title", "titleNorm", Comparator.comparing(Job::getTitle, Comparator.nullsLast(Job::compareNormalized)),
+                Job::getTitle, (j, v) -> j.setTitle(v)),
+        COMPANY("company", "companyNorm", Comparator.comparing(Job::getCompany, Comparator.nullsLast(Job::compareNormalized)),
+                Job::getCompany, (j, v) -> j.setCompany(v)),
+        COUNTRY("country", "countryNorm", Comparator.comparing(Job::getCountry, Comparator.nullsLast(Job::compareNormalized)),
+                Job::getCountry, (j, v) -> j.setCountry(v)),
+        SALARY("salary", "salary", Comparator.comparing(Job::getSalary, Comparator.nullsLast(BigDecimal::compareTo)),
+                j -> j.getSalary() == null ? null : j.getSalary().toPlainString(),
+                (j, v) -> j.setSalary(new BigDecimal(v))),
+        CREATED_AT("createdAt", "createdAt", Comparator.comparing(Job::getCreatedAt, Comparator.nullsLast(LocalDateTime::compareTo)),
+                j -> j.getCreatedAt() == null ? null : j.getCreatedAt().toString(),
+                (j, v) -> j.setCreatedAt(LocalDateTime.parse(v)));
+
+        private final String property;
+        private final String column;
+        private final Comparator<Job> ascending;
+        private final Function<Job, String> reader;
+        private final BiConsumer<Job, String> writer;
+
+        Field(String property, String column, Comparator<Job> ascending,
+              Function<Job, String> reader, BiConsumer<Job, String> writer) {
+            this.property = property;
+            this.column = column;
+            this.ascending = ascending;
+            this.reader = reader;
+            this.writer = writer;
+        }
+
+        /** Entity property name */
+        public String property() {
+            return property;
+        }
+
+        /**
+         * Entity property the database sorts and seeks on: the normalized
+         * copy for text fields, so SQL orders rows as comparator() does
+         */
+        public String column() {
+            return column;
+        }
+
+        /**
+         * A job's value of column(), e.g. for a seek predicate: normalized for
+         * text fields (Job#normalize), as is otherwise
+         */
+        public Comparable<?> columnValue(Job job) {
+            return switch (this) {
+                case TITLE -> Job.normalize(job.getTitle());
+                case COMPANY -> Job.normalize(job.getCompany());
+                case COUNTRY -> Job.normalize(job.getCountry());
+                case SALARY -> job.getSalary();
+                case CREATED_AT -> job.getCreatedAt();
+            };
+        }
+
+        /** Sort key of a job as text (null when the job has no value) */
+        public String read(Job job) {
+            return reader.apply(job);
+        }
+
+        /** Set the sort key read() produced back on a job */
+        public void write(Job job, String value) {
+            if (value != null) writer.accept(job, value);
+        }
+    }
+
+    private static final Comparator<Job> TIEBREAK =
+            Comparator.comparing(Job::getId, Comparator.nullsLast(Long::compareTo))
+                    .thenComparing(Job::getExternalId, Comparator.nullsLast(String::compareTo));
+
+    /**
+     * Parse "field[,asc|desc]". Blank or unknown fields mean "no sort".
+     */
+    public static JobSort parse(String sort) {
+        if (sort == null || sort.isBlank()) return null;
+
+        String[] parts = sort.split(",", 2);
+        boolean desc = parts.length > 1 && "desc".equalsIgnoreCase(parts[1].trim());
+
+        Field field = switch (parts[0].trim().toLowerCase(Locale.ROOT)) {
+            case "title"     -> Field.TITLE;
+            case "company"   -> Field.COMPANY;
+            case "country"   -> Field.COUNTRY;
+            case "salary"    -> Field.SALARY;
+            case "createdat" -> Field.CREATED_AT;
+            default          -> null;
+        };
+        return field == null ? null : new JobSort(field, desc);
+    }
+
+    public Comparator<Job> comparator() {
+        Comparator<Job> total = field.ascending.thenComparing(TIEBREAK);
+        return descending ? total.reversed() : total;
+    }
+
+    /** Inverse of parse() */
+    @Override
+    public String toString() {
+        return field.property() + "," + (descending ? "desc" : "asc");
+    }
+}
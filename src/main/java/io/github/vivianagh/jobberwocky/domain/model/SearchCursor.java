@@ -0,0 +1,138 @@
+package io.github.vivianagh.jobberwocky.domain.model;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keyset pagination state, handed to clients as an opaque token.
+ *
+ * Holds, for every source, the sort key and id of the last row of that
+ * source the client has already seen. The next page asks each source only
+ * for rows after its position (WHERE (salary, id) < (?, ?) for SQL), so a
+ * page costs the same however deep it is and does not drift when jobs are
+ * inserted in between.
+ *
+ * page and total are carried along so deep pages can still report them
+ * without re-counting.
+ */
+public record SearchCursor(JobSort sort, Map<String, Position> positions, int page, long total) {
+
+    private static final String VERSION = "v1";
+    private static final String NULL = "~";   // URLEncoder never emits a bare '~'
+
+    /**
+     * Last row seen from one source.
+     */
+    public record Position(String key, Long id, String externalId) {
+
+        public static Position of(JobSort sort, Job job) {
+            return new Position(sort.field().read(job), job.getId(), job.getExternalId());
+        }
+
+        /** A job carrying only the sort key and tiebreak, for comparator() */
+        public Job probe(JobSort sort) {
+            Job probe = Job.builder().id(id).externalId(externalId).build();
+            sort.field().write(probe, key);
+            return probe;
+        }
+    }
+
+    public SearchCursor {
+        if (sort == null) throw new IllegalArgumentException("keyset pagination needs a sort");
+        positions = Collections.unmodifiableMap(new LinkedHashMap<>(positions));
+    }
+
+    public static SearchCursor start(JobSort sort) {
+        return new SearchCursor(sort, Map.of(), 0, 0);
+    }
+
+    public Position position(String source) {
+        return positions.get(source);
+    }
+
+    public SearchCursor with(String source, Position position) {
+        Map<String, Position> next = new LinkedHashMap<>(positions);
+        next.put(source, position);
+        return new SearchCursor(sort, next, page, total);
+    }
+
+    public SearchCursor at(int page, long total) {
+        return new SearchCursor(sort, positions, page, total);
+    }
+
+    /**
+     * Rows of the given source that come after its position, in input order.
+     */
+    public List<Job> after(String source, List<Job> rows) {
+        Position position = positions.get(source);
+        if (position == null) return rows;
+
+        Job probe = position.probe(sort);
+        List<Job> out = new ArrayList<>();
+        for (Job row : rows) {
+            if (sort.comparator().compare(row, probe) > 0) out.add(row);
+        }
+        return out;
+    }
+
+    // -------- Encoding --------
+    public String encode() {
+        StringBuilder sb = new StringBuilder()
+                .append(VERSION).append('|').append(sort).append('|')
+                .append(page).append('|').append(total);
+        positions.forEach((source, p) -> sb.append('|')
+                .append(enc(source)).append(';')
+                .append(enc(p.key())).append(';')
+                .append(p.id() == null ? NULL : p.id().toString()).append(';')
+                .append(enc(p.externalId())));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException if the token was not produced by encode()
+     */
+    public static SearchCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            if (parts.length < 4 || !VERSION.equals(parts[0])) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            JobSort sort = JobSort.parse(parts[1]);
+            int page = Integer.parseInt(parts[2]);
+            long total = Long.parseLong(parts[3]);
+
+            Map<String, Position> positions = new LinkedHashMap<>();
+            for (int i = 4; i < parts.length; i++) {
+                String[] f = parts[i].split(";", -1);
+                if (f.length != 4) throw new IllegalArgumentException("Invalid cursor");
+                Long id = NULL.equals(f[2]) ? null : Long.valueOf(f[2]);
+                Position p = new Position(dec(f[1]), id, dec(f[3]));
+                // Fail now rather than deep inside a source
+                p.probe(sort);
+                positions.put(dec(f[0]), p);
+            }
+            return new SearchCursor(sort, positions, page, total);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            // NumberFormatException is an IllegalArgumentException too
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static String enc(String value) {
+        return value == null ? NULL : URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String dec(String value) {
+        return NULL.equals(value) ? null : URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,41 @@
+package io.github.vivianagh.jobberwocky.domain.model;
+
+import java.util.List;
+
+/**
+ * Outcome of a search across one or more sources.
+ *
+ * - jobs: the (already deduplicated) results, possibly just one window of them
+ * - total: number of matches across all answering sources; not counted for
+ *   cursor windows, where it is just the number of rows returned
+ * - respondedSources: sources that answered in time
+ * - droppedSources: sources that were queried but timed out or failed, or
+ *   were not called because they could not answer in time or their circuit
+ *   was open, so the jobs list may be partial
+ * - next: cursor for the rows after this window, null when there are none
+ *   (or the window is unsorted)
+ */
+public record SearchResult(
+        List<Job> jobs,
+        long total,
+        List<String> respondedSources,
+        List<String> droppedSources,
+        SearchCursor next
+) {
+    public SearchResult(List<Job> jobs, long total, List<String> respondedSources, List<String> droppedSources) {
+        this(jobs, total, respondedSources, droppedSources, null);
+    }
+
+    public static SearchResult empty() {
+        return new SearchResult(List.of(), 0, List.of(), List.of());
+    }
+
+    public static SearchResult of(String sourceName, List<Job> jobs) {
+        List<Job> safe = jobs == null ? List.of() : jobs;
+        return new SearchResult(safe, safe.size(), List.of(sourceName), List.of());
+    }
+
+    public boolean partial() {
+        return !droppedSources.isEmpty();
+    }
+}
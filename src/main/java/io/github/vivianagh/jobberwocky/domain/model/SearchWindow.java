@@ -0,0 +1,86 @@
+package io.github.vivianagh.jobberwocky.domain.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pagination/sort hints passed down to the sources.
+ *
+ * A source answering search(criteria, window) returns the rows
+ * [offset, offset + limit) of its results ordered by sort (sort may be null),
+ * plus the total number of matches.
+ *
+ * With a cursor (keyset pagination) offset is always 0 and the rows start
+ * right after the source's position in the cursor instead.
+ */
+public record SearchWindow(int offset, int limit, JobSort sort, SearchCursor cursor) {
+
+    public static final SearchWindow ALL = new SearchWindow(0, Integer.MAX_VALUE, null);
+
+    public SearchWindow {
+        if (offset < 0) throw new IllegalArgumentException("offset cannot be negative");
+        if (limit <= 0) throw new IllegalArgumentException("limit must be positive");
+        if (cursor != null && (offset != 0 || !cursor.sort().equals(sort))) {
+            throw new IllegalArgumentException("a cursor window starts at the cursor, in the cursor's sort");
+        }
+    }
+
+    public SearchWindow(int offset, int limit, JobSort sort) {
+        this(offset, limit, sort, null);
+    }
+
+    public static SearchWindow page(int page, int size, JobSort sort) {
+        long offset = (long) page * size;
+        if (offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("page is too large");
+        }
+        return new SearchWindow((int) offset, size, sort);
+    }
+
+    /** First n rows */
+    public static SearchWindow top(int n, JobSort sort) {
+        return new SearchWindow(0, n, sort);
+    }
+
+    /** n rows after the cursor */
+    public static SearchWindow after(SearchCursor cursor, int n) {
+        return new SearchWindow(0, n, cursor.sort(), cursor);
+    }
+
+    public int end() {
+        return (int) Math.min((long) offset + limit, Integer.MAX_VALUE);
+    }
+
+    public boolean isUnbounded() {
+        return offset == 0 && limit == Integer.MAX_VALUE && cursor == null;
+    }
+
+    /**
+     * Sort and slice an in-memory result list. The input list is not modified.
+     * Seeking past the cursor is up to the caller (see SearchCursor#after).
+     *
+     * Only the first end() rows are ever ordered (bounded heap, see TopK),
+     * so a page near the top of a large result costs O(n log end()).
+     */
+    public List<Job> apply(List<Job> rows) {
+        if (isUnbounded() && sort == null) return rows;
+
+        List<Job> ordered = rows;
+        if (sort != null) {
+            ordered = TopK.select(rows, end(), sort.comparator());
+        }
+        int from = Math.min(offset, ordered.size());
+        int to = Math.min(end(), ordered.size());
+        return new ArrayList<>(ordered.subList(from, to));
+    }
+
+    /**
+     * Cursor for the rows following page, a window a single source just
+     * answered; null when unsorted or when nothing follows.
+     */
+    public SearchCursor next(String source, List<Job> page, boolean hasMore) {
+        if (sort == null || page.isEmpty() || !hasMore) return null;
+        SearchCursor base = cursor != null ? cursor : SearchCursor.start(sort);
+        return base.with(source, SearchCursor.Position.of(sort, page.get(page.size() - 1)));
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.vivianagh.jobberwocky.domain.model;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * What a JobSource can do with a query, so the composite can plan it:
+ *
+ * - filters: criteria the source applies itself (remotely, in SQL or while
+ *   reading); the others are applied by the composite on its results
+ * - sort: search(criteria, window) returns rows in the window's sort order
+ *   without loading everything first
+ * - limit: search(criteria, window) stops after the window's rows
+ * - costMs: expected time for an answer; 0 when unknown or negligible
+ * - maxRows: most rows returned for one query, the rest being dropped;
+ *   0 = all its matches. Filters checked on such a capped answer would miss
+ *   the matches past the cap
+ */
+public record SourceCapabilities(Set<Filter> filters, boolean sort, boolean limit, long costMs, int maxRows) {
+
+    /** Everything, at no known cost: what a source promises unless it says otherwise */
+    public static final SourceCapabilities FULL = new SourceCapabilities(EnumSet.allOf(Filter.class), true, true, 0);
+
+    public enum Filter {
+        TITLE, COUNTRY, SALARY, SKILL;
+
+        /** The filters criteria uses */
+        public static Set<Filter> of(JobSearchCriteria criteria) {
+            Set<Filter> used = EnumSet.noneOf(Filter.class);
+            if (criteria == null) return used;
+            if (criteria.title() != null && !criteria.title().isBlank()) used.add(TITLE);
+            if (criteria.country() != null && !criteria.country().isBlank()) used.add(COUNTRY);
+            if (criteria.minSalary() != null || criteria.maxSalary() != null) used.add(SALARY);
+            if (!criteria.skillKeys().isEmpty()) used.add(SKILL);
+            return used;
+        }
+    }
+
+    public SourceCapabilities {
+        filters = Set.copyOf(filters);
+    }
+
+    /** Returning all its matches */
+    public SourceCapabilities(Set<Filter> filters, boolean sort, boolean limit, long costMs) {
+        this(filters, sort, limit, costMs, 0);
+    }
+
+    public SourceCapabilities withCostMs(long costMs) {
+        return new SourceCapabilities(filters, sort, limit, costMs, maxRows);
+    }
+
+    /** criteria without the filters this source does not apply */
+    public JobSearchCriteria pushDown(JobSearchCriteria criteria) {
+        return keep(criteria, filters);
+    }
+
+    /**
+     * The part of criteria this source does not apply, for the caller to
+     * check on the source's results; null when there is none.
+     */
+    public JobSearchCriteria residual(JobSearchCriteria criteria) {
+        Set<Filter> left = Filter.of(criteria);
+        left.removeAll(filters);
+        return left.isEmpty() ? null : keep(criteria, left);
+    }
+
+    private static JobSearchCriteria keep(JobSearchCriteria c, Set<Filter> kept) {
+        return new JobSearchCriteria(
+                kept.contains(Filter.TITLE) ? c.title() : null,
+                kept.contains(Filter.COUNTRY) ? c.country() : null,
+                kept.contains(Filter.SALARY) ? c.minSalary() : null,
+                kept.contains(Filter.SALARY) ? c.maxSalary() : null,
+                kept.contains(Filter.SKILL) ? c.skill() : null,
+                kept.contains(Filter.SKILL) ? c.skillMatch() : null);
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.vivianagh.jobberwocky.domain.model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.RandomAccess;
+import java.util.stream.IntStream;
+
+/**
+ * Bounded-heap selection of the first k rows of a list in a given order.
+ *
+ * O(n log k) instead of the O(n log n) of a full sort, and only k rows are
+ * kept alive. Large inputs are split into partitions whose top k are
+ * selected in parallel and then merged.
+ */
+final class TopK {
+
+    // Below this, partitioning costs more than it saves
+    static final int PARALLEL_THRESHOLD = 20_000;
+
+    private TopK() {
+    }
+
+    /**
+     * The first k rows of rows in order, sorted. The input is not modified.
+     */
+    static List<Job> select(List<Job> rows, int k, Comparator<Job> order) {
+        return rows.size() >= PARALLEL_THRESHOLD
+                ? selectParallel(rows, k, order)
+                : selectSequential(rows, k, order);
+    }
+
+    static List<Job> selectSequential(List<Job> rows, int k, Comparator<Job> order) {
+        if (k >= rows.size()) {
+            List<Job> all = new ArrayList<>(rows);
+            all.sort(order);
+            return all;
+        }
+
+        // Max-heap on order: the root is the worst row kept so far
+        PriorityQueue<Job> heap = new PriorityQueue<>(k + 1, order.reversed());
+        for (Job row : rows) {
+            if (heap.size() < k) {
+                heap.add(row);
+            } else if (order.compare(row, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(row);
+            }
+        }
+        List<Job> out = new ArrayList<>(heap);
+        out.sort(order);
+        return out;
+    }
+
+    static List<Job> selectParallel(List<Job> rows, int k, Comparator<Job> order) {
+        List<Job> source = rows instanceof RandomAccess ? rows : new ArrayList<>(rows);
+        int partitions = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(),
+                source.size() / (PARALLEL_THRESHOLD / 4)));
+        int chunk = (source.size() + partitions - 1) / partitions;
+
+        // Each partition's top k, then the top k of those (at most partitions * k rows)
+        List<Job> candidates = IntStream.range(0, partitions).parallel()
+                .mapToObj(p -> selectSequential(
+                        source.subList(p * chunk, Math.min(source.size(), (p + 1) * chunk)), k, order))
+                .flatMap(List::stream)
+                .toList();
+        return selectSequential(candidates, k, order);
+    }
+}
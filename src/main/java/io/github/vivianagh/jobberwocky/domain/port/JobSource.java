@@ -3,8 +3,12 @@ package io.github.vivianagh.jobberwocky.domain.port;
 
 import io.github.vivianagh.jobberwocky.domain.model.Job;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
+import io.github.vivianagh.jobberwocky.domain.model.SourceCapabilities;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Port interface for job sources (Hexagonal Architecture)
@@ -29,4 +33,62 @@ public interface JobSource {
     default boolean isAvailable() {
         return true;
     }
+
+    /**
+     * What this source does with a query, for the composite to plan around.
+     * The default promises the full contract: every filter applied, windows
+     * answered natively, no known cost.
+     */
+    default SourceCapabilities capabilities() {
+        return SourceCapabilities.FULL;
+    }
+
+    /**
+     * Same as searchJobs, but also reports which sources answered.
+     * Single sources always answer for themselves; aggregating sources
+     * override this to flag the ones that were dropped.
+     */
+    default SearchResult search(JobSearchCriteria criteria) {
+        return search(criteria, SearchWindow.ALL);
+    }
+
+    /**
+     * Search returning only the requested window (offset/limit/sort) plus the
+     * total number of matches.
+     *
+     * The default loads everything through searchJobs and sorts/slices in
+     * memory. Sources that can do better (ORDER BY/LIMIT in SQL, remote paging)
+     * should override it.
+     */
+    default SearchResult search(JobSearchCriteria criteria, SearchWindow window) {
+        return windowOf(getSourceName(), searchJobs(criteria), window);
+    }
+
+    /**
+     * Same matches as search(criteria), handed to onJobs in batches as they
+     * are found, on the calling thread. The returned result says which
+     * sources answered and how many jobs matched; its jobs list is empty.
+     *
+     * Single sources have one batch, after their search; aggregating sources
+     * should hand over each source's jobs as it answers.
+     */
+    default SearchResult stream(JobSearchCriteria criteria, Consumer<List<Job>> onJobs) {
+        SearchResult result = search(criteria);
+        if (!result.jobs().isEmpty()) onJobs.accept(result.jobs());
+        return new SearchResult(List.of(), result.total(), result.respondedSources(), result.droppedSources());
+    }
+
+    /**
+     * A source's window of all its matches (in any order), sorted and sliced
+     * in memory.
+     */
+    static SearchResult windowOf(String sourceName, List<Job> all, SearchWindow window) {
+        if (all == null) all = List.of();
+
+        List<Job> rows = window.cursor() == null ? all : window.cursor().after(sourceName, all);
+        List<Job> page = window.apply(rows);
+        long total = window.cursor() == null ? all.size() : page.size();
+        return new SearchResult(page, total, List.of(sourceName), List.of(),
+                window.next(sourceName, page, rows.size() > window.end()));
+    }
 }
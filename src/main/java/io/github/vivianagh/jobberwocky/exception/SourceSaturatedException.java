@@ -0,0 +1,11 @@
+package io.github.vivianagh.jobberwocky.exception;
+
+/**
+ * A source was not called because its bulkhead was full: as many calls as
+ * it may run are running and as many as may wait are waiting.
+ */
+public class SourceSaturatedException extends RuntimeException {
+    public SourceSaturatedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Read timeout following the latency of recent calls instead of a fixed
+ * worst case.
+ *
+ * As an interceptor it records every call's time to answer (response
+ * headers), timeouts included; the timeout of the next call is then the
+ * given percentile of those times, times multiplier, kept within
+ * [min, max]. Until minSamples calls were seen it is max.
+ *
+ * Never longer than what is left of the caller's CallDeadline: a call that
+ * could not be used anyway stops occupying a thread and a connection.
+ *
+ * The current timeout is published as http.client.timeout.read (ms),
+ * tagged client=name.
+ */
+public class AdaptiveTimeout implements ClientHttpRequestInterceptor {
+
+    private static final long MIN_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final long minNanos;
+    private final long maxNanos;
+    private final double percentile;
+    private final double multiplier;
+    private final LatencyTracker latencies;
+    private final LongSupplier nanoClock;
+
+    public AdaptiveTimeout(String name, Duration min, Duration max, double percentile, double multiplier,
+                           int minSamples, MeterRegistry registry) {
+        this(name, min, max, percentile, multiplier, minSamples, registry, System::nanoTime);
+    }
+
+    AdaptiveTimeout(String name, Duration min, Duration max, double percentile, double multiplier,
+                    int minSamples, MeterRegistry registry, LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.minNanos = min.toNanos();
+        this.maxNanos = Math.max(minNanos, max.toNanos());
+        this.percentile = percentile;
+        this.multiplier = multiplier;
+        this.latencies = new LatencyTracker(1000, minSamples);
+        Gauge.builder("http.client.timeout.read", this, t -> t.baseNanos() / 1e6)
+                .tag("client", name).baseUnit("milliseconds").register(registry);
+    }
+
+    /** Read timeout for a call made now, on this thread */
+    public Duration readTimeout() {
+        long remaining = CallDeadline.remainingNanos();
+        return Duration.ofNanos(Math.max(MIN_NANOS, Math.min(baseNanos(), remaining)));
+    }
+
+    /**
+     * A request factory giving every request the current readTimeout();
+     * factories builds the underlying factory for a timeout, and must be
+     * cheap.
+     */
+    public ClientHttpRequestFactory wrap(Function<Duration, ClientHttpRequestFactory> factories) {
+        return (uri, method) -> factories.apply(readTimeout()).createRequest(uri, method);
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        long started = nanoClock.getAsLong();
+        try {
+            ClientHttpResponse response = execution.execute(request, body);
+            latencies.record(nanoClock.getAsLong() - started);
+            return response;
+        } catch (HttpTimeoutException | SocketTimeoutException e) {
+            // At least this long: keeps the timeout from shrinking while calls time out
+            latencies.record(nanoClock.getAsLong() - started);
+            throw e;
+        }
+    }
+
+    // -------- Helpers --------
+    private long baseNanos() {
+        long p = latencies.percentile(percentile);
+        if (p < 0) return maxNanos;
+        return Math.max(minNanos, Math.min(maxNanos, (long) (p * multiplier)));
+    }
+}
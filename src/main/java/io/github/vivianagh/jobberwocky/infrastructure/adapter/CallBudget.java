@@ -0,0 +1,40 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket capping extra calls (hedges, retries) to a share of the
+ * regular ones: every call deposits percent/100 of a token, every extra
+ * call spends a whole one.
+ *
+ * Starts with one token, and holds at most what 10 calls deposit (one
+ * token at least), so a long quiet period cannot buy a burst of extra
+ * calls later.
+ */
+final class CallBudget {
+
+    private static final long TOKEN = 1000;   // in milli-tokens
+
+    private final long perCall;
+    private final long max;
+    private final AtomicLong tokens = new AtomicLong(TOKEN);
+
+    CallBudget(double percent) {
+        this.perCall = Math.round(percent / 100 * TOKEN);
+        this.max = Math.max(TOKEN, 10 * perCall);
+    }
+
+    void deposit() {
+        tokens.accumulateAndGet(perCall, (t, add) -> Math.min(max, t + add));
+    }
+
+    /** Spends a token if there is one */
+    boolean tryWithdraw() {
+        long t;
+        do {
+            t = tokens.get();
+            if (t < TOKEN) return false;
+        } while (!tokens.compareAndSet(t, t - TOKEN));
+        return true;
+    }
+}
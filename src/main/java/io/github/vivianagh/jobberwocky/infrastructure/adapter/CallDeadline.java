@@ -0,0 +1,52 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import java.util.concurrent.Callable;
+
+/**
+ * The deadline of the search the current thread works for, so outbound
+ * calls made deep below it (timeouts, retries) know how much time is left.
+ *
+ * Plain thread-local: threads started on behalf of the call must pass it on
+ * themselves (see RequestHedger), and background work never inherits a
+ * request's deadline by accident.
+ */
+public final class CallDeadline {
+
+    private static final ThreadLocal<Long> DEADLINE = new ThreadLocal<>();
+
+    private CallDeadline() {
+    }
+
+    /**
+     * Runs call with the given deadline (System.nanoTime() based; null = none)
+     * and restores the previous one afterwards.
+     */
+    public static <T> T run(Long deadlineNanos, Callable<T> call) throws Exception {
+        Long previous = DEADLINE.get();
+        if (deadlineNanos == null) {
+            DEADLINE.remove();
+        } else {
+            DEADLINE.set(deadlineNanos);
+        }
+        try {
+            return call.call();
+        } finally {
+            if (previous == null) {
+                DEADLINE.remove();
+            } else {
+                DEADLINE.set(previous);
+            }
+        }
+    }
+
+    /** The current deadline, or null when the thread has none */
+    public static Long get() {
+        return DEADLINE.get();
+    }
+
+    /** Nanos left before the deadline (negative once passed); Long.MAX_VALUE without one */
+    public static long remainingNanos() {
+        Long deadline = DEADLINE.get();
+        return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+    }
+}
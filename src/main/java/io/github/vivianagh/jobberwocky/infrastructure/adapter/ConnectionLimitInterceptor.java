@@ -0,0 +1,134 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps the requests a client has in flight, i.e. the connections (HTTP/1.1)
+ * or streams (HTTP/2) it holds. The JDK HttpClient pools connections but
+ * has no per-client limit, so without this a burst opens as many connections
+ * as there are callers.
+ *
+ * A request waits up to acquireTimeoutMs for a slot and then fails with an
+ * IOException. The slot is held until the response is closed.
+ *
+ * Metrics, tagged client=name: http.client.pool.active/max/pending gauges,
+ * http.client.pool.acquire (wait time) and http.client.pool.rejected.
+ */
+public class ConnectionLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final int maxConnections;
+    private final long acquireTimeoutMs;
+    private final Semaphore slots;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Timer acquireTime;
+    private final Counter rejected;
+
+    public ConnectionLimitInterceptor(String name, int maxConnections, long acquireTimeoutMs, MeterRegistry registry) {
+        if (maxConnections <= 0) throw new IllegalArgumentException("maxConnections must be positive");
+        this.maxConnections = maxConnections;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        this.slots = new Semaphore(maxConnections, true);
+
+        Gauge.builder("http.client.pool.active", this, ConnectionLimitInterceptor::active)
+                .tag("client", name).register(registry);
+        Gauge.builder("http.client.pool.max", this, c -> c.maxConnections)
+                .tag("client", name).register(registry);
+        Gauge.builder("http.client.pool.pending", pending, AtomicInteger::get)
+                .tag("client", name).register(registry);
+        this.acquireTime = Timer.builder("http.client.pool.acquire").tag("client", name).register(registry);
+        this.rejected = Counter.builder("http.client.pool.rejected").tag("client", name).register(registry);
+    }
+
+    /** Requests currently holding a slot */
+    public int active() {
+        return maxConnections - slots.availablePermits();
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        acquire(request);
+        try {
+            return new Releasing(execution.execute(request, body), slots);
+        } catch (IOException | RuntimeException e) {
+            slots.release();
+            throw e;
+        }
+    }
+
+    private void acquire(HttpRequest request) throws IOException {
+        long started = System.nanoTime();
+        pending.incrementAndGet();
+        try {
+            if (!slots.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+                rejected.increment();
+                throw new IOException("No free connection to " + request.getURI().getHost()
+                        + " within " + acquireTimeoutMs + " ms (" + maxConnections + " in use)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a connection");
+        } finally {
+            pending.decrementAndGet();
+            acquireTime.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /** Gives the slot back when the response is closed, once */
+    private static final class Releasing implements ClientHttpResponse {
+        private final ClientHttpResponse delegate;
+        private final Semaphore slots;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        Releasing(ClientHttpResponse delegate, Semaphore slots) {
+            this.delegate = delegate;
+            this.slots = slots;
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return delegate.getBody();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public void close() {
+            try {
+                delegate.close();
+            } finally {
+                if (released.compareAndSet(false, true)) slots.release();
+            }
+        }
+    }
+}
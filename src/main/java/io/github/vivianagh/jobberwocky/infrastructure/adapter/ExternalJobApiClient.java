@@ -1,26 +1,55 @@
 package io.github.vivianagh.jobberwocky.infrastructure.adapter;
 
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.stereotype.Component;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
+import org.springframework.web.util.UriBuilder;
 import io.github.vivianagh.jobberwocky.exception.ExternalSourceException;
 
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Function;
+
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class ExternalJobApiClient {
 
     private final RestClient restClient;
+    private final RequestHedger hedger;
+    private final RetryPolicy retries;
+
+    public ExternalJobApiClient(RestClient restClient) {
+        this(restClient, null, null);
+    }
+
+    /**
+     * @param hedger optional; without it slow calls are not hedged
+     * @param retries optional; without it failures are not retried
+     */
+    @Autowired
+    public ExternalJobApiClient(RestClient restClient, @Nullable RequestHedger hedger,
+                                @Nullable RetryPolicy retries) {
+        this.restClient = restClient;
+        this.hedger = hedger;
+        this.retries = retries;
+    }
 
     /**
      * Fetch jobs from external API
      *
      * Calls: http://localhost:8081/jobs?name=X&country=Y&salary_min=Z&salary_max=W
      *
+     * Buffers the whole body; searches read it with the streaming variant below.
+     *
      * @param criteria search filters
      * @return JSON response as String
      * @throws ExternalSourceException if HTTP call fails
@@ -30,32 +59,7 @@ public class ExternalJobApiClient {
             log.debug("Calling external API with criteria: {}", criteria);
 
             String response = restClient.get()
-                    .uri(uriBuilder -> {
-                        // Build URI with query parameters
-                        uriBuilder.path("/jobs");
-
-                        // Add title as 'name' parameter (external API uses 'name')
-                        if (criteria.title() != null && !criteria.title().isBlank()) {
-                            uriBuilder.queryParam("name", criteria.title());
-                        }
-
-                        // Add country parameter
-                        if (criteria.country() != null && !criteria.country().isBlank()) {
-                            uriBuilder.queryParam("country", criteria.country());
-                        }
-
-                        // Add min salary parameter
-                        if (criteria.minSalary() != null) {
-                            uriBuilder.queryParam("salary_min", criteria.minSalary());
-                        }
-
-                        // Add max salary parameter
-                        if (criteria.maxSalary() != null) {
-                            uriBuilder.queryParam("salary_max", criteria.maxSalary());
-                        }
-
-                        return uriBuilder.build();
-                    })
+                    .uri(jobsUri(criteria))
                     .retrieve()
                     .body(String.class);
 
@@ -73,6 +77,54 @@ public class ExternalJobApiClient {
         }
     }
 
+    /**
+     * Fetch jobs from external API without buffering the response: reader
+     * gets the response body as it arrives, and whatever it returns is
+     * returned. The response is closed once reader returns, whether or not
+     * it read the body to the end.
+     *
+     * With a RequestHedger, a call that has not answered after the hedge
+     * delay is sent again; reader gets the body of the first success
+     * response and the other call is dropped unread.
+     *
+     * With a RetryPolicy, a call failing before its body reached reader
+     * (I/O error, timeout, 5xx or 429) is made again. No call is made once
+     * the caller's CallDeadline has passed.
+     *
+     * @param criteria search filters
+     * @param reader consumes the JSON body
+     * @throws ExternalSourceException if HTTP call fails or answers an error status
+     */
+    public <T> T fetchJobs(JobSearchCriteria criteria, Function<InputStream, T> reader) {
+        try {
+            log.debug("Calling external API (streaming) with criteria: {}", criteria);
+
+            AtomicBoolean reading = new AtomicBoolean();
+            Callable<T> call = () -> {
+                if (CallDeadline.remainingNanos() <= 0) {
+                    throw new ExternalSourceException("Search deadline passed before calling the external API");
+                }
+                if (hedger == null) return exchange(criteria, reader, () -> true, reading);
+                return hedger.execute(claim -> exchange(criteria, reader, claim, reading));
+            };
+            if (retries == null) return call.call();
+            return retries.execute(call, e -> !reading.get() && isTransient(e));
+
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ExternalSourceException("Interrupted fetching external jobs", e);
+        } catch (ExternalSourceException e) {
+            log.error("External API call failed: {}", e.getMessage());
+            throw e;
+        } catch (RestClientException | UncheckedIOException e) {
+            log.error("External API call failed: {}", e.getMessage(), e);
+            throw new ExternalSourceException("Failed to fetch external jobs", e);
+        } catch (Exception e) {
+            log.error("Unexpected error calling external API", e);
+            throw new ExternalSourceException("Unexpected error fetching external jobs", e);
+        }
+    }
+
     public boolean healthCheck() {
         try {
             restClient.get()
@@ -89,4 +141,73 @@ public class ExternalJobApiClient {
         }
     }
 
+    // -------- Helpers --------
+    /**
+     * One call; the body is only read when claim agrees (first success
+     * answer of a hedged call), otherwise null is returned.
+     */
+    private <T> T exchange(JobSearchCriteria criteria, Function<InputStream, T> reader, BooleanSupplier claim,
+                           AtomicBoolean reading) {
+        return restClient.get()
+                .uri(jobsUri(criteria))
+                .exchange((request, response) -> {
+                    if (response.getStatusCode().isError()) {
+                        throw new ErrorStatusException(response.getStatusCode().value());
+                    }
+                    if (!claim.getAsBoolean()) return null;
+                    reading.set(true);
+                    try (InputStream body = response.getBody()) {
+                        return reader.apply(body);
+                    }
+                });
+    }
+
+    /** Failures worth another call: no answer (I/O, timeout), or the server is overloaded or failing */
+    private static boolean isTransient(Exception e) {
+        if (e instanceof ErrorStatusException status) {
+            return status.status >= 500 || status.status == 429;
+        }
+        return e instanceof ResourceAccessException;
+    }
+
+    private static final class ErrorStatusException extends ExternalSourceException {
+        final int status;
+
+        ErrorStatusException(int status) {
+            super("External API answered " + status);
+            this.status = status;
+        }
+    }
+
+    /**
+     * /jobs?name=X&country=Y&salary_min=Z&salary_max=W, with only the filters that are set
+     */
+    private static Function<UriBuilder, URI> jobsUri(JobSearchCriteria criteria) {
+        return uriBuilder -> {
+            // Build URI with query parameters
+            uriBuilder.path("/jobs");
+
+            // Add title as 'name' parameter (external API uses 'name')
+            if (criteria.title() != null && !criteria.title().isBlank()) {
+                uriBuilder.queryParam("name", criteria.title());
+            }
+
+            // Add country parameter
+            if (criteria.country() != null && !criteria.country().isBlank()) {
+                uriBuilder.queryParam("country", criteria.country());
+            }
+
+            // Add min salary parameter
+            if (criteria.minSalary() != null) {
+                uriBuilder.queryParam("salary_min", criteria.minSalary());
+            }
+
+            // Add max salary parameter
+            if (criteria.maxSalary() != null) {
+                uriBuilder.queryParam("salary_max", criteria.maxSalary());
+            }
+
+            return uriBuilder.build();
+        };
+    }
 }
@@ -1,18 +1,29 @@
 package io.github.vivianagh.jobberwocky.infrastructure.adapter;
 
 import io.github.vivianagh.jobberwocky.domain.model.Job;
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 @Component
 @RequiredArgsConstructor
@@ -34,44 +45,172 @@ public class ExternalJobResponseAdapter {
             return List.of();
         }
 
-        List<Job> jobs = new ArrayList<>();
+        try (Stream<Job> stream = stream(objectMapper.getFactory().createParser(rawJson))) {
+            List<Job> jobs = stream.collect(Collectors.toCollection(ArrayList::new));
+            log.info("Successfully adapted {} jobs from external source", jobs.size());
+            return jobs;
+        } catch (IOException e) {
+            log.error("Failed to parse external API response: {}", e.getMessage());
+            return List.of();
+        }
+    }
 
-        try {
-            // Parse JSON: Map<Country, List<Array[title, salary, skillsXml]>>
-            Map<String, List<List<Object>>> countryJobsMap = objectMapper.readValue(
-                    rawJson,
-                    new TypeReference<Map<String, List<List<Object>>>>() {}
-            );
+    /**
+     * Streaming variant of adapt: reads the response body token by token and
+     * emits the jobs one at a time, so the payload is never held in memory
+     * as a whole (neither as a String nor as a Map tree).
+     *
+     * Malformed entries are skipped in place. Malformed JSON ends the stream
+     * with the jobs read so far. Closing the stream closes body, so a
+     * consumer that stops early (limit, findFirst...) does not read the rest.
+     *
+     * @param body JSON body: {"Country": [[title, salary, skillsXml], ...], ...}
+     * @throws UncheckedIOException when reading body fails (not a parse error)
+     */
+    public Stream<Job> stream(InputStream body) {
+        return stream(body, false);
+    }
 
-            // Transform each country's jobs
-            for (Map.Entry<String, List<List<Object>>> entry : countryJobsMap.entrySet()) {
-                String country = entry.getKey();
-                List<List<Object>> jobArrays = entry.getValue();
+    /**
+     * @param strict fail with UncheckedIOException on malformed JSON instead
+     *               of ending the stream, for callers that must not mistake a
+     *               truncated body for a complete one; malformed entries are
+     *               still skipped
+     */
+    public Stream<Job> stream(InputStream body, boolean strict) {
+        try {
+            return stream(objectMapper.getFactory().createParser(body), strict);
+        } catch (JsonProcessingException e) {
+            if (strict) throw new UncheckedIOException(e);
+            log.error("Failed to parse external API response: {}", e.getMessage());
+            return Stream.empty();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
-                if (jobArrays == null) {
-                    continue;
-                }
+    // -------- Streaming --------
+    private Stream<Job> stream(JsonParser parser) {
+        return stream(parser, false);
+    }
 
-                for (List<Object> jobArray : jobArrays) {
+    private Stream<Job> stream(JsonParser parser, boolean strict) {
+        return StreamSupport.stream(new JobSpliterator(parser, strict), false)
+                .onClose(() -> {
                     try {
-                        Job job = transformJobArray(country, jobArray);
-                        jobs.add(job);
-                    } catch (Exception e) {
-                        log.warn("Failed to parse job array from country {}: {}. Array: {}",
-                                country, e.getMessage(), jobArray);
-                        // Continue with other jobs - resilient parsing
+                        parser.close();
+                    } catch (IOException e) {
+                        log.debug("Failed to close external API response: {}", e.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * Walks {"Country": [[...], ...], ...} keeping only the current country
+     * and entry; each tryAdvance reads up to the next well-formed entry.
+     */
+    private final class JobSpliterator extends Spliterators.AbstractSpliterator<Job> {
+        private final JsonParser parser;
+        private final boolean strict;
+        private boolean started;
+        private boolean done;
+        private String country;   // inside this country's array; null between countries
+
+        JobSpliterator(JsonParser parser, boolean strict) {
+            super(Long.MAX_VALUE, ORDERED | NONNULL);
+            this.parser = parser;
+            this.strict = strict;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Job> action) {
+            try {
+                while (!done) {
+                    if (!started) {
+                        started = true;
+                        if (parser.nextToken() != JsonToken.START_OBJECT) {
+                            if (strict) throw new JsonParseException(parser, "External API response is not a JSON object");
+                            log.warn("External API response is not a JSON object");
+                            done = true;
+                        }
+                    } else if (country == null) {
+                        nextCountry();
+                    } else {
+                        JsonToken token = parser.nextToken();
+                        if (token == JsonToken.END_ARRAY) {
+                            country = null;
+                            continue;
+                        }
+                        Job job = readEntry(token);
+                        if (job != null) {
+                            action.accept(job);
+                            return true;
+                        }
                     }
                 }
+            } catch (JsonProcessingException e) {
+                done = true;
+                if (strict) throw new UncheckedIOException(e);
+                log.error("Failed to parse external API response: {}", e.getMessage());
+            } catch (IOException e) {
+                done = true;
+                throw new UncheckedIOException(e);
             }
+            return false;
+        }
 
-            log.info("Successfully adapted {} jobs from external source", jobs.size());
-
-        } catch (Exception e) {
-            log.error("Failed to parse external API response: {}", e.getMessage());
-            // Return empty list instead of failing entire search
+        private void nextCountry() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token != JsonToken.FIELD_NAME) {   // end of the object (or of the input)
+                done = true;
+                return;
+            }
+            String name = parser.currentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.START_ARRAY) {
+                country = name;
+            } else {
+                if (value != JsonToken.VALUE_NULL) {
+                    log.warn("Skipping jobs of country {}: expected an array, got {}", name, value);
+                }
+                parser.skipChildren();
+            }
         }
 
-        return jobs;
+        /** Job for the entry starting at token, or null when the entry is malformed (and skipped) */
+        private Job readEntry(JsonToken token) throws IOException {
+            if (token == null) throw new JsonEOFException(parser, null, "Unexpected end of external API response");
+            if (token != JsonToken.START_ARRAY) {
+                log.warn("Failed to parse job array from country {}: expected an array, got {}", country, token);
+                parser.skipChildren();
+                return null;
+            }
+
+            // [title, salary, skillsXml]; anything else is read to its end and dropped
+            String[] fields = new String[3];
+            int count = 0;
+            boolean scalars = true;
+            for (JsonToken field = parser.nextToken(); field != JsonToken.END_ARRAY; field = parser.nextToken()) {
+                if (field == null) throw new JsonEOFException(parser, null, "Unexpected end of external API response");
+                if (field.isScalarValue() && field != JsonToken.VALUE_NULL) {
+                    if (count < fields.length) fields[count] = parser.getText();
+                } else {
+                    scalars = false;
+                    parser.skipChildren();
+                }
+                count++;
+            }
+
+            try {
+                if (count != 3 || !scalars) {
+                    throw new IllegalArgumentException("Expected array of 3 text or number elements, got: " + count);
+                }
+                return transformJobArray(country, List.of(fields[0], fields[1], fields[2]));
+            } catch (Exception e) {
+                log.warn("Failed to parse job array from country {}: {}", country, e.getMessage());
+                return null;
+            }
+        }
     }
 
     /**
@@ -82,7 +221,7 @@ public class ExternalJobResponseAdapter {
      * @return Job entity
      * @throws IllegalArgumentException if array doesn't have 3 elements
      */
-    private Job transformJobArray(String country, List<Object> jobArray) {
+    private Job transformJobArray(String country, List<?> jobArray) {
         if (jobArray == null || jobArray.size() != 3) {
             throw new IllegalArgumentException(
                     "Expected array of 3 elements, got: " +
@@ -0,0 +1,58 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import java.util.Arrays;
+
+/**
+ * Percentiles over the last few hundred latencies of a client.
+ *
+ * A ring buffer of samples; percentiles are read from a sorted copy that is
+ * rebuilt after a sixteenth of the samples are new (at most RESORT_EVERY),
+ * so asking on every call is cheap.
+ */
+public final class LatencyTracker {
+
+    private static final int RESORT_EVERY = 32;
+
+    private final long[] samples;
+    private final int minSamples;
+    private int count;
+    private int next;
+    private long[] sorted;
+    private int sinceSort;
+
+    /**
+     * @param window samples kept (the most recent)
+     * @param minSamples below this many samples percentile() has no answer
+     */
+    public LatencyTracker(int window, int minSamples) {
+        if (window <= 0) throw new IllegalArgumentException("window must be positive");
+        this.samples = new long[window];
+        this.minSamples = Math.max(1, Math.min(minSamples, window));
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) count++;
+        sinceSort++;
+    }
+
+    /**
+     * The q-quantile (0 < q <= 1) of the recorded latencies in nanos, or -1
+     * while fewer than minSamples were recorded.
+     */
+    public synchronized long percentile(double q) {
+        if (count < minSamples) return -1;
+        if (sorted == null || sinceSort >= Math.max(1, Math.min(RESORT_EVERY, count / 16))) {
+            sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            sinceSort = 0;
+        }
+        int rank = (int) Math.ceil(q * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(rank, sorted.length - 1))];
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+}
@@ -0,0 +1,216 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Hedged requests: when a call has not answered after a delay, an identical
+ * second call is sent, and whichever answers first is used. The other one is
+ * interrupted.
+ *
+ * "Answering" is the attempt claiming the race (Attempt#run gets the claim),
+ * typically when its response headers arrive with a success status; only
+ * the attempt that claimed goes on to read its response. An attempt failing
+ * before claiming does not end the race while the other one may still
+ * answer.
+ *
+ * The delay is fixed (delayMs) or, by default, the p95 of the recent time
+ * to answer, so about 5% of calls are hedged; nothing is hedged until
+ * enough latencies were seen. Hedges are paid from a budget refilled by
+ * every call (CallBudget, budgetPercent of a hedge per call), which caps
+ * the extra load however slow the server gets. Attempts run on their own
+ * threads, under the caller's CallDeadline.
+ *
+ * Metrics, tagged client=name: http.client.hedge.calls, .sent (hedges sent),
+ * .wins (the hedge answered first), .budget.exhausted, and the current
+ * .delay in ms.
+ */
+public class RequestHedger {
+
+    /** One try of the call; claim tells whether it answered first and may use its response */
+    @FunctionalInterface
+    public interface Attempt<T> {
+        T run(BooleanSupplier claim) throws Exception;
+    }
+
+    private final long fixedDelayNanos;
+    private final long minDelayNanos;
+    private final CallBudget budget;
+    private final LatencyTracker latencies;
+
+    private final Counter calls;
+    private final Counter sent;
+    private final Counter wins;
+    private final Counter budgetExhausted;
+
+    /**
+     * @param delayMs fixed hedge delay; 0 = the observed p95
+     * @param minDelayMs floor of the observed delay
+     * @param budgetPercent hedges allowed per 100 calls
+     * @param minSamples latencies to see before hedging on the observed p95
+     */
+    public RequestHedger(String name, long delayMs, long minDelayMs, double budgetPercent, int minSamples,
+                         MeterRegistry registry) {
+        this.fixedDelayNanos = TimeUnit.MILLISECONDS.toNanos(delayMs);
+        this.minDelayNanos = TimeUnit.MILLISECONDS.toNanos(minDelayMs);
+        this.budget = new CallBudget(budgetPercent);
+        this.latencies = new LatencyTracker(1000, minSamples);
+
+        this.calls = counter(registry, name, "http.client.hedge.calls");
+        this.sent = counter(registry, name, "http.client.hedge.sent");
+        this.wins = counter(registry, name, "http.client.hedge.wins");
+        this.budgetExhausted = counter(registry, name, "http.client.hedge.budget.exhausted");
+        Gauge.builder("http.client.hedge.delay", this, h -> h.delayNanos() / 1e6)
+                .tag("client", name).baseUnit("milliseconds").register(registry);
+    }
+
+    /**
+     * Runs attempt, and a second copy of it if the first has not claimed
+     * the race after the hedge delay. Returns (or throws) what the attempt
+     * that claimed returned (threw); when none claimed, throws the first
+     * failure.
+     */
+    public <T> T execute(Attempt<T> attempt) throws Exception {
+        calls.increment();
+        budget.deposit();
+
+        Race<T> race = new Race<>(System.nanoTime());
+        race.launch(attempt, false);
+        try {
+            long delay = delayNanos();
+            if (delay > 0 && !race.decidedWithin(delay)) {
+                if (budget.tryWithdraw()) {
+                    sent.increment();
+                    race.launch(attempt, true);
+                } else {
+                    budgetExhausted.increment();
+                }
+            }
+            race.noMoreAttempts();
+            return race.result.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            race.cancel();
+            throw e;
+        } finally {
+            race.interruptLosers();
+        }
+    }
+
+    /** Current hedge delay in nanos; 0 = not hedging */
+    public long delayNanos() {
+        if (fixedDelayNanos > 0) return fixedDelayNanos;
+        long p95 = latencies.percentile(0.95);
+        return p95 < 0 ? 0 : Math.max(minDelayNanos, p95);
+    }
+
+    // -------- Helpers --------
+    private static Counter counter(MeterRegistry registry, String client, String name) {
+        return Counter.builder(name).tag("client", client).register(registry);
+    }
+
+    /**
+     * State shared by the attempts of one call. Guarded by this, except the
+     * result future.
+     */
+    private final class Race<T> {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final long started;
+        final Long deadline = CallDeadline.get();   // the caller's, passed on to the attempts
+        final List<Thread> threads = new ArrayList<>(2);
+        Thread winner;
+        int launched;
+        int failed;
+        boolean closed;   // no further attempt will be launched
+        Exception firstFailure;
+
+        Race(long started) {
+            this.started = started;
+        }
+
+        synchronized void launch(Attempt<T> attempt, boolean hedge) {
+            launched++;
+            threads.add(Thread.ofVirtual().name(hedge ? "hedge" : "attempt").start(() -> run(attempt, hedge)));
+        }
+
+        private void run(Attempt<T> attempt, boolean hedge) {
+            try {
+                T value = CallDeadline.run(deadline, () -> attempt.run(() -> claim(hedge)));
+                // Returning without claiming counts as answering, unless another attempt did
+                if (isWinner() || claim(hedge)) result.complete(value);
+            } catch (Exception e) {
+                if (isWinner()) {
+                    result.completeExceptionally(e);
+                } else {
+                    failedBeforeClaim(e);
+                }
+            }
+        }
+
+        /** Whether, within nanos, an attempt claimed or all failed (a failure is not hedged: retrying is not our job) */
+        synchronized boolean decidedWithin(long nanos) throws InterruptedException {
+            long deadline = System.nanoTime() + nanos;
+            long left;
+            while (!decided() && (left = deadline - System.nanoTime()) > 0) {
+                TimeUnit.NANOSECONDS.timedWait(this, left);
+            }
+            return decided();
+        }
+
+        private boolean decided() {
+            return winner != null || result.isDone() || failed == launched;
+        }
+
+        synchronized boolean claim(boolean hedge) {
+            if (winner != null || result.isDone()) return false;
+            winner = Thread.currentThread();
+            // Time to answer of the first attempt (a lower bound of it when the hedge won)
+            latencies.record(System.nanoTime() - started);
+            if (hedge) wins.increment();
+            notifyAll();
+            return true;
+        }
+
+        synchronized boolean isWinner() {
+            return winner == Thread.currentThread();
+        }
+
+        synchronized void failedBeforeClaim(Exception e) {
+            failed++;
+            if (firstFailure == null) firstFailure = e;
+            notifyAll();
+            completeIfAllFailed();
+        }
+
+        synchronized void noMoreAttempts() {
+            closed = true;
+            completeIfAllFailed();
+        }
+
+        private void completeIfAllFailed() {
+            if (closed && winner == null && failed == launched) result.completeExceptionally(firstFailure);
+        }
+
+        synchronized void cancel() {
+            result.completeExceptionally(new CancellationException("caller interrupted"));
+            threads.forEach(Thread::interrupt);
+        }
+
+        synchronized void interruptLosers() {
+            for (Thread t : threads) {
+                if (t != winner) t.interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * Retries of failed calls, with exponential backoff and full jitter
+ * (a random wait between 0 and min(maxBackoff, baseBackoff * 2^retry)), so
+ * clients failing together do not retry together.
+ *
+ * Retries are paid from a CallBudget (budgetPercent retries per 100
+ * calls): under an outage the extra load stays a few percent instead of
+ * multiplying it by maxAttempts. A retry is not made when the caller's
+ * CallDeadline would pass during its backoff.
+ *
+ * Metrics, tagged client=name: http.client.retry.sent, and
+ * http.client.retry.skipped with reason=budget|deadline.
+ */
+@Slf4j
+public class RetryPolicy {
+
+    private final int maxAttempts;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+    private final CallBudget budget;
+
+    private final Counter sent;
+    private final Counter noBudget;
+    private final Counter noTime;
+
+    /**
+     * @param maxAttempts calls at most, first one included
+     * @param budgetPercent retries allowed per 100 calls
+     */
+    public RetryPolicy(String name, int maxAttempts, long baseBackoffMs, long maxBackoffMs, double budgetPercent,
+                       MeterRegistry registry) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffNanos = TimeUnit.MILLISECONDS.toNanos(baseBackoffMs);
+        this.maxBackoffNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(baseBackoffMs, maxBackoffMs));
+        this.budget = new CallBudget(budgetPercent);
+        this.sent = Counter.builder("http.client.retry.sent").tag("client", name).register(registry);
+        this.noBudget = Counter.builder("http.client.retry.skipped").tag("client", name).tag("reason", "budget")
+                .register(registry);
+        this.noTime = Counter.builder("http.client.retry.skipped").tag("client", name).tag("reason", "deadline")
+                .register(registry);
+    }
+
+    /**
+     * Runs call, again while it fails with an exception retryable accepts
+     * and attempts, budget and deadline allow. Throws the last failure.
+     */
+    public <T> T execute(Callable<T> call, Predicate<Exception> retryable) throws Exception {
+        budget.deposit();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return call.call();
+            } catch (Exception e) {
+                if (attempt >= maxAttempts || !retryable.test(e)) throw e;
+
+                long backoff = backoffNanos(attempt);
+                if (CallDeadline.remainingNanos() - backoff <= 0) {
+                    noTime.increment();
+                    throw e;
+                }
+                if (!budget.tryWithdraw()) {
+                    noBudget.increment();
+                    throw e;
+                }
+                log.debug("Call failed ({}), retrying in {} ms", e.getMessage(), TimeUnit.NANOSECONDS.toMillis(backoff));
+                TimeUnit.NANOSECONDS.sleep(backoff);
+                sent.increment();
+            }
+        }
+    }
+
+    // -------- Helpers --------
+    /** Full jitter: uniform in [0, min(max, base * 2^(retry - 1))] */
+    private long backoffNanos(int retry) {
+        long cap = baseBackoffNanos << Math.min(retry - 1, 30);
+        if (cap <= 0 || cap > maxBackoffNanos) cap = maxBackoffNanos;
+        return cap == 0 ? 0 : ThreadLocalRandom.current().nextLong(cap + 1);
+    }
+}
@@ -1,75 +1,154 @@
 package io.github.vivianagh.jobberwocky.infrastructure.adapter;
 
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
-import org.w3c.dom.Document;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 import java.io.StringReader;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
+/**
+ * Parses the external API's skills snippets ("<skills><skill>AWS</skill></skills>").
+ *
+ * Streams the snippet with StAX instead of building a DOM Document per job.
+ * The same few snippets repeat across thousands of jobs, so results are kept
+ * in a bounded LRU cache: snippet -> immutable skill set, where equal sets
+ * are shared (interned) whatever snippet they came from.
+ *
+ * Same XXE protection as before: DTDs are refused (a snippet declaring one
+ * parses as no skills) and external entities are never resolved.
+ */
 @Component
 @Slf4j
 public class XmlSkillsParser {
 
-    private final DocumentBuilderFactory factory;
+    private final XMLInputFactory factory;
+    private final int maxCacheEntries;
+    // Both guarded by this
+    private final Map<String, Set<String>> bySnippet;
+    private final Map<Set<String>, Set<String>> interned;
 
     public XmlSkillsParser() {
-        this.factory = DocumentBuilderFactory.newInstance();
-        // Disable external entity processing for security
-        try {
-            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            factory.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            factory.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-        } catch (Exception e) {
-            log.warn("Could not set XML security features", e);
-        }
+        this(new SourcesProperties());
+    }
+
+    @Autowired
+    public XmlSkillsParser(SourcesProperties properties) {
+        this(properties.getExternal().getSkillsCacheSize());
+    }
+
+    /**
+     * @param maxCacheEntries snippets remembered; 0 parses every call
+     */
+    public XmlSkillsParser(int maxCacheEntries) {
+        this.factory = XMLInputFactory.newFactory();
+        // Disable DTDs and external entity processing for security
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        this.maxCacheEntries = maxCacheEntries;
+        this.bySnippet = lru(maxCacheEntries);
+        this.interned = lru(maxCacheEntries);
     }
 
     /**
      * Parse skills from XML string
      *
      * @param xmlString XML string like "<skills><skill>AWS</skill></skills>"
-     * @return Set of skill names, empty if parsing fails
+     * @return Immutable set of skill names, empty if parsing fails
      */
     public Set<String> parseSkills(String xmlString) {
         //null or blanck input
         if (xmlString == null || xmlString.isBlank()) {
             log.debug("XML string is null or blank");
-            return new HashSet<>();
+            return Set.of();
         }
-        try {
-            DocumentBuilder builder = factory.newDocumentBuilder();
-            InputSource inputSource = new InputSource(new StringReader(xmlString));
-            Document document = builder.parse(inputSource);
+        if (maxCacheEntries <= 0) return parse(xmlString);
+
+        synchronized (this) {
+            Set<String> cached = bySnippet.get(xmlString);
+            if (cached != null) return cached;
+        }
+        // Parsed outside the lock; two threads racing on a new snippet both parse it
+        Set<String> skills = parse(xmlString);
+        synchronized (this) {
+            Set<String> shared = interned.putIfAbsent(skills, skills);
+            if (shared != null) skills = shared;
+            bySnippet.put(xmlString, skills);
+            return skills;
+        }
+    }
 
-            NodeList skillNodes = document.getElementsByTagName("skill");
+    /** Snippets currently cached */
+    public synchronized int cacheSize() {
+        return bySnippet.size();
+    }
 
+    // -------- Helpers --------
+    private Set<String> parse(String xmlString) {
+        XMLStreamReader reader = null;
+        try {
+            reader = factory.createXMLStreamReader(new StringReader(xmlString));
             Set<String> skills = new HashSet<>();
-            for (int i = 0; i < skillNodes.getLength(); i++) {
-                String skillText = skillNodes.item(i).getTextContent();
-
-                if (skillText != null && !skillText.isBlank()) {
-                    String trimmedSkill = skillText.trim();
+            StringBuilder text = null;   // non-null inside a <skill>
+            int depth = 0;               // of elements nested in the current <skill>
 
-                    // Only add non-empty skills
-                    if (!trimmedSkill.isEmpty()) {
-                        skills.add(trimmedSkill);
+            // Read to the end, so a malformed snippet fails as a whole, as with DOM
+            while (reader.hasNext()) {
+                switch (reader.next()) {
+                    case XMLStreamConstants.DTD ->
+                            throw new XMLStreamException("DOCTYPE is not allowed");
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        if (text != null) depth++;
+                        else if ("skill".equals(reader.getLocalName())) text = new StringBuilder();
+                    }
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA,
+                         XMLStreamConstants.SPACE -> {
+                        if (text != null) text.append(reader.getText());
+                    }
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        if (text != null && depth-- == 0) {
+                            // Only add non-empty skills
+                            String trimmedSkill = text.toString().trim();
+                            if (!trimmedSkill.isEmpty()) skills.add(trimmedSkill);
+                            text = null;
+                            depth = 0;
+                        }
+                    }
+                    default -> {
                     }
                 }
             }
             log.debug("Parsed {} skills from XML", skills.size());
-            return skills;
-        } catch (Exception e) {
+            return Set.copyOf(skills);
+        } catch (XMLStreamException | RuntimeException e) {
             log.warn("Failed to parse XML skills: {}. Input: {}", e.getMessage(), xmlString);
             // Return empty set instead of throwing - fail-safe behavior
-            return new HashSet<>();
+            return Set.of();
+        } finally {
+            if (reader != null) {
+                try {
+                    reader.close();
+                } catch (XMLStreamException ignored) {
+                    // nothing left to release for an in-memory snippet
+                }
+            }
         }
-
     }
 
+    private static <K, V> Map<K, V> lru(int maxEntries) {
+        return new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
 }
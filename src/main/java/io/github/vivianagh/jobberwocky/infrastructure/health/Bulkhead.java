@@ -0,0 +1,66 @@
+package io.github.vivianagh.jobberwocky.infrastructure.health;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounded concurrency for a single source: maxConcurrent calls run at once,
+ * up to maxQueued more wait for one of them (in arrival order), and any
+ * further call is turned away at once.
+ */
+public class Bulkhead {
+
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Semaphore permits;
+    private final AtomicInteger queued = new AtomicInteger();
+
+    public Bulkhead(int maxConcurrent, int maxQueued) {
+        if (maxConcurrent <= 0) throw new IllegalArgumentException("maxConcurrent must be positive");
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueued = Math.max(0, maxQueued);
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Take a permit, waiting in the queue until deadlineNanos (System#nanoTime)
+     * if none is free. False when the queue is full too, or no permit freed up
+     * in time. Every granted permit must be given back with exit().
+     */
+    public boolean tryEnter(long deadlineNanos) throws InterruptedException {
+        // Timed, so a free permit still goes to the callers already waiting first
+        if (permits.tryAcquire(0, TimeUnit.NANOSECONDS)) return true;
+        if (queued.incrementAndGet() > maxQueued) {
+            queued.decrementAndGet();
+            return false;
+        }
+        try {
+            return permits.tryAcquire(Math.max(0, deadlineNanos - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } finally {
+            queued.decrementAndGet();
+        }
+    }
+
+    public void exit() {
+        permits.release();
+    }
+
+    /** Calls holding a permit */
+    public int active() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /** Calls waiting for a permit */
+    public int queued() {
+        return queued.get();
+    }
+
+    public int maxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int maxQueued() {
+        return maxQueued;
+    }
+}
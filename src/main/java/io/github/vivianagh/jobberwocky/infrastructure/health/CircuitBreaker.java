@@ -0,0 +1,155 @@
+package io.github.vivianagh.jobberwocky.infrastructure.health;
+
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Closed/open/half-open breaker for a single source.
+ *
+ * - CLOSED: calls go through; outcomes fill a sliding window, and the breaker
+ *   opens once the failure rate crosses the threshold
+ * - OPEN: calls are rejected until openStateMs has elapsed
+ * - HALF_OPEN: a limited number of trial calls go through; one success closes
+ *   the breaker, one failure opens it again
+ *
+ * Probe results are also fed in: a failed probe opens the breaker right away,
+ * a successful probe moves an open breaker to HALF_OPEN once openStateMs has
+ * elapsed (a source that just failed calls gets its full open interval).
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final SourcesProperties.Health config;
+    private final LongSupplier nanoClock;
+
+    // Sliding window of the last outcomes (true = failure)
+    private final boolean[] window;
+    private int next;
+    private int recorded;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int trialsInFlight;
+
+    public CircuitBreaker(SourcesProperties.Health config) {
+        this(config, System::nanoTime);
+    }
+
+    CircuitBreaker(SourcesProperties.Health config, LongSupplier nanoClock) {
+        this.config = config;
+        this.nanoClock = nanoClock;
+        this.window = new boolean[Math.max(1, config.getWindowSize())];
+    }
+
+    /**
+     * Ask for permission to call the source. Every granted call must be
+     * followed by onSuccess or onFailure.
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN && openPeriodElapsed()) {
+            toHalfOpen();
+        }
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> false;
+            case HALF_OPEN -> {
+                if (trialsInFlight < config.getHalfOpenMaxCalls()) {
+                    trialsInFlight++;
+                    yield true;
+                }
+                yield false;
+            }
+        };
+    }
+
+    /**
+     * Like tryAcquire, but without taking a trial slot.
+     */
+    public synchronized boolean isCallPermitted() {
+        return state != State.OPEN || openPeriodElapsed();
+    }
+
+    /**
+     * Give back a permit that was not used (the call never happened).
+     */
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && trialsInFlight > 0) {
+            trialsInFlight--;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            toClosed();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            toOpen();
+            return;
+        }
+        record(true);
+        if (state == State.CLOSED && recorded >= config.getMinimumCalls()
+                && failureRate() >= config.getFailureRateThreshold()) {
+            toOpen();
+        }
+    }
+
+    public synchronized void onProbe(boolean up) {
+        if (!up) {
+            toOpen();
+        } else if (state == State.OPEN && openPeriodElapsed()) {
+            toHalfOpen();
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized double failureRate() {
+        return recorded == 0 ? 0.0 : (double) failures / recorded;
+    }
+
+    // -------- Helpers --------
+    private void record(boolean failure) {
+        if (recorded == window.length) {
+            if (window[next]) failures--;
+        } else {
+            recorded++;
+        }
+        window[next] = failure;
+        if (failure) failures++;
+        next = (next + 1) % window.length;
+    }
+
+    private boolean openPeriodElapsed() {
+        return nanoClock.getAsLong() - openedAt >= TimeUnit.MILLISECONDS.toNanos(config.getOpenStateMs());
+    }
+
+    private void toOpen() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+        trialsInFlight = 0;
+    }
+
+    private void toHalfOpen() {
+        state = State.HALF_OPEN;
+        trialsInFlight = 0;
+    }
+
+    private void toClosed() {
+        state = State.CLOSED;
+        trialsInFlight = 0;
+        next = 0;
+        recorded = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,91 @@
+package io.github.vivianagh.jobberwocky.infrastructure.health;
+
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+import io.github.vivianagh.jobberwocky.domain.port.JobSource;
+import io.github.vivianagh.jobberwocky.exception.SourceSaturatedException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One Bulkhead per JobSource, so a slow source holds at most its own
+ * permits and queue, and searches skip it (SourceSaturatedException)
+ * instead of piling up behind it.
+ *
+ * Limits come from sources.bulkhead, per source name when configured.
+ *
+ * Metrics, tagged source=name: sources.bulkhead.active/queued/max gauges,
+ * sources.bulkhead.saturation (active / max) and sources.bulkhead.rejected.
+ */
+@Component
+public class SourceBulkheads {
+
+    private final SourcesProperties.Bulkhead config;
+    private final MeterRegistry registry;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private record Entry(Bulkhead bulkhead, Counter rejected) {}
+
+    public SourceBulkheads(SourcesProperties properties) {
+        this(properties, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public SourceBulkheads(SourcesProperties properties, MeterRegistry registry) {
+        this.config = properties.getBulkhead();
+        this.registry = registry;
+    }
+
+    /**
+     * Runs call within the source's bulkhead, waiting for a permit no later
+     * than deadlineNanos (System#nanoTime).
+     *
+     * @throws SourceSaturatedException when the bulkhead is full, or still
+     *                                  busy at the deadline; call did not run
+     */
+    public <T> T call(JobSource source, long deadlineNanos, Callable<T> call) throws Exception {
+        if (!config.isEnabled()) return call.call();
+        String name = source.getSourceName();
+        Entry e = entries.computeIfAbsent(name, this::create);
+        if (!e.bulkhead().tryEnter(deadlineNanos)) {
+            e.rejected().increment();
+            throw new SourceSaturatedException("Source " + name + " is saturated ("
+                    + e.bulkhead().active() + " calls running, " + e.bulkhead().queued() + " waiting)");
+        }
+        try {
+            return call.call();
+        } finally {
+            e.bulkhead().exit();
+        }
+    }
+
+    /** The source's bulkhead, or null before its first call */
+    public Bulkhead get(String sourceName) {
+        Entry e = entries.get(sourceName);
+        return e == null ? null : e.bulkhead();
+    }
+
+    // -------- Helpers --------
+    private Entry create(String name) {
+        SourcesProperties.Limits limits = config.getSources().get(name);
+        int maxConcurrent = limits != null && limits.getMaxConcurrent() != null
+                ? limits.getMaxConcurrent() : config.getMaxConcurrent();
+        int maxQueued = limits != null && limits.getMaxQueued() != null
+                ? limits.getMaxQueued() : config.getMaxQueued();
+        Bulkhead bulkhead = new Bulkhead(maxConcurrent, maxQueued);
+
+        Gauge.builder("sources.bulkhead.active", bulkhead, Bulkhead::active).tag("source", name).register(registry);
+        Gauge.builder("sources.bulkhead.queued", bulkhead, Bulkhead::queued).tag("source", name).register(registry);
+        Gauge.builder("sources.bulkhead.max", bulkhead, Bulkhead::maxConcurrent).tag("source", name).register(registry);
+        Gauge.builder("sources.bulkhead.saturation", bulkhead, b -> (double) b.active() / b.maxConcurrent())
+                .tag("source", name).register(registry);
+        return new Entry(bulkhead, Counter.builder("sources.bulkhead.rejected").tag("source", name).register(registry));
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.vivianagh.jobberwocky.infrastructure.health;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the sources' isAvailable() checks off the request path.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SourceHealthProber {
+
+    private final SourceHealthRegistry registry;
+
+    @Scheduled(
+            initialDelayString = "${sources.health.probe-interval-ms:15000}",
+            fixedDelayString = "${sources.health.probe-interval-ms:15000}"
+    )
+    public void probe() {
+        try {
+            registry.probeAll();
+        } catch (Exception e) {
+            log.warn("Source health probe failed", e);
+        }
+    }
+}
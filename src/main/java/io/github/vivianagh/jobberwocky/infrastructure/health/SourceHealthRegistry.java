@@ -0,0 +1,121 @@
+package io.github.vivianagh.jobberwocky.infrastructure.health;
+
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+import io.github.vivianagh.jobberwocky.domain.port.JobSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps availability state per JobSource so searches can read a cached flag
+ * instead of calling isAvailable() on the critical path.
+ *
+ * State is fed by:
+ * - real call outcomes reported by the composite (success, failure, timeout)
+ * - the background SourceHealthProber
+ *
+ * A source is probed once, in the background, the first time it is seen
+ * (it counts as CLOSED meanwhile, so the request that saw it never waits on
+ * isAvailable()); after that only the prober calls it.
+ */
+@Component
+@Slf4j
+public class SourceHealthRegistry {
+
+    private final SourcesProperties.Health config;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    public SourceHealthRegistry(SourcesProperties properties) {
+        this.config = properties.getHealth();
+    }
+
+    public record SourceHealth(String source, CircuitBreaker.State state, double failureRate, long timeouts) {}
+
+    private record Entry(JobSource source, CircuitBreaker breaker, LongAdder timeouts) {}
+
+    /**
+     * Take a call permit for the source. False means the breaker is open
+     * and the source should be skipped.
+     */
+    public boolean tryAcquire(JobSource source) {
+        return entry(source).breaker().tryAcquire();
+    }
+
+    public boolean isCallPermitted(JobSource source) {
+        return entry(source).breaker().isCallPermitted();
+    }
+
+    public void release(JobSource source) {
+        entry(source).breaker().release();
+    }
+
+    public void recordSuccess(JobSource source) {
+        entry(source).breaker().onSuccess();
+    }
+
+    public void recordFailure(JobSource source) {
+        Entry e = entry(source);
+        e.breaker().onFailure();
+        logIfOpen(source, e);
+    }
+
+    public void recordTimeout(JobSource source) {
+        Entry e = entry(source);
+        e.timeouts().increment();
+        e.breaker().onFailure();
+        logIfOpen(source, e);
+    }
+
+    /**
+     * Re-check every known source. Called by the background prober.
+     */
+    public void probeAll() {
+        entries.values().forEach(this::probe);
+    }
+
+    public Map<String, SourceHealth> snapshot() {
+        Map<String, SourceHealth> out = new TreeMap<>();
+        entries.forEach((name, e) -> out.put(name, new SourceHealth(
+                name, e.breaker().getState(), e.breaker().failureRate(), e.timeouts().sum())));
+        return out;
+    }
+
+    // -------- Helpers --------
+    private Entry entry(JobSource source) {
+        Entry e = entries.get(source.getSourceName());
+        if (e != null) return e;
+        Entry created = new Entry(source, new CircuitBreaker(config), new LongAdder());
+        Entry existing = entries.putIfAbsent(source.getSourceName(), created);
+        if (existing != null) return existing;
+        // First sighting: seed the breaker with a single probe, off the request thread
+        Thread.ofVirtual().name("source-probe-" + source.getSourceName()).start(() -> probe(created));
+        return created;
+    }
+
+    private void probe(Entry e) {
+        boolean up;
+        try {
+            up = e.source().isAvailable();
+        } catch (Exception ex) {
+            up = false;
+        }
+        CircuitBreaker.State before = e.breaker().getState();
+        e.breaker().onProbe(up);
+        CircuitBreaker.State after = e.breaker().getState();
+        if (before != after) {
+            log.info("Source {} health changed {} -> {} (probe {})",
+                    e.source().getSourceName(), before, after, up ? "up" : "down");
+        }
+    }
+
+    private void logIfOpen(JobSource source, Entry e) {
+        if (e.breaker().getState() == CircuitBreaker.State.OPEN) {
+            log.warn("Circuit open for source {} (failure rate {})",
+                    source.getSourceName(), e.breaker().failureRate());
+        }
+    }
+}
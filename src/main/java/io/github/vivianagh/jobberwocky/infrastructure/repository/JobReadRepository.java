@@ -0,0 +1,22 @@
+package io.github.vivianagh.jobberwocky.infrastructure.repository;
+
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Search read path (custom fragment of JobRepository).
+ */
+public interface JobReadRepository {
+
+    /**
+     * Jobs matching spec, in sort order, rows [offset, offset + limit).
+     *
+     * One query for the rows (JobRow projection) and one batched query for
+     * their skills. The returned jobs are not managed: no persistence
+     * context entries, no dirty checking, no lazy loading.
+     */
+    List<Job> findDetached(Specification<Job> spec, Sort sort, long offset, int limit);
+}
@@ -0,0 +1,74 @@
+package io.github.vivianagh.jobberwocky.infrastructure.repository;
+
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+class JobReadRepositoryImpl implements JobReadRepository {
+
+    // Keeps the IN list of the skills query within what every database accepts
+    private static final int SKILLS_BATCH = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Job> findDetached(Specification<Job> spec, Sort sort, long offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<JobRow> query = cb.createQuery(JobRow.class);
+        Root<Job> root = query.from(Job.class);
+
+        query.select(cb.construct(JobRow.class,
+                root.get("id"), root.get("title"), root.get("description"),
+                root.get("company"), root.get("country"), root.get("city"),
+                root.get("salary"), root.get("source"), root.get("externalId"),
+                root.get("createdAt"), root.get("updatedAt")));
+        Predicate where = spec == null ? null : spec.toPredicate(root, query, cb);
+        if (where != null) query.where(where);
+        if (sort != null && sort.isSorted()) query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        TypedQuery<JobRow> typed = entityManager.createQuery(query);
+        if (offset > 0) typed.setFirstResult(Math.toIntExact(offset));
+        if (limit < Integer.MAX_VALUE) typed.setMaxResults(limit);
+        List<JobRow> rows = typed.getResultList();
+
+        Map<Long, Set<String>> skills = findSkills(rows);
+        List<Job> jobs = new ArrayList<>(rows.size());
+        for (JobRow row : rows) {
+            jobs.add(row.toJob(skills.getOrDefault(row.id(), new HashSet<>())));
+        }
+        return jobs;
+    }
+
+    private Map<Long, Set<String>> findSkills(List<JobRow> rows) {
+        Map<Long, Set<String>> skills = new HashMap<>();
+        for (int from = 0; from < rows.size(); from += SKILLS_BATCH) {
+            List<Long> ids = rows.subList(from, Math.min(rows.size(), from + SKILLS_BATCH)).stream()
+                    .map(JobRow::id)
+                    .toList();
+            List<Object[]> pairs = entityManager.createQuery(
+                            "select j.id, s from Job j join j.skills s where j.id in :ids", Object[].class)
+                    .setParameter("ids", ids)
+                    .getResultList();
+            for (Object[] pair : pairs) {
+                skills.computeIfAbsent((Long) pair[0], id -> new HashSet<>()).add((String) pair[1]);
+            }
+        }
+        return skills;
+    }
+}
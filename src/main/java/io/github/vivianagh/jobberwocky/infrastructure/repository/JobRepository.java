@@ -1,10 +1,26 @@
 package io.github.vivianagh.jobberwocky.infrastructure.repository;
 
 import io.github.vivianagh.jobberwocky.domain.model.Job;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
-public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job> {
+public interface JobRepository extends JpaRepository<Job, Long>, JpaSpecificationExecutor<Job>, JobReadRepository {
+
+    /**
+     * Id and title only, in id order, for feeding the title index
+     */
+    @Query("select j.id as id, j.title as title from Job j where j.id > :afterId order by j.id")
+    List<JobTitle> findTitlesAfter(@Param("afterId") long afterId, Limit limit);
+
+    interface JobTitle {
+        Long getId();
+        String getTitle();
+    }
 }
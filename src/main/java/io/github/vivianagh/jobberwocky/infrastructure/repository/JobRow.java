@@ -0,0 +1,43 @@
+package io.github.vivianagh.jobberwocky.infrastructure.repository;
+
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * Read model of a job row, selected with a constructor expression so
+ * Hibernate never creates (or dirty-checks) a managed entity for it.
+ */
+public record JobRow(
+        Long id,
+        String title,
+        String description,
+        String company,
+        String country,
+        String city,
+        BigDecimal salary,
+        String source,
+        String externalId,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+    /** Plain, unmanaged Job for the rest of the search path */
+    public Job toJob(Set<String> skills) {
+        return Job.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .company(company)
+                .country(country)
+                .city(city)
+                .salary(salary)
+                .skills(skills)
+                .source(source)
+                .externalId(externalId)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+}
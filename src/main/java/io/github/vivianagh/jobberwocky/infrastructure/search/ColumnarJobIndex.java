@@ -0,0 +1,336 @@
+package io.github.vivianagh.jobberwocky.infrastructure.search;
+
+import io.github.vivianagh.jobberwocky.config.SearchProperties;
+import io.github.vivianagh.jobberwocky.domain.event.JobCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.event.JobsCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.infrastructure.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+/**
+ * Columnar in-memory snapshot of the jobs table, filtered without going to
+ * the database.
+ *
+ * Each filterable attribute lives in its own primitive column indexed by
+ * row number: salary as long cents, country as a dictionary code, skills as
+ * one BitSet of rows per normalized skill. Attributes nothing filters on
+ * (company, description...) are only kept in the Job objects.
+ *
+ * A search ANDs the skill (and title) bitsets into a candidate set, then
+ * scans the salary and country columns in segments, in parallel on the
+ * common fork/join pool once the table is large enough. Matching rows are
+ * returned as the Job objects kept alongside, so nothing is read from the
+ * database.
+ *
+ * Loaded once at startup, then kept current by JobCreatedEvent and
+ * JobsCreatedEvent (every create path of JobService). Rows written behind the application's back are not
+ * seen until the next restart.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "search.columnar", name = "enabled", havingValue = "true")
+public class ColumnarJobIndex {
+
+    private static final int NO_COUNTRY = -1;
+
+    private final JobRepository jobRepository;
+    private final TitleIndex titleIndex;
+    private final SearchProperties.Columnar settings;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // -------- Columns (guarded by lock) --------
+    private int size;
+    private long[] salaryCents = new long[1024];
+    private int[] countryCodes = new int[1024];
+    private String[] titles = new String[1024];   // Job#titleTokens form, for searches the title index cannot answer
+    private Job[] rows = new Job[1024];
+
+    private final Map<String, Integer> countryDictionary = new HashMap<>();
+    private final Map<String, BitSet> skillPostings = new HashMap<>();
+    private final LongIntMap rowById = new LongIntMap(1024);
+    private volatile boolean loaded;
+
+    public ColumnarJobIndex(JobRepository jobRepository) {
+        this(jobRepository, null, new SearchProperties());
+    }
+
+    /**
+     * @param titleIndex optional; without it titles are matched by scanning
+     */
+    @Autowired
+    public ColumnarJobIndex(JobRepository jobRepository, @Nullable TitleIndex titleIndex, SearchProperties properties) {
+        this.jobRepository = jobRepository;
+        this.titleIndex = titleIndex;
+        this.settings = properties.getColumnar();
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adds a job unless a row with its id is already there.
+     */
+    public void add(Job job) {
+        if (job.getId() == null) return;
+        lock.writeLock().lock();
+        try {
+            if (rowById.get(job.getId()) != LongIntMap.MISSING) return;
+            if (size == rows.length) grow();
+
+            int row = size;
+            salaryCents[row] = job.getSalary() == null ? 0 : toCents(job.getSalary(), RoundingMode.DOWN);
+            countryCodes[row] = code(countryDictionary, Job.normalize(job.getCountry()));
+            titles[row] = Job.titleTokens(job.getTitle());
+            rows[row] = copyOf(job);
+            if (job.getSkills() != null) {
+                for (String skill : job.getSkills()) {
+                    String key = JobSearchCriteria.normalizeSkill(skill);
+                    if (!key.isEmpty()) skillPostings.computeIfAbsent(key, k -> new BitSet()).set(row);
+                }
+            }
+            rowById.put(job.getId(), row);
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Jobs matching criteria, in row (insertion) order; null while the
+     * snapshot is still loading and the caller should ask the database.
+     */
+    public List<Job> search(JobSearchCriteria criteria) {
+        if (!loaded) return null;
+        // Resolved before taking the lock: the title index may go to the database
+        long[] titleIds = hasText(criteria.title()) && titleIndex != null ? titleIndex.search(criteria.title()) : null;
+
+        lock.readLock().lock();
+        try {
+            Filter filter = filter(criteria, titleIds);
+            if (filter == null) return List.of();
+
+            int[] matches = scan(filter, size);
+            List<Job> out = new ArrayList<>(matches.length);
+            for (int row : matches) out.add(rows[row]);
+            return out;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // -------- Sync --------
+    @TransactionalEventListener(fallbackExecution = true)
+    void onJobCreated(JobCreatedEvent event) {
+        add(event.job());
+    }
+
+    /** The whole batch under one write lock */
+    @TransactionalEventListener(fallbackExecution = true)
+    void onJobsCreated(JobsCreatedEvent event) {
+        lock.writeLock().lock();
+        try {
+            event.jobs().forEach(this::add);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Reads the whole table in id order, a batch at a time. Jobs created
+     * meanwhile arrive through onJobCreated; add() skips the ones read twice.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    void load() {
+        long started = System.nanoTime();
+        long lastId = Long.MIN_VALUE;
+        List<Job> batch;
+        do {
+            long after = lastId;
+            Specification<Job> afterId = (root, query, cb) -> cb.greaterThan(root.get("id"), after);
+            batch = jobRepository.findDetached(afterId, Sort.by("id"), 0, settings.getLoadBatchSize());
+            for (Job job : batch) {
+                add(job);
+                lastId = job.getId();
+            }
+        } while (batch.size() == settings.getLoadBatchSize());
+        loaded = true;
+        log.info("Columnar job index loaded: {} jobs in {} ms", size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    // -------- Scan --------
+    /**
+     * A search compiled against the columns: codes and cents instead of
+     * strings and BigDecimals. candidates is null when every row qualifies.
+     */
+    private record Filter(int country, long minCents, long maxCents, BitSet candidates, List<String> titleTerms) {
+    }
+
+    /** null when nothing can match */
+    private Filter filter(JobSearchCriteria criteria, long[] titleIds) {
+        int country = NO_COUNTRY;
+        if (hasText(criteria.country())) {
+            Integer code = countryDictionary.get(Job.normalize(criteria.country()));
+            if (code == null) return null;
+            country = code;
+        }
+        long min = criteria.minSalary() == null ? Long.MIN_VALUE : toCents(criteria.minSalary(), RoundingMode.CEILING);
+        long max = criteria.maxSalary() == null ? Long.MAX_VALUE : toCents(criteria.maxSalary(), RoundingMode.FLOOR);
+
+        BitSet candidates = null;
+        Set<String> skills = criteria.skillKeys();
+        for (String skill : skills) {
+            BitSet posting = skillPostings.get(skill);
+            if (posting == null) {
+                if (criteria.matchAnySkill()) continue;
+                return null;
+            }
+            if (candidates == null) {
+                candidates = (BitSet) posting.clone();
+            } else if (criteria.matchAnySkill()) {
+                candidates.or(posting);
+            } else {
+                candidates.and(posting);
+            }
+        }
+        if (!skills.isEmpty() && candidates == null) return null;   // ANY, and no skill is known
+
+        List<String> titleTerms = List.of();
+        if (titleIds != null) {
+            BitSet titled = new BitSet(size);
+            for (long id : titleIds) {
+                int row = rowById.get(id);
+                if (row != LongIntMap.MISSING) titled.set(row);
+            }
+            if (candidates == null) candidates = titled;
+            else candidates.and(titled);
+        } else if (hasText(criteria.title())) {
+            // Same rule as the index and the SQL fallback: every term starts some title token
+            titleTerms = TitleIndex.tokenize(criteria.title()).stream().map(term -> " " + term).toList();
+        }
+        return new Filter(country, min, max, candidates, titleTerms);
+    }
+
+    /**
+     * Matching rows, ascending. Segments are scanned independently (on the
+     * common fork/join pool for large tables) and concatenated in order.
+     */
+    private int[] scan(Filter filter, int rowCount) {
+        int segment = settings.getSegmentSize();
+        int segments = (rowCount + segment - 1) / segment;
+        IntStream indexes = IntStream.range(0, segments);
+        if (rowCount >= settings.getParallelThreshold()) indexes = indexes.parallel();
+
+        int[][] parts = indexes
+                .mapToObj(s -> scanSegment(filter, s * segment, Math.min(rowCount, (s + 1) * segment)))
+                .toArray(int[][]::new);
+
+        int total = 0;
+        for (int[] part : parts) total += part.length;
+        int[] out = new int[total];
+        int at = 0;
+        for (int[] part : parts) {
+            System.arraycopy(part, 0, out, at, part.length);
+            at += part.length;
+        }
+        return out;
+    }
+
+    private int[] scanSegment(Filter filter, int from, int to) {
+        int[] out = new int[to - from];
+        int n = 0;
+        if (filter.candidates() == null) {
+            // Tight loop over the primitive columns
+            for (int row = from; row < to; row++) {
+                if (matches(filter, row)) out[n++] = row;
+            }
+        } else {
+            for (int row = filter.candidates().nextSetBit(from); row >= 0 && row < to;
+                 row = filter.candidates().nextSetBit(row + 1)) {
+                if (matches(filter, row)) out[n++] = row;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private boolean matches(Filter filter, int row) {
+        if (filter.country() != NO_COUNTRY && countryCodes[row] != filter.country()) return false;
+        long cents = salaryCents[row];
+        if (cents < filter.minCents() || cents > filter.maxCents()) return false;
+        for (String term : filter.titleTerms()) {
+            if (!titles[row].contains(term)) return false;   // " term" in " senior java"
+        }
+        return true;
+    }
+
+    // -------- Helpers --------
+    private void grow() {
+        int capacity = rows.length * 2;
+        salaryCents = Arrays.copyOf(salaryCents, capacity);
+        countryCodes = Arrays.copyOf(countryCodes, capacity);
+        titles = Arrays.copyOf(titles, capacity);
+        rows = Arrays.copyOf(rows, capacity);
+    }
+
+    private static int code(Map<String, Integer> dictionary, String value) {
+        return dictionary.computeIfAbsent(value == null ? "" : value, v -> dictionary.size());
+    }
+
+    private static long toCents(BigDecimal amount, RoundingMode rounding) {
+        return amount.movePointRight(2).setScale(0, rounding).longValue();
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+
+    /** Plain copy, so the snapshot holds no Hibernate collections */
+    private static Job copyOf(Job job) {
+        return Job.builder()
+                .id(job.getId())
+                .title(job.getTitle())
+                .description(job.getDescription())
+                .company(job.getCompany())
+                .country(job.getCountry())
+                .city(job.getCity())
+                .salary(job.getSalary())
+                .skills(job.getSkills() == null ? new HashSet<>() : new HashSet<>(job.getSkills()))
+                .source(job.getSource())
+                .externalId(job.getExternalId())
+                .createdAt(job.getCreatedAt())
+                .updatedAt(job.getUpdatedAt())
+                .build();
+    }
+}
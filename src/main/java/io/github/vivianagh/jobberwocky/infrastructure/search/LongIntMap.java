@@ -0,0 +1,85 @@
+package io.github.vivianagh.jobberwocky.infrastructure.search;
+
+import java.util.Arrays;
+
+/**
+ * long -> int hash map with open addressing (linear probing) over two
+ * primitive arrays: no boxing and no entry objects, so a few million keys
+ * cost tens of megabytes instead of hundreds.
+ *
+ * Values must not be negative (-1 means absent). No removal. Not thread-safe.
+ */
+public final class LongIntMap {
+
+    public static final int MISSING = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    public LongIntMap(int expected) {
+        int capacity = Integer.highestOneBit(Math.max(4, expected * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new int[capacity];
+        Arrays.fill(values, MISSING);
+    }
+
+    public int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = mix(key) & mask; values[i] != MISSING; i = (i + 1) & mask) {
+            if (keys[i] == key) return values[i];
+        }
+        return MISSING;
+    }
+
+    /**
+     * @return the previous value, or MISSING
+     */
+    public int put(long key, int value) {
+        if (value < 0) throw new IllegalArgumentException("values must not be negative");
+        int mask = keys.length - 1;
+        int i = mix(key) & mask;
+        for (; values[i] != MISSING; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                int previous = values[i];
+                values[i] = value;
+                return previous;
+            }
+        }
+        keys[i] = key;
+        values[i] = value;
+        // Keep at most half the slots used, so probe runs stay short
+        if (++size * 2 > keys.length) grow();
+        return MISSING;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new int[oldValues.length * 2];
+        Arrays.fill(values, MISSING);
+        int mask = keys.length - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] == MISSING) continue;
+            int i = mix(oldKeys[j]) & mask;
+            while (values[i] != MISSING) i = (i + 1) & mask;
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    /** Spreads sequential ids over the table (murmur3 finalizer) */
+    private static int mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return (int) key;
+    }
+}
@@ -0,0 +1,189 @@
+package io.github.vivianagh.jobberwocky.infrastructure.search;
+
+import io.github.vivianagh.jobberwocky.config.SearchProperties;
+import io.github.vivianagh.jobberwocky.domain.event.JobCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.event.JobsCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded, expiring cache of search results, keyed by canonical criteria
+ * (JobSearchCriteria#canonical) and window.
+ *
+ * - LRU beyond maxEntries, and entries expire after ttlMs
+ * - Created jobs evict only the entries whose criteria match one of them
+ *   (JobSearchCriteria#matches), a batch in one pass; every other search
+ *   stays cached
+ * - A result computed while a job was being created is not stored, as it
+ *   may predate the job (see generation())
+ *
+ * Metrics follow Micrometer's cache conventions, tagged cache=search-results:
+ * cache.gets{result=hit|miss}, cache.evictions{cause=size|expired|job-created},
+ * cache.size.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "search.result-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SearchResultCache {
+
+    private static final String NAME = "search-results";
+
+    private record Key(JobSearchCriteria criteria, SearchWindow window) {
+    }
+
+    private record Entry(SearchResult result, long expiresAt) {
+    }
+
+    private final SearchProperties.ResultCache settings;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);   // access order: LRU first
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictedBySize;
+    private final Counter expired;
+    private final Counter invalidated;
+
+    public SearchResultCache(SearchProperties properties) {
+        this(properties, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public SearchResultCache(SearchProperties properties, MeterRegistry registry) {
+        this.settings = properties.getResultCache();
+        this.hits = counter(registry, "cache.gets", "result", "hit");
+        this.misses = counter(registry, "cache.gets", "result", "miss");
+        this.evictedBySize = counter(registry, "cache.evictions", "cause", "size");
+        this.expired = counter(registry, "cache.evictions", "cause", "expired");
+        this.invalidated = counter(registry, "cache.evictions", "cause", "job-created");
+        Gauge.builder("cache.size", this, SearchResultCache::size).tag("cache", NAME).register(registry);
+    }
+
+    /**
+     * @param criteria canonical criteria
+     */
+    public SearchResult get(JobSearchCriteria criteria, SearchWindow window) {
+        Key key = new Key(criteria, window);
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && System.nanoTime() - entry.expiresAt() >= 0) {
+                entries.remove(key);
+                expired.increment();
+                entry = null;
+            }
+            (entry == null ? misses : hits).increment();
+            return entry == null ? null : entry.result();
+        }
+    }
+
+    /**
+     * Changes whenever cached results may have gone stale. Read it before
+     * searching and pass it to put().
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a complete result, unless a job was created since
+     * generationBeforeSearch was read.
+     */
+    public void put(JobSearchCriteria criteria, SearchWindow window, SearchResult result, long generationBeforeSearch) {
+        if (result.partial()) return;
+        SearchResult frozen = new SearchResult(List.copyOf(result.jobs()), result.total(),
+                result.respondedSources(), result.droppedSources(), result.next());
+        long expiresAt = System.nanoTime() + settings.getTtlMs() * 1_000_000;
+
+        synchronized (entries) {
+            if (generation.get() != generationBeforeSearch) return;
+            entries.put(new Key(criteria, window), new Entry(frozen, expiresAt));
+            Iterator<Entry> lru = entries.values().iterator();
+            while (entries.size() > settings.getMaxEntries() && lru.hasNext()) {
+                lru.next();
+                lru.remove();
+                evictedBySize.increment();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // -------- Invalidation --------
+    @TransactionalEventListener(fallbackExecution = true)
+    void onJobCreated(JobCreatedEvent event) {
+        onJobsCreated(List.of(event.job()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onJobsCreated(JobsCreatedEvent event) {
+        onJobsCreated(event.jobs());
+    }
+
+    /**
+     * Evicts the entries whose criteria match any of jobs, in one pass for
+     * the whole batch. The criteria are matched outside the lock: bumping
+     * the generation first keeps searches that started before the jobs
+     * from being stored meanwhile.
+     */
+    public void onJobsCreated(Collection<Job> jobs) {
+        if (jobs.isEmpty()) return;
+        Set<JobSearchCriteria> cached = new HashSet<>();
+        synchronized (entries) {
+            generation.incrementAndGet();
+            for (Key key : entries.keySet()) cached.add(key.criteria());
+        }
+
+        Set<JobSearchCriteria> stale = new HashSet<>();
+        for (JobSearchCriteria criteria : cached) {
+            for (Job job : jobs) {
+                if (criteria.matches(job)) {
+                    stale.add(criteria);
+                    break;
+                }
+            }
+        }
+        if (stale.isEmpty()) return;
+
+        int evicted = 0;
+        synchronized (entries) {
+            Iterator<Key> keys = entries.keySet().iterator();
+            while (keys.hasNext()) {
+                if (stale.contains(keys.next().criteria())) {
+                    keys.remove();
+                    evicted++;
+                }
+            }
+        }
+        invalidated.increment(evicted);
+        log.debug("{} jobs created, evicted {} cached searches", jobs.size(), evicted);
+    }
+
+    // -------- Helpers --------
+    private static Counter counter(MeterRegistry registry, String name, String tag, String value) {
+        return Counter.builder(name).tag("cache", NAME).tag(tag, value).register(registry);
+    }
+}
@@ -0,0 +1,240 @@
+package io.github.vivianagh.jobberwocky.infrastructure.search;
+
+import io.github.vivianagh.jobberwocky.config.SearchProperties;
+import io.github.vivianagh.jobberwocky.domain.event.JobCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.event.JobsCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.infrastructure.repository.JobRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Inverted index over job titles: token -> sorted ids of the jobs whose
+ * title contains it.
+ *
+ * A query matches the jobs having every query term as a prefix of some
+ * title token ("senior jav" matches "Senior Java Engineer"), which
+ * InternalJobSource turns into an id IN (...) predicate.
+ *
+ * Kept in sync by JobCreatedEvent and JobsCreatedEvent (after commit). Rows written by other
+ * paths are picked up before each search by loading the titles with an id
+ * above the highest one seen. Ids are not committed in order though (pooled
+ * sequences, concurrent transactions): a row whose id is below that mark
+ * but commits after the load is not seen there, so a scheduled reconcile
+ * re-reads every title (search.title-index.reconcile-interval-ms) and adds
+ * what is missing. Titles are never updated by the application; deleted or
+ * rolled-back ids only cost a lookup, as the database drops them.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "search.title-index", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class TitleIndex {
+
+    private final JobRepository jobRepository;
+    private final SearchProperties.TitleIndex settings;
+    private final ConcurrentSkipListMap<String, Postings> postings = new ConcurrentSkipListMap<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private volatile long maxLoadedId = 0;
+    private volatile boolean loaded;
+
+    public TitleIndex(JobRepository jobRepository) {
+        this(jobRepository, new SearchProperties());
+    }
+
+    @Autowired
+    public TitleIndex(JobRepository jobRepository, SearchProperties properties) {
+        this.jobRepository = jobRepository;
+        this.settings = properties.getTitleIndex();
+    }
+
+    /**
+     * Lower-case letter/digit runs; shared by indexing and querying.
+     */
+    public static List<String> tokenize(String text) {
+        return Job.tokenize(text);
+    }
+
+    /**
+     * @return whether the job was not indexed yet
+     */
+    public boolean add(long id, String title) {
+        boolean added = false;
+        for (String token : tokenize(title)) {
+            added |= postings.computeIfAbsent(token, t -> new Postings()).add(id);
+        }
+        return added;
+    }
+
+    /**
+     * Ids of the jobs matching every term of query, ascending; null when the
+     * index cannot answer (the initial load is still running in another
+     * thread, or more than maxCandidates jobs match) and the caller should
+     * filter some other way.
+     */
+    public long[] search(String query) {
+        if (!catchUp()) return null;
+
+        List<String> terms = tokenize(query);
+        if (terms.isEmpty()) return null;
+
+        long[] result = null;
+        for (String term : terms) {
+            long[] matches = union(postings.subMap(term, true, term + Character.MAX_VALUE, true).values());
+            result = result == null ? matches : intersect(result, matches);
+            if (result.length == 0) break;
+        }
+        return result.length > settings.getMaxCandidates() ? null : result;
+    }
+
+    public int size() {
+        return postings.size();
+    }
+
+    // -------- Sync --------
+    @TransactionalEventListener(fallbackExecution = true)
+    void onJobCreated(JobCreatedEvent event) {
+        Job job = event.job();
+        if (job.getId() != null) add(job.getId(), job.getTitle());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    void onJobsCreated(JobsCreatedEvent event) {
+        for (Job job : event.jobs()) {
+            if (job.getId() != null) add(job.getId(), job.getTitle());
+        }
+    }
+
+    /** Warm up at startup instead of on the first title search */
+    @EventListener(ApplicationReadyEvent.class)
+    void warmUp() {
+        catchUp();
+        log.info("Title index loaded: {} tokens, up to job id {}", postings.size(), maxLoadedId);
+    }
+
+    /**
+     * Re-read every title and index the ones missing, i.e. the rows that
+     * committed after catchUp() had moved past their id. Adding an indexed
+     * id again is a no-op, and searches keep running meanwhile.
+     */
+    @Scheduled(fixedDelayString = "${search.title-index.reconcile-interval-ms:300000}",
+            initialDelayString = "${search.title-index.reconcile-interval-ms:300000}")
+    void reconcile() {
+        long afterId = 0;
+        int added = 0;
+        List<JobRepository.JobTitle> batch;
+        do {
+            batch = jobRepository.findTitlesAfter(afterId, Limit.of(settings.getLoadBatchSize()));
+            for (JobRepository.JobTitle row : batch) {
+                if (add(row.getId(), row.getTitle())) added++;
+                afterId = row.getId();
+            }
+        } while (batch.size() == settings.getLoadBatchSize());
+        if (added > 0) log.info("Title index reconciled: {} jobs added late", added);
+    }
+
+    /**
+     * Index the rows added since the last call. Returns false only while
+     * another thread does the first (possibly long) load; later searches do
+     * not wait for a concurrent catch-up and may miss the newest rows.
+     */
+    private boolean catchUp() {
+        if (!loadLock.tryLock()) {
+            return loaded;
+        }
+        try {
+            List<JobRepository.JobTitle> batch;
+            do {
+                batch = jobRepository.findTitlesAfter(maxLoadedId, Limit.of(settings.getLoadBatchSize()));
+                for (JobRepository.JobTitle row : batch) {
+                    add(row.getId(), row.getTitle());
+                    maxLoadedId = Math.max(maxLoadedId, row.getId());
+                }
+            } while (batch.size() == settings.getLoadBatchSize());
+            loaded = true;
+            return true;
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // -------- Postings --------
+    /**
+     * Sorted, duplicate-free ids. Ids arrive almost always in increasing
+     * order, so adding is an append.
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        /** false when id was already there */
+        synchronized boolean add(long id) {
+            int pos = size == 0 || ids[size - 1] < id ? size : Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                pos = -pos - 1;
+            } else if (pos < size) {
+                return false;
+            }
+            if (size == ids.length) ids = Arrays.copyOf(ids, size * 2);
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+            return true;
+        }
+
+        synchronized long[] snapshot() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+
+    private static long[] union(Collection<Postings> lists) {
+        if (lists.isEmpty()) return new long[0];
+        if (lists.size() == 1) return lists.iterator().next().snapshot();
+
+        long[][] parts = new long[lists.size()][];
+        int total = 0, i = 0;
+        for (Postings p : lists) {
+            parts[i] = p.snapshot();
+            total += parts[i++].length;
+        }
+        long[] all = new long[total];
+        int at = 0;
+        for (long[] part : parts) {
+            System.arraycopy(part, 0, all, at, part.length);
+            at += part.length;
+        }
+        Arrays.sort(all);
+        int n = 0;
+        for (int k = 0; k < all.length; k++) {
+            if (n == 0 || all[n - 1] != all[k]) all[n++] = all[k];
+        }
+        return Arrays.copyOf(all, n);
+    }
+
+    private static long[] intersect(long[] a, long[] b) {
+        long[] out = new long[Math.min(a.length, b.length)];
+        int i = 0, j = 0, n = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) i++;
+            else if (a[i] > b[j]) j++;
+            else {
+                out[n++] = a[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+}
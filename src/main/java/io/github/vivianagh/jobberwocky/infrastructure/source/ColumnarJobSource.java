@@ -0,0 +1,69 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
+import io.github.vivianagh.jobberwocky.domain.port.JobSource;
+import io.github.vivianagh.jobberwocky.infrastructure.repository.JobRepository;
+import io.github.vivianagh.jobberwocky.infrastructure.search.ColumnarJobIndex;
+import io.github.vivianagh.jobberwocky.infrastructure.search.TitleIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * The internal catalogue served from ColumnarJobIndex instead of SQL
+ * (search.columnar.enabled=true). Takes the place of the InternalJobSource
+ * bean, under the same source name, and keeps a private one to answer while
+ * the snapshot is still loading.
+ *
+ * Windows are cut in memory by the JobSource defaults (bounded-heap top-k).
+ */
+@Component
+@Slf4j
+@ConditionalOnExpression("${sources.internal.enabled:true} and ${search.columnar.enabled:false}")
+public class ColumnarJobSource implements JobSource {
+
+    private final ColumnarJobIndex index;
+    private final InternalJobSource database;
+
+    @Autowired
+    public ColumnarJobSource(ColumnarJobIndex index, JobRepository jobRepository, @Nullable TitleIndex titleIndex) {
+        this(index, new InternalJobSource(jobRepository, titleIndex));
+    }
+
+    ColumnarJobSource(ColumnarJobIndex index, InternalJobSource database) {
+        this.index = index;
+        this.database = database;
+    }
+
+    @Override
+    public List<Job> searchJobs(JobSearchCriteria criteria) {
+        if (criteria == null) return List.of();
+
+        List<Job> jobs = index.search(criteria);
+        if (jobs == null) {
+            log.debug("Columnar index still loading, searching the database");
+            return database.searchJobs(criteria);
+        }
+        return jobs;
+    }
+
+    @Override
+    public SearchResult search(JobSearchCriteria criteria, SearchWindow window) {
+        if (criteria == null) return SearchResult.empty();
+        // Keep SQL paging (LIMIT, keyset) until the snapshot can answer
+        if (!index.isLoaded()) return database.search(criteria, window);
+        return JobSource.super.search(criteria, window);
+    }
+
+    @Override
+    public String getSourceName() {
+        return "INTERNAL";
+    }
+}
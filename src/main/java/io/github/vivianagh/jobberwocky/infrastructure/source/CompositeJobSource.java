@@ -1,22 +1,53 @@
 package io.github.vivianagh.jobberwocky.infrastructure.source;
 
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
 import io.github.vivianagh.jobberwocky.domain.model.Job;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.JobSort;
+import io.github.vivianagh.jobberwocky.domain.model.SearchCursor;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
 import io.github.vivianagh.jobberwocky.domain.port.JobSource;
+import io.github.vivianagh.jobberwocky.exception.SourceSaturatedException;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.CallDeadline;
+import io.github.vivianagh.jobberwocky.infrastructure.health.SourceBulkheads;
+import io.github.vivianagh.jobberwocky.infrastructure.health.SourceHealthRegistry;
+import io.github.vivianagh.jobberwocky.infrastructure.search.LongIntMap;
+import io.github.vivianagh.jobberwocky.infrastructure.search.SearchResultCache;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Primary;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 
-import java.math.BigDecimal;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Add pattern Facade/Composite for multiples JobSource.
  * - Adding a new source does not change the controller (OCP)
  * - Keeps the controller depending on the port (JobSource) only (DIP)
- * - Dedup order: externalId -> id -> contentKey(title|country|salary)
+ * - Dedup order: externalId -> id -> content(title|country|salary), compared
+ *   as 64-bit fingerprints (JobFingerprint); optionally near duplicates
+ *   across sources too (NearDuplicateDetector)
  * - prefer INTERNAL over others when duplicates collide
+ * - Sources are queried in parallel (virtual threads) under a request-wide
+ *   deadline; late or failing sources are dropped and reported in the result
+ * - Availability comes from SourceHealthRegistry (circuit breaker per source),
+ *   never from a health check on the request path
+ * - Repeated searches are answered from SearchResultCache (optional)
+ * - Concurrent identical searches share one call per source (SingleFlight),
+ *   and its outcome counts once on the source's breaker
+ * - Each source gets the part of the query it can answer (QueryPlanner):
+ *   filters it does not apply are checked here, and sources expected to
+ *   answer after the deadline, or that would cut their answer short before
+ *   those filters, are not called
+ * - Calls to each source are bounded (SourceBulkheads): a saturated source
+ *   is skipped at once, like a late one, instead of holding the search
  */
 @Component
 @Primary
@@ -24,49 +55,204 @@ import java.util.*;
 public class CompositeJobSource implements JobSource {
 
     private final List<JobSource> sources;
+    private final SourcesProperties properties;
+    private final SourceHealthRegistry health;
+    private final SearchResultCache cache;
+    private final SourceBulkheads bulkheads;
+    private final NearDuplicateDetector nearDuplicates;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SingleFlight<FlightKey, SearchResult> flights = new SingleFlight<>(executor);
 
     public CompositeJobSource(List<JobSource> sources) {
+        this(sources, new SourcesProperties());
+    }
+
+    public CompositeJobSource(List<JobSource> sources, SourcesProperties properties) {
+        this(sources, properties, new SourceHealthRegistry(properties));
+    }
+
+    public CompositeJobSource(List<JobSource> sources, SourcesProperties properties, SourceHealthRegistry health) {
+        this(sources, properties, health, null);
+    }
+
+    public CompositeJobSource(List<JobSource> sources, SourcesProperties properties, SourceHealthRegistry health,
+                              @Nullable SearchResultCache cache) {
+        this(sources, properties, health, cache, new SourceBulkheads(properties));
+    }
+
+    /**
+     * @param cache optional; without it every search reaches the sources
+     */
+    @Autowired
+    public CompositeJobSource(List<JobSource> sources, SourcesProperties properties, SourceHealthRegistry health,
+                              @Nullable SearchResultCache cache, SourceBulkheads bulkheads) {
         // Avoiding including ourselves
         this.sources = sources.stream()
                 .filter(ds -> !(ds instanceof CompositeJobSource))
                 .toList();
+        this.properties = properties;
+        this.health = health;
+        this.cache = cache;
+        this.bulkheads = bulkheads;
+        this.nearDuplicates = properties.getNearDuplicates().isEnabled()
+                ? new NearDuplicateDetector(properties.getNearDuplicates())
+                : null;
     }
 
     @Override
     public List<Job> searchJobs(JobSearchCriteria criteria) {
-        if (criteria == null) return List.of();
+        return search(criteria).jobs();
+    }
 
-        List<Job> aggregated = new ArrayList<>();
+    @Override
+    public SearchResult search(JobSearchCriteria criteria) {
+        return search(criteria, SearchWindow.ALL);
+    }
 
-        for (JobSource src : sources) {
-            if (!safeIsAvailable(src)) continue;
-            try {
-                List<Job> partial = src.searchJobs(criteria);
-                if (partial != null && !partial.isEmpty()) {
-                    aggregated.addAll(partial);
+    /**
+     * Windowed search: every source is asked only for its top (offset + limit)
+     * rows in the requested order, and those are merged. This is enough to
+     * build the requested page, so memory and I/O grow with the page depth
+     * instead of the catalogue size.
+     *
+     * total is the sum of the sources' totals minus the duplicates seen while
+     * merging; duplicates beyond the fetched windows cannot be detected.
+     *
+     * Cursor windows are passed through as is: each source seeks past its own
+     * position and returns limit rows. The next cursor moves every source to
+     * the last of its rows that made it into (or was merged into) the page.
+     *
+     * Complete results are served from SearchResultCache when one is configured.
+     */
+    @Override
+    public SearchResult search(JobSearchCriteria criteria, SearchWindow window) {
+        if (criteria == null) return SearchResult.empty();
+        if (cache == null) return searchSources(criteria, window);
+
+        JobSearchCriteria key = criteria.canonical();
+        SearchResult cached = cache.get(key, window);
+        if (cached != null) return cached;
+
+        long generation = cache.generation();
+        SearchResult result = searchSources(criteria, window);
+        cache.put(key, window, result, generation);
+        return result;
+    }
+
+    /**
+     * Jobs handed over source by source, as each answers (in parallel, under
+     * the same deadline, breakers and bulkheads as search), so the first
+     * ones do not wait for the slowest source.
+     *
+     * Deduplicated by fingerprint as they arrive: the first copy wins, as
+     * one already handed over cannot be replaced by a later INTERNAL one,
+     * and near duplicates are not folded. A complete cached search is handed
+     * over at once instead.
+     */
+    @Override
+    public SearchResult stream(JobSearchCriteria criteria, Consumer<List<Job>> onJobs) {
+        if (criteria == null) return SearchResult.empty();
+        SearchResult cached = cache == null ? null : cache.get(criteria.canonical(), SearchWindow.ALL);
+        if (cached != null) {
+            if (!cached.jobs().isEmpty()) onJobs.accept(cached.jobs());
+            return new SearchResult(List.of(), cached.total(), cached.respondedSources(), cached.droppedSources());
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getDeadlineMs());
+        FanOut out = new FanOut();
+        List<QueryPlanner.Plan> plans = permitted(out).stream()
+                .map(src -> QueryPlanner.plan(src, criteria, SearchWindow.ALL))
+                .toList();
+
+        CompletionService<SearchResult> answers = new ExecutorCompletionService<>(executor);
+        Map<JobSource, Future<SearchResult>> running = submit(out, plans, SearchWindow.ALL, deadline, answers::submit);
+        Map<Future<SearchResult>, JobSource> sourceOf = new IdentityHashMap<>();
+        running.forEach((src, future) -> sourceOf.put(future, src));
+
+        LongIntMap seen = new LongIntMap(64);
+        long duplicates = 0;
+        boolean abandoned = true;
+        try {
+            while (!running.isEmpty()) {
+                Future<SearchResult> done = answers.poll(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (done == null) break;
+                JobSource src = sourceOf.get(done);
+                running.remove(src);
+                SearchResult partial = await(out, src, done, deadline);
+                if (partial == null) continue;
+
+                List<Job> fresh = new ArrayList<>(partial.jobs().size());
+                for (Job j : partial.jobs()) {
+                    if (seen.put(JobFingerprint.of(j), 0) == LongIntMap.MISSING) fresh.add(j);
+                }
+                duplicates += partial.jobs().size() - fresh.size();
+                if (!fresh.isEmpty()) onJobs.accept(fresh);
+            }
+            abandoned = false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            abandoned = false;
+        } finally {
+            for (Map.Entry<JobSource, Future<SearchResult>> entry : running.entrySet()) {
+                if (abandoned) {
+                    // onJobs threw (the client went away): not the sources' fault
+                    entry.getValue().cancel(true);
+                    health.release(entry.getKey());
+                } else {
+                    // Still running: missed the deadline
+                    await(out, entry.getKey(), entry.getValue(), System.nanoTime());
                 }
-            } catch (Exception e) {
-                log.error("Error searching jobs", e);
             }
         }
-        // 2) Deduplicate with a predictable, explainable policy
-        //    Key priority: externalId -> id -> contentKey(title|country|salary)
+        return new SearchResult(List.of(), Math.max(0, out.total - duplicates), out.responded, out.dropped);
+    }
+
+    private SearchResult searchSources(JobSearchCriteria criteria, SearchWindow window) {
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getDeadlineMs());
+        FanOut fanOut = new FanOut();
+        List<JobSource> candidates = permitted(fanOut);
+
+        // 1) Plan each source's part of the query, from what it says it can do
+        SearchWindow perSource = window.cursor() != null ? window : SearchWindow.top(window.end(), window.sort());
+        List<QueryPlanner.Plan> plans = candidates.stream()
+                .map(src -> QueryPlanner.plan(src, criteria, perSource))
+                .toList();
+
+        // 2) Fan out: every source runs at once, so the search costs as much as the slowest source
+        if (properties.isParallel()) {
+            fanOutParallel(fanOut, plans, perSource, deadline);
+        } else {
+            fanOutSequential(fanOut, plans, perSource, deadline);
+        }
+
+        // 3) Deduplicate with a predictable, explainable policy
+        //    Key priority: externalId -> id -> content(title|country|salary), as a 64-bit JobFingerprint
         //     prefer INTERNAL over others
-        Map<String, Job> unique = new LinkedHashMap<>();
-        for (Job j : aggregated) {
-            String key = dedupKey(j);
-            Job current = unique.get(key);
-            if (current == null) {
-                unique.put(key, j);
+        List<Job> unique = new ArrayList<>(fanOut.aggregated.size());
+        LongIntMap slotByKey = new LongIntMap(fanOut.aggregated.size());
+        for (Job j : fanOut.aggregated) {
+            long key = JobFingerprint.of(j);
+            int slot = slotByKey.get(key);
+            if (slot == LongIntMap.MISSING) {
+                slotByKey.put(key, unique.size());
+                unique.add(j);
             } else {
-                // If duplicate, keep INTERNAL over non-INTERNAL
-                if (isInternal(j) && !isInternal(current)) {
-                    unique.put(key, j);
+                // If duplicate, keep INTERNAL over non-INTERNAL, in the first one's place
+                if (isInternal(j) && !isInternal(unique.get(slot))) {
+                    unique.set(slot, j);
                 }
             }
         }
+        //    Then, optionally, the same posting under another title in another source
+        List<Job> folded = new ArrayList<>();
+        if (nearDuplicates != null) unique = foldNearDuplicates(unique, folded);
+        int duplicates = fanOut.aggregated.size() - unique.size();
 
-        return new ArrayList<>(unique.values());
+        // 4) Merge the per-source windows and cut the requested one
+        List<Job> merged = window.apply(unique);
+        return new SearchResult(merged, Math.max(0, fanOut.total - duplicates), fanOut.responded, fanOut.dropped,
+                nextCursor(window, fanOut, merged, folded));
     }
 
     @Override
@@ -76,63 +262,326 @@ public class CompositeJobSource implements JobSource {
 
     @Override
     public boolean isAvailable() {
-        // Composite is "available" if at least one source is available
+        // Composite is "available" if at least one source's breaker lets calls through
         for (JobSource s : sources) {
-            if (safeIsAvailable(s)) return true;
+            if (health.isCallPermitted(s)) return true;
         }
         return false;
     }
 
-    // -------- Helpers --------
-    private boolean safeIsAvailable(JobSource s) {
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    // -------- Fan-out --------
+    private static final class FanOut {
+        final List<Job> aggregated = new ArrayList<>();
+        final List<String> responded = new ArrayList<>();
+        final List<String> dropped = new ArrayList<>();
+        final Map<String, List<Job>> bySource = new LinkedHashMap<>();
+        // Sources whose answer came from a call another search made (SingleFlight)
+        final Set<JobSource> shared = ConcurrentHashMap.newKeySet();
+        long total;
+        boolean sourcesHaveMore;
+    }
+
+    /**
+     * Sources whose breaker lets this search call them. Open breakers are
+     * skipped right away instead of waiting for a timeout, and reported as
+     * dropped: the result is missing their jobs all the same.
+     */
+    private List<JobSource> permitted(FanOut out) {
+        List<JobSource> permitted = new ArrayList<>(sources.size());
+        for (JobSource src : sources) {
+            if (health.tryAcquire(src)) {
+                permitted.add(src);
+            } else {
+                log.debug("Source {} circuit is open, skipping it", src.getSourceName());
+                out.dropped.add(src.getSourceName());
+            }
+        }
+        return permitted;
+    }
+
+    private void fanOutParallel(FanOut out, List<QueryPlanner.Plan> plans, SearchWindow window, long deadline) {
+        Map<JobSource, Future<SearchResult>> running = submit(out, plans, window, deadline, executor::submit);
+
+        // Collect in source order so dedup precedence does not depend on timing
+        for (Map.Entry<JobSource, Future<SearchResult>> entry : running.entrySet()) {
+            await(out, entry.getKey(), entry.getValue(), deadline);
+        }
+    }
+
+    /** Starts every plan that fits before the deadline, skipping the others */
+    private Map<JobSource, Future<SearchResult>> submit(FanOut out, List<QueryPlanner.Plan> plans, SearchWindow window,
+                                                        long deadline,
+                                                        Function<Callable<SearchResult>, Future<SearchResult>> start) {
+        Map<JobSource, Future<SearchResult>> running = new LinkedHashMap<>();
+        for (QueryPlanner.Plan plan : plans) {
+            if (!plan.complete() || !plan.fits(deadline - System.nanoTime())) {
+                skip(out, plan);
+                continue;
+            }
+            running.put(plan.source(), start.apply(() -> fetch(out, plan, window, deadline)));
+        }
+        return running;
+    }
+
+    /**
+     * Waits, until the deadline, for a started source and collects its
+     * answer. Null when it was dropped (or answered nothing).
+     */
+    private SearchResult await(FanOut out, JobSource src, Future<SearchResult> future, long deadline) {
+        String name = src.getSourceName();
         try {
-            return s != null && s.isAvailable();
-        } catch (Exception ex) {
-            return false;
+            long remaining = Math.max(0, deadline - System.nanoTime());
+            SearchResult partial = future.get(remaining, TimeUnit.NANOSECONDS);
+            collect(out, src, partial);
+            return partial;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            log.warn("Source {} missed the search deadline ({} ms), dropping it", name, properties.getDeadlineMs());
+            timedOut(out, src);
+            out.dropped.add(name);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                // Gave up waiting for a coalesced call
+                log.warn("Source {} missed the search deadline ({} ms), dropping it", name, properties.getDeadlineMs());
+                timedOut(out, src);
+            } else if (e.getCause() instanceof SourceSaturatedException saturated) {
+                saturated(src, saturated);
+            } else {
+                log.error("Error searching jobs", e.getCause());
+                failed(out, src);
+            }
+            out.dropped.add(name);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            timedOut(out, src);
+            out.dropped.add(name);
         }
+        return null;
     }
 
-    private boolean isInternal(Job j) {
-        String src = j != null ? j.getSource() : null;
-        return src != null && src.equalsIgnoreCase("INTERNAL");
+    /**
+     * Cheapest sources first, so a slow one does not eat the time of those
+     * that would have answered; results are still collected in source order.
+     */
+    private void fanOutSequential(FanOut out, List<QueryPlanner.Plan> plans, SearchWindow window, long deadline) {
+        Map<QueryPlanner.Plan, SearchResult> answered = new IdentityHashMap<>();
+        for (QueryPlanner.Plan plan : plans.stream().sorted(QueryPlanner.Plan.CHEAPEST_FIRST).toList()) {
+            JobSource src = plan.source();
+            String name = src.getSourceName();
+            if (System.nanoTime() - deadline >= 0) {
+                log.warn("Search deadline ({} ms) reached, skipping source {}", properties.getDeadlineMs(), name);
+                // Not the source's fault: give the permit back without recording an outcome
+                health.release(src);
+                out.dropped.add(name);
+                continue;
+            }
+            if (!plan.complete() || !plan.fits(deadline - System.nanoTime())) {
+                skip(out, plan);
+                continue;
+            }
+            try {
+                answered.put(plan, fetch(out, plan, window, deadline));
+            } catch (TimeoutException e) {
+                log.warn("Source {} missed the search deadline ({} ms), dropping it", name, properties.getDeadlineMs());
+                timedOut(out, src);
+                out.dropped.add(name);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                timedOut(out, src);
+                out.dropped.add(name);
+            } catch (SourceSaturatedException e) {
+                saturated(src, e);
+                out.dropped.add(name);
+            } catch (Exception e) {
+                log.error("Error searching jobs", e);
+                failed(out, src);
+                out.dropped.add(name);
+            }
+        }
+        for (QueryPlanner.Plan plan : plans) {
+            if (answered.containsKey(plan)) collect(out, plan.source(), answered.get(plan));
+        }
+    }
+
+    private void failed(FanOut out, JobSource src) {
+        if (out.shared.contains(src)) {
+            health.release(src);
+        } else {
+            health.recordFailure(src);
+        }
+    }
+
+    private void timedOut(FanOut out, JobSource src) {
+        if (out.shared.contains(src)) {
+            health.release(src);
+        } else {
+            health.recordTimeout(src);
+        }
+    }
+
+    /** A source not called because its bulkhead was full */
+    private void saturated(JobSource src, SourceSaturatedException e) {
+        // Counted in sources.bulkhead.rejected; logged per search only at debug, as it happens under load
+        log.debug("{}, skipping it", e.getMessage());
+        // Not the source's fault: give the permit back without recording an outcome
+        health.release(src);
     }
 
     /**
-     * Build a stable dedup key using the following precedence:
-     * 1) externalId if present (works across processes/DBs)
-     * 2) id (DB PK, only valid for internal persisted jobs)
-     * 3) contentKey(title|country|salary) as a fallback
+     * A source not called because it could not return every match (see
+     * QueryPlanner), or is expected to answer after the deadline
      */
-    private String dedupKey(Job j) {
-        if (j == null) return "null";
-        if (j.getExternalId() != null && !j.getExternalId().isBlank()) {
-            return "EXT::" + j.getExternalId().trim();
+    private void skip(FanOut out, QueryPlanner.Plan plan) {
+        JobSource src = plan.source();
+        if (!plan.complete()) {
+            // Every search using a filter it lacks gets here: debug only
+            log.debug("Source {} caps its answer before {} could be checked on it; skipping it",
+                    src.getSourceName(), plan.residual());
+        } else {
+            log.warn("Source {} usually answers in {} ms, after the search deadline ({} ms); skipping it",
+                    src.getSourceName(), plan.costMs(), properties.getDeadlineMs());
         }
-        if (j.getId() != null) {
-            return "ID::" + j.getId();
+        // Not a failure: give the permit back without recording an outcome
+        health.release(src);
+        out.dropped.add(src.getSourceName());
+    }
+
+    /**
+     * One source's answer. With coalescing on, callers asking the same source
+     * the same thing at the same time share a single call, each waiting no
+     * longer than its own deadline.
+     *
+     * The source runs under the deadline as its CallDeadline, so its outbound
+     * calls can fit in it (a shared call gets the deadline of the caller that
+     * started it), within its bulkhead: only calls actually made take a
+     * permit, not the callers sharing them. Likewise only the caller that
+     * started a call records its outcome on the breaker; the others just give
+     * their breaker permit back, so one failed call counts once.
+     */
+    private SearchResult fetch(FanOut out, QueryPlanner.Plan plan, SearchWindow window, long deadline)
+            throws Exception {
+        Callable<SearchResult> call = () -> CallDeadline.run(deadline,
+                () -> bulkheads.call(plan.source(), deadline, () -> call(plan, window)));
+        if (!properties.isCoalesce()) return call.call();
+        FlightKey key = new FlightKey(plan.source().getSourceName(), plan.criteria().canonical(),
+                plan.residual() == null ? null : plan.residual().canonical(), window);
+        try {
+            return flights.run(key, call, deadline, () -> out.shared.add(plan.source()));
+        } catch (ExecutionException e) {
+            // Same failure as an uncoalesced call
+            throw e.getCause() instanceof Exception cause ? cause : e;
+        }
+    }
+
+    private record FlightKey(String source, JobSearchCriteria criteria, JobSearchCriteria residual,
+                             SearchWindow window) {
+    }
+
+    private SearchResult call(QueryPlanner.Plan plan, SearchWindow window) {
+        JobSource src = plan.source();
+        if (!plan.pushWindow()) {
+            // The source cannot take the whole query: window (and residual filters) applied here
+            List<Job> all = src.searchJobs(plan.criteria());
+            if (all != null && plan.residual() != null) {
+                all = all.stream().filter(plan.residual()::matchesExactly).toList();
+            }
+            return JobSource.windowOf(src.getSourceName(), all, window);
+        }
+        // No hints to push down: plain search
+        if (window.isUnbounded() && window.sort() == null) {
+            return SearchResult.of(src.getSourceName(), src.searchJobs(plan.criteria()));
+        }
+        return src.search(plan.criteria(), window);
+    }
+
+    private void collect(FanOut out, JobSource src, SearchResult partial) {
+        if (out.shared.contains(src)) {
+            health.release(src);
+        } else {
+            health.recordSuccess(src);
+        }
+        if (partial != null) {
+            out.aggregated.addAll(partial.jobs());
+            out.bySource.put(src.getSourceName(), partial.jobs());
+            out.total += partial.total();
+            out.sourcesHaveMore |= partial.next() != null;
+        }
+        out.responded.add(src.getSourceName());
+    }
+
+    /**
+     * Jobs with the near duplicates of earlier ones removed (and added to
+     * folded), INTERNAL still winning: an INTERNAL near duplicate takes the
+     * place of the job it duplicates.
+     */
+    private List<Job> foldNearDuplicates(List<Job> jobs, List<Job> folded) {
+        int[] representative = nearDuplicates.representatives(jobs);
+        int[] slot = new int[jobs.size()];
+        List<Job> kept = new ArrayList<>(jobs.size());
+        for (int i = 0; i < jobs.size(); i++) {
+            Job j = jobs.get(i);
+            if (representative[i] == i) {
+                slot[i] = kept.size();
+                kept.add(j);
+                continue;
+            }
+            int s = slot[representative[i]];
+            if (isInternal(j) && !isInternal(kept.get(s))) {
+                folded.add(kept.set(s, j));
+            } else {
+                folded.add(j);
+            }
         }
-        return "CNT::" + contentKey(j.getTitle(), j.getCountry(), j.getSalary());
+        return kept;
     }
 
+    // -------- Keyset --------
     /**
-     * Very basic content-based key:
-     * - normalize title (lowercase alnum)
-     * - lowercase country
-     * - normalize salary to plain string
+     * A source's rows come back in sort order, so its new position is the end
+     * of the leading run of rows that sort at or before the last row of the
+     * page, or that were deduplicated into a row of the page. Sources that
+     * contributed nothing (or were dropped) keep their previous position.
      *
-     * This is a pragmatic fallback when neither externalId nor id exists.
+     * Near duplicates count as emitted wherever their job landed: the job
+     * that stood for them is on this page or, sorting later, on a next one.
      */
-    private String contentKey(String title, String country, BigDecimal salary) {
-        String t = normalizeTitle(title);
-        String c = country == null ? "" : country.trim().toLowerCase(Locale.ROOT);
-        String s = salary == null ? "" : salary.toPlainString();
-        return t + "|" + c + "|" + s;
-    }
-
-    private String normalizeTitle(String title) {
-        if (title == null) return "";
-        // Keep letters/digits, lowercase, and collapse spaces
-        String base = title.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9\\s]", " ");
-        return base.trim().replaceAll("\\s+", " ");
+    private SearchCursor nextCursor(SearchWindow window, FanOut fanOut, List<Job> page, List<Job> folded) {
+        JobSort sort = window.sort();
+        if (sort == null || page.isEmpty()) return null;
+
+        Comparator<Job> order = sort.comparator();
+        Job last = page.get(page.size() - 1);
+        LongIntMap emitted = new LongIntMap(page.size() + folded.size());
+        for (Job j : page) emitted.put(JobFingerprint.of(j), 0);
+        for (Job j : folded) emitted.put(JobFingerprint.of(j), 0);
+
+        SearchCursor next = window.cursor() != null ? window.cursor() : SearchCursor.start(sort);
+        boolean hasMore = fanOut.sourcesHaveMore;
+        for (Map.Entry<String, List<Job>> entry : fanOut.bySource.entrySet()) {
+            Job consumed = null;
+            for (Job j : entry.getValue()) {
+                if (order.compare(j, last) > 0 && emitted.get(JobFingerprint.of(j)) == LongIntMap.MISSING) {
+                    hasMore = true;
+                    break;
+                }
+                consumed = j;
+            }
+            if (consumed != null) {
+                next = next.with(entry.getKey(), SearchCursor.Position.of(sort, consumed));
+            }
+        }
+        return hasMore ? next : null;
+    }
+
+    // -------- Helpers --------
+    private boolean isInternal(Job j) {
+        String src = j != null ? j.getSource() : null;
+        return src != null && src.equalsIgnoreCase("INTERNAL");
     }
 }
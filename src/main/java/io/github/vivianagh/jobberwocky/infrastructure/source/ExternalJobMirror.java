@@ -0,0 +1,226 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.ExternalJobApiClient;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.ExternalJobResponseAdapter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+import java.util.stream.Stream;
+
+/**
+ * In-memory copy of the whole external catalogue, so external searches are
+ * a local lookup instead of an HTTP call, and survive an outage of the API.
+ *
+ * - Pulled in full (GET /jobs, no filters) every refreshIntervalMs
+ * - Stale-while-revalidate: a copy older than staleAfterMs is still served,
+ *   and the search starts a background refresh (at most one at a time, and
+ *   not more often than retryIntervalMs)
+ * - A copy older than maxStaleMs is not served: search() returns null and
+ *   the caller asks the API itself, as it does before the first pull
+ * - A failed or malformed pull keeps the previous copy
+ *
+ * With snapshotFile set, each good feed is also written to disk (as
+ * received) and read back at startup, so a restart during an outage still
+ * has the last copy.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "sources.external.mirror", name = "enabled", havingValue = "true")
+public class ExternalJobMirror {
+
+    private static final JobSearchCriteria EVERYTHING = JobSearchCriteria.builder().build();
+
+    private record Snapshot(List<Job> jobs, long refreshedAt) {
+    }
+
+    private final ExternalJobApiClient apiClient;
+    private final ExternalJobResponseAdapter responseAdapter;
+    private final SourcesProperties.Mirror settings;
+    private final LongSupplier clock;   // epoch millis, so snapshot file times compare
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private volatile long lastAttemptAt = Long.MIN_VALUE;
+    private volatile Snapshot snapshot;
+
+    @Autowired
+    public ExternalJobMirror(ExternalJobApiClient apiClient, ExternalJobResponseAdapter responseAdapter,
+                             SourcesProperties properties) {
+        this(apiClient, responseAdapter, properties, System::currentTimeMillis);
+    }
+
+    ExternalJobMirror(ExternalJobApiClient apiClient, ExternalJobResponseAdapter responseAdapter,
+                      SourcesProperties properties, LongSupplier clock) {
+        this.apiClient = apiClient;
+        this.responseAdapter = responseAdapter;
+        this.settings = properties.getExternal().getMirror();
+        this.clock = clock;
+    }
+
+    /**
+     * Mirrored jobs matching criteria, filtered as the API does (see
+     * matchesRemote); null when there is no copy recent enough to serve.
+     */
+    public List<Job> search(JobSearchCriteria criteria) {
+        Snapshot current = snapshot;
+        long now = clock.getAsLong();
+        if (current == null || tooOld(current, now)) {
+            revalidate(now);
+            return null;
+        }
+        if (now - current.refreshedAt() > settings.getStaleAfterMs()) {
+            revalidate(now);
+        }
+        return current.jobs().stream().filter(job -> matchesRemote(criteria, job)).toList();
+    }
+
+    /** Whether search() currently answers */
+    public boolean isServing() {
+        Snapshot current = snapshot;
+        return current != null && !tooOld(current, clock.getAsLong());
+    }
+
+    public int size() {
+        Snapshot current = snapshot;
+        return current == null ? 0 : current.jobs().size();
+    }
+
+    /**
+     * Pulls the full feed and swaps it in. Returns false when it failed (the
+     * previous copy stays) or another refresh was already running.
+     */
+    public boolean refresh() {
+        if (!refreshing.compareAndSet(false, true)) return false;
+        lastAttemptAt = clock.getAsLong();
+        try {
+            long started = System.nanoTime();
+            List<Job> jobs = apiClient.fetchJobs(EVERYTHING, this::read);
+            install(new Snapshot(jobs, clock.getAsLong()));
+            log.info("External catalogue mirrored: {} jobs in {} ms", jobs.size(), (System.nanoTime() - started) / 1_000_000);
+            return true;
+        } catch (Exception e) {
+            log.warn("External catalogue refresh failed, keeping the previous copy ({} jobs): {}", size(), e.getMessage());
+            return false;
+        } finally {
+            refreshing.set(false);
+        }
+    }
+
+    // -------- Scheduling --------
+    @Scheduled(fixedDelayString = "${sources.external.mirror.refresh-interval-ms:300000}")
+    void scheduledRefresh() {
+        refresh();
+    }
+
+    /** Serve the last feed written to disk until the first pull completes */
+    @EventListener(ApplicationReadyEvent.class)
+    void loadSnapshotFile() {
+        Path file = snapshotFile();
+        if (file == null || !Files.isReadable(file)) return;
+        try (InputStream in = Files.newInputStream(file); Stream<Job> jobs = responseAdapter.stream(in, true)) {
+            install(new Snapshot(jobs.toList(), Files.getLastModifiedTime(file).toMillis()));
+            log.info("External catalogue loaded from {}: {} jobs", file, size());
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Could not read external catalogue snapshot {}: {}", file, e.getMessage());
+        }
+    }
+
+    // -------- Helpers --------
+    /**
+     * The API's own filters: title contains the name, same country, salary
+     * within [min, max], all case and space insensitive. Skills are not
+     * filtered by the API; the composite checks them (or ExternalJobSource,
+     * when asked for them directly).
+     */
+    static boolean matchesRemote(JobSearchCriteria criteria, Job job) {
+        if (criteria == null) return true;
+        if (hasText(criteria.title())) {
+            String title = Job.normalize(job.getTitle());
+            if (title == null || !title.contains(Job.normalize(criteria.title()))) return false;
+        }
+        if (hasText(criteria.country())
+                && !Job.normalize(criteria.country()).equals(Job.normalize(job.getCountry()))) {
+            return false;
+        }
+        BigDecimal salary = job.getSalary();
+        if (criteria.minSalary() != null && (salary == null || salary.compareTo(criteria.minSalary()) < 0)) return false;
+        return criteria.maxSalary() == null || (salary != null && salary.compareTo(criteria.maxSalary()) <= 0);
+    }
+
+    private List<Job> read(InputStream body) {
+        Path file = snapshotFile();
+        if (file == null) {
+            try (Stream<Job> jobs = responseAdapter.stream(body, true)) {
+                return jobs.toList();
+            }
+        }
+        // Download next to the snapshot, parse, and only then replace it
+        Path download = null;
+        try {
+            Path dir = file.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            download = Files.createTempFile(dir, file.getFileName().toString(), ".part");
+            Files.copy(body, download, StandardCopyOption.REPLACE_EXISTING);
+            List<Job> jobs;
+            try (InputStream in = Files.newInputStream(download); Stream<Job> stream = responseAdapter.stream(in, true)) {
+                jobs = stream.toList();
+            }
+            Files.move(download, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return jobs;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            if (download != null) {
+                try {
+                    Files.deleteIfExists(download);
+                } catch (IOException e) {
+                    log.debug("Could not delete {}: {}", download, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /** Keeps the newer of the current and the given copy */
+    private synchronized void install(Snapshot candidate) {
+        Snapshot current = snapshot;
+        if (current == null || candidate.refreshedAt() >= current.refreshedAt()) {
+            snapshot = new Snapshot(List.copyOf(candidate.jobs()), candidate.refreshedAt());
+        }
+    }
+
+    private void revalidate(long now) {
+        if (refreshing.get()) return;
+        long last = lastAttemptAt;
+        if (last != Long.MIN_VALUE && now - last < settings.getRetryIntervalMs()) return;
+        Thread.ofVirtual().name("external-mirror-refresh").start(this::refresh);
+    }
+
+    private boolean tooOld(Snapshot s, long now) {
+        return settings.getMaxStaleMs() > 0 && now - s.refreshedAt() > settings.getMaxStaleMs();
+    }
+
+    private Path snapshotFile() {
+        String file = settings.getSnapshotFile();
+        return hasText(file) ? Path.of(file) : null;
+    }
+
+    private static boolean hasText(String s) {
+        return s != null && !s.isBlank();
+    }
+}
@@ -1,49 +1,173 @@
 package io.github.vivianagh.jobberwocky.infrastructure.source;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
 import io.github.vivianagh.jobberwocky.domain.model.Job;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.SourceCapabilities;
 import io.github.vivianagh.jobberwocky.domain.port.JobSource;
+import io.github.vivianagh.jobberwocky.exception.ExternalSourceException;
 import io.github.vivianagh.jobberwocky.infrastructure.adapter.ExternalJobApiClient;
 import io.github.vivianagh.jobberwocky.infrastructure.adapter.ExternalJobResponseAdapter;
-import lombok.RequiredArgsConstructor;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.LatencyTracker;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 @ConditionalOnProperty(prefix = "sources.external", name = "enabled", havingValue = "true", matchIfMissing = true)
 public class ExternalJobSource implements JobSource {
 
     private final ExternalJobApiClient apiClient;
     private final ExternalJobResponseAdapter responseAdapter;
+    private final ExternalJobMirror mirror;
+    private final ExternalResultCache cache;
+    private final int maxResults;
+    private final long costTtlNanos;
+    // Live API calls only: answers from the mirror or the cache cost nothing
+    private final LatencyTracker liveLatency = new LatencyTracker(100, 5);
+    private volatile long lastLiveCall;
 
+    public ExternalJobSource(ExternalJobApiClient apiClient, ExternalJobResponseAdapter responseAdapter) {
+        this(apiClient, responseAdapter, new SourcesProperties());
+    }
+
+    public ExternalJobSource(ExternalJobApiClient apiClient, ExternalJobResponseAdapter responseAdapter,
+                             SourcesProperties properties) {
+        this(apiClient, responseAdapter, properties, null, null);
+    }
+
+    public ExternalJobSource(ExternalJobApiClient apiClient, ExternalJobResponseAdapter responseAdapter,
+                             SourcesProperties properties, @Nullable ExternalJobMirror mirror) {
+        this(apiClient, responseAdapter, properties, mirror, null);
+    }
+
+    /**
+     * @param mirror optional; when it has a recent enough copy of the
+     *               catalogue, searches are answered from it without calling the API
+     * @param cache optional; answers queries covered by a recent API answer
+     */
+    @Autowired
+    public ExternalJobSource(ExternalJobApiClient apiClient, ExternalJobResponseAdapter responseAdapter,
+                             SourcesProperties properties, @Nullable ExternalJobMirror mirror,
+                             @Nullable ExternalResultCache cache) {
+        this.apiClient = apiClient;
+        this.responseAdapter = responseAdapter;
+        this.mirror = mirror;
+        this.cache = cache;
+        this.maxResults = properties.getExternal().getMaxResults();
+        this.costTtlNanos = TimeUnit.MILLISECONDS.toNanos(properties.getExternal().getCostTtlMs());
+    }
+
+    /**
+     * The API's filters: title, country and salary, at most maxResults rows.
+     * It has no skill filter, so skill searches would be checked on a capped
+     * answer and the composite does not call it for them. While the mirror
+     * serves, skills are applied on the local copy too. Windows are not
+     * answered natively.
+     *
+     * Cost: nothing while the mirror serves, otherwise the median of recent
+     * live calls, until none was made for costTtlMs.
+     */
+    @Override
+    public SourceCapabilities capabilities() {
+        boolean local = mirror != null && mirror.isServing();
+        Set<SourceCapabilities.Filter> filters = EnumSet.of(SourceCapabilities.Filter.TITLE,
+                SourceCapabilities.Filter.COUNTRY, SourceCapabilities.Filter.SALARY);
+        if (local) filters.add(SourceCapabilities.Filter.SKILL);
+        SourceCapabilities capabilities = new SourceCapabilities(filters, false, false, 0, maxResults);
+        if (local) return capabilities;
+        if (System.nanoTime() - lastLiveCall > costTtlNanos) return capabilities;
+        long median = liveLatency.percentile(0.5);
+        return median < 0 ? capabilities : capabilities.withCostMs(TimeUnit.NANOSECONDS.toMillis(median));
+    }
 
     @Override
     public List<Job> searchJobs(JobSearchCriteria criteria) {
-        log.debug("Searching external jobs with criteria: {}", criteria);
-        try {
-            // Step 1: Call external API
-            String rawResponse = apiClient.fetchJobs(criteria);
+        return searchJobs(criteria, maxResults);
+    }
 
-            // Step 2: Transform messy format to our domain model
-            List<Job> jobs = responseAdapter.adapt(rawResponse);
+    /**
+     * Search returning at most limit matching jobs (0 = all). From the mirror
+     * or the result cache when they can answer; otherwise the response is
+     * parsed while it downloads and closed once limit jobs are found.
+     */
+    public List<Job> searchJobs(JobSearchCriteria criteria, int limit) {
+        log.debug("Searching external jobs with criteria: {} (limit {})", criteria, limit);
+        // The external API has no skill filter: skills are applied while reading
+        Predicate<Job> wanted = criteria != null && !criteria.skillKeys().isEmpty()
+                ? job -> criteria.matchesSkills(job.getSkills())
+                : job -> true;
 
-            // Step 3: Mark all jobs with external source
-            jobs.forEach(job -> job.setSource(getSourceName()));
+        long max = limit > 0 ? limit : Long.MAX_VALUE;
+
+        List<Job> local = mirror == null ? null : mirror.search(criteria);
+        if (local == null && cache != null) local = cache.get(criteria);
+        if (local != null) {
+            List<Job> jobs = local.stream().filter(wanted).limit(max).toList();
+            log.debug("Found {} jobs in the local copy of the external source", jobs.size());
+            return jobs;
+        }
+        long start = System.nanoTime();
+        try {
+            // Call external API and transform its messy format to our domain model, one job at a time
+            List<Job> jobs = apiClient.fetchJobs(criteria, body -> read(criteria, body, wanted, max));
 
             log.debug("Found {} jobs from external source", jobs.size());
             return jobs;
+        } catch (ExternalSourceException e) {
+            throw e;
         } catch (Exception e) {
-            log.error("Error fetching from external source: {}", e.getMessage(), e);
-            // Graceful degradation - don't fail entire search
-            // Return empty list and let other sources provide results
-            return List.of();
+            // Don't hide failures behind an empty list: the composite degrades
+            // gracefully, reports the source as dropped and feeds its circuit breaker
+            throw new ExternalSourceException("Failed to read external jobs", e);
+        } finally {
+            lastLiveCall = System.nanoTime();
+            liveLatency.record(lastLiveCall - start);
         }
+    }
 
+    /**
+     * The wanted jobs of the response, up to max. Everything read is also
+     * collected for the result cache, which only keeps complete answers: the
+     * body was read to its end, without a parse error.
+     */
+    private List<Job> read(JobSearchCriteria criteria, InputStream body, Predicate<Job> wanted, long max) {
+        List<Job> jobs = new ArrayList<>();
+        List<Job> answer = cache == null ? null : new ArrayList<>();
+        boolean complete = false;
+        // Strict, so a truncated body cannot pass for a complete answer
+        try (Stream<Job> stream = responseAdapter.stream(body, answer != null)) {
+            Iterator<Job> it = stream.iterator();
+            while (jobs.size() < max && it.hasNext()) {
+                Job job = it.next();
+                job.setSource(getSourceName());
+                if (answer != null && !cache.accepts(answer.size() + 1)) answer = null;   // too large to cache
+                if (answer != null) answer.add(job);
+                if (wanted.test(job)) jobs.add(job);
+            }
+            complete = answer != null && !it.hasNext();
+        } catch (UncheckedIOException e) {
+            if (!(e.getCause() instanceof JsonProcessingException)) throw e;
+            // Same as the lenient parser: keep the jobs read so far
+            log.error("Failed to parse external API response: {}", e.getCause().getMessage());
+        }
+        if (complete && answer != null) cache.put(criteria, answer);
+        return jobs;
     }
 
     @Override
@@ -53,6 +177,8 @@ public class ExternalJobSource implements JobSource {
 
     @Override
     public boolean isAvailable() {
+        // The mirror keeps answering while the API is down
+        if (mirror != null && mirror.isServing()) return true;
         try {
             return apiClient.healthCheck();
         } catch (Exception e) {
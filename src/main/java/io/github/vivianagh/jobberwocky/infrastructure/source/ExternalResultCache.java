@@ -0,0 +1,172 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of the external API's answers that also serves narrower queries.
+ *
+ * An entry holds everything the API returned for a query (title, country,
+ * salary range; the API ignores skills). A later query whose matches are
+ * necessarily among them is answered by filtering the entry locally, the
+ * way the API would (ExternalJobMirror#matchesRemote). An entry covers a
+ * query when, for each filter, the entry has none or the query's is
+ * narrower:
+ *
+ * - same country
+ * - salary range inside the entry's
+ * - title containing the entry's title (every title containing "java dev"
+ *   also contains "java")
+ *
+ * Of the covering entries the smallest is used. LRU beyond maxEntries, and
+ * entries expire after ttlMs. Metrics as SearchResultCache's, tagged
+ * cache=external-results.
+ */
+@Component
+@ConditionalOnProperty(prefix = "sources.external.result-cache", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class ExternalResultCache {
+
+    private static final String NAME = "external-results";
+
+    /** The part of the criteria the API filters on, normalized */
+    record Query(String title, String country, BigDecimal minSalary, BigDecimal maxSalary) {
+
+        static Query of(JobSearchCriteria criteria) {
+            if (criteria == null) return new Query(null, null, null, null);
+            return new Query(normalize(criteria.title()), normalize(criteria.country()),
+                    strip(criteria.minSalary()), strip(criteria.maxSalary()));
+        }
+
+        /** Whether every job matching other also matches this */
+        boolean covers(Query other) {
+            if (title != null && (other.title == null || !other.title.contains(title))) return false;
+            if (country != null && !country.equals(other.country)) return false;
+            if (minSalary != null && (other.minSalary == null || other.minSalary.compareTo(minSalary) < 0)) return false;
+            return maxSalary == null || (other.maxSalary != null && other.maxSalary.compareTo(maxSalary) <= 0);
+        }
+
+        private static String normalize(String s) {
+            return s == null || s.isBlank() ? null : Job.normalize(s);
+        }
+
+        private static BigDecimal strip(BigDecimal amount) {
+            return amount == null ? null : amount.stripTrailingZeros();
+        }
+    }
+
+    private record Entry(List<Job> jobs, long expiresAt) {
+    }
+
+    private final SourcesProperties.ResultCache settings;
+    private final LongSupplier nanoClock;
+    private final Map<Query, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);   // access order: LRU first
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictedBySize;
+    private final Counter expired;
+
+    public ExternalResultCache(SourcesProperties properties) {
+        this(properties, new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public ExternalResultCache(SourcesProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    ExternalResultCache(SourcesProperties properties, MeterRegistry registry, LongSupplier nanoClock) {
+        this.settings = properties.getExternal().getResultCache();
+        this.nanoClock = nanoClock;
+        this.hits = counter(registry, "cache.gets", "result", "hit");
+        this.misses = counter(registry, "cache.gets", "result", "miss");
+        this.evictedBySize = counter(registry, "cache.evictions", "cause", "size");
+        this.expired = counter(registry, "cache.evictions", "cause", "expired");
+        Gauge.builder("cache.size", this, ExternalResultCache::size).tag("cache", NAME).register(registry);
+    }
+
+    /**
+     * What the API would return for criteria (before the skill filter),
+     * from the smallest cached answer covering it; null when none does.
+     */
+    public List<Job> get(JobSearchCriteria criteria) {
+        Query query = Query.of(criteria);
+        Entry best;
+        synchronized (entries) {
+            evictExpired();
+            best = entries.get(query);   // also marks an exact match as recently used
+            if (best == null) {
+                for (Map.Entry<Query, Entry> e : entries.entrySet()) {
+                    if (e.getKey().covers(query) && (best == null || e.getValue().jobs().size() < best.jobs().size())) {
+                        best = e.getValue();
+                    }
+                }
+            }
+            (best == null ? misses : hits).increment();
+        }
+        if (best == null) return null;
+        return best.jobs().stream().filter(job -> ExternalJobMirror.matchesRemote(criteria, job)).toList();
+    }
+
+    /**
+     * Stores the API's complete answer to criteria: every job it returned,
+     * before any local filtering or limit. Answers above maxJobsPerEntry
+     * are not kept.
+     */
+    public void put(JobSearchCriteria criteria, List<Job> jobs) {
+        if (jobs.size() > settings.getMaxJobsPerEntry()) return;
+        Entry entry = new Entry(List.copyOf(jobs), nanoClock.getAsLong() + settings.getTtlMs() * 1_000_000);
+        synchronized (entries) {
+            entries.put(Query.of(criteria), entry);
+            Iterator<Entry> lru = entries.values().iterator();
+            while (entries.size() > settings.getMaxEntries() && lru.hasNext()) {
+                lru.next();
+                lru.remove();
+                evictedBySize.increment();
+            }
+        }
+    }
+
+    /** Whether put() would keep an answer of this many jobs */
+    public boolean accepts(int jobs) {
+        return jobs <= settings.getMaxJobsPerEntry();
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // -------- Helpers --------
+    /** Caller holds the lock */
+    private void evictExpired() {
+        long now = nanoClock.getAsLong();
+        Iterator<Entry> it = entries.values().iterator();
+        while (it.hasNext()) {
+            if (now - it.next().expiresAt() >= 0) {
+                it.remove();
+                expired.increment();
+            }
+        }
+    }
+
+    private static Counter counter(MeterRegistry registry, String name, String tag, String value) {
+        return Counter.builder(name).tag("cache", NAME).tag(tag, value).register(registry);
+    }
+}
@@ -2,25 +2,55 @@ package io.github.vivianagh.jobberwocky.infrastructure.source;
 
 import io.github.vivianagh.jobberwocky.domain.model.Job;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.JobSort;
+import io.github.vivianagh.jobberwocky.domain.model.SearchCursor;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
 import io.github.vivianagh.jobberwocky.domain.port.JobSource;
 import io.github.vivianagh.jobberwocky.infrastructure.repository.JobRepository;
-import lombok.RequiredArgsConstructor;
+import io.github.vivianagh.jobberwocky.infrastructure.search.TitleIndex;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
-@ConditionalOnProperty(prefix = "sources.internal", name = "enabled", havingValue = "true", matchIfMissing = true)
+// ColumnarJobSource takes its place when search.columnar.enabled
+@ConditionalOnExpression("${sources.internal.enabled:true} and !${search.columnar.enabled:false}")
 public class InternalJobSource implements JobSource {
 
     private final JobRepository jobRepository;
+    private final TitleIndex titleIndex;
+
+    public InternalJobSource(JobRepository jobRepository) {
+        this(jobRepository, null);
+    }
+
+    /**
+     * @param titleIndex optional; without it titles are matched with LIKE on title_tokens
+     */
+    @Autowired
+    public InternalJobSource(JobRepository jobRepository, @Nullable TitleIndex titleIndex) {
+        this.jobRepository = jobRepository;
+        this.titleIndex = titleIndex;
+    }
 
     @Override
     public List<Job> searchJobs(JobSearchCriteria criteria) {
@@ -33,41 +63,158 @@ public class InternalJobSource implements JobSource {
         log.debug("Searching internal jobs with criteria: {}", criteria);
 
         Specification<Job> spec = buildSpecification(criteria);
-        List<Job> jobs = jobRepository.findAll(spec);
+        List<Job> jobs = jobRepository.findDetached(spec, Sort.unsorted(), 0, Integer.MAX_VALUE);
 
         log.debug("Found {} jobs from internal source", jobs.size());
         return jobs;
     }
 
+    /**
+     * Pushes the window down to SQL: ORDER BY + LIMIT/OFFSET and a COUNT query,
+     * so only the requested rows are loaded.
+     *
+     * All reads go through JobRepository#findDetached: rows come back as an
+     * unmanaged projection with their skills fetched in one batch. The page
+     * and its COUNT share one read-only transaction, opened on the thread
+     * running the search.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public SearchResult search(JobSearchCriteria criteria, SearchWindow window) {
+        if (criteria == null) {
+            log.warn("Search criteria is null, returning empty result");
+            return SearchResult.empty();
+        }
+
+        log.debug("Searching internal jobs with criteria: {} and window: {}", criteria, window);
+
+        Specification<Job> spec = buildSpecification(criteria);
+        Sort sort = toSort(window.sort());
+
+        if (window.cursor() != null) {
+            return seek(spec, sort, window);
+        }
+
+        if (window.limit() == Integer.MAX_VALUE) {
+            // Nothing to limit: a plain (sorted) query, no count needed
+            List<Job> jobs = jobRepository.findDetached(spec, sort, 0, Integer.MAX_VALUE);
+            int from = Math.min(window.offset(), jobs.size());
+            return new SearchResult(jobs.subList(from, jobs.size()), jobs.size(),
+                    List.of(getSourceName()), List.of());
+        }
+
+        List<Job> jobs = jobRepository.findDetached(spec, sort, window.offset(), window.limit());
+        // A short page ends the results, so its total is known without a COUNT
+        long total = jobs.size() < window.limit() && (window.offset() == 0 || !jobs.isEmpty())
+                ? window.offset() + jobs.size()
+                : jobRepository.count(spec);
+
+        log.debug("Found {} jobs from internal source (window of {})", total, jobs.size());
+        boolean hasMore = window.end() < total;
+        return new SearchResult(jobs, total, List.of(getSourceName()), List.of(),
+                window.next(getSourceName(), jobs, hasMore));
+    }
+
+    /**
+     * Keyset page: WHERE (key, id) after the cursor position, ORDER BY key, id,
+     * LIMIT n + 1 (the extra row only tells whether another page exists).
+     * No OFFSET and no COUNT, so every page costs the same.
+     */
+    private SearchResult seek(Specification<Job> spec, Sort sort, SearchWindow window) {
+        SearchCursor.Position position = window.cursor().position(getSourceName());
+        if (position != null) {
+            // Sort columns are NOT NULL, so a position without a key was not issued by us
+            if (position.key() == null) throw new IllegalArgumentException("Invalid cursor");
+            spec = spec.and(after(window.sort(), position));
+        }
+        int fetch = window.limit() == Integer.MAX_VALUE ? window.limit() : window.limit() + 1;
+
+        List<Job> rows = jobRepository.findDetached(spec, sort, 0, fetch);
+        boolean hasMore = rows.size() > window.limit();
+        List<Job> jobs = hasMore ? rows.subList(0, window.limit()) : rows;
+
+        log.debug("Found {} jobs from internal source after cursor", jobs.size());
+        return new SearchResult(jobs, jobs.size(), List.of(getSourceName()), List.of(),
+                window.next(getSourceName(), jobs, hasMore));
+    }
+
     @Override
     public String getSourceName() {
         return "INTERNAL";
     }
 
+    /**
+     * Sort on the requested column, then id, so pages are deterministic.
+     * Text fields sort on their normalized column, the order JobSort's
+     * comparator (and so the composite's merge) uses.
+     */
+    private Sort toSort(JobSort sort) {
+        if (sort == null) return Sort.unsorted();
+        Sort.Direction direction = sort.descending() ? Sort.Direction.DESC : Sort.Direction.ASC;
+        return Sort.by(direction, sort.field().column()).and(Sort.by(direction, "id"));
+    }
+
+    /**
+     * Seek predicate (key, id) > (k, i), or < for descending sorts, spelled out
+     * as key > k OR (key = k AND id > i) since JPA has no row-value comparison.
+     * Matches the ORDER BY of toSort(), so (key, id) can use a composite index.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Specification<Job> after(JobSort sort, SearchCursor.Position position) {
+        return (root, query, cb) -> {
+            Comparable key = sort.field().columnValue(position.probe(sort));
+            Expression<Comparable> column = root.get(sort.field().column());
+            Expression<Long> id = root.get("id");
+            long lastId = position.id() == null ? Long.MIN_VALUE : position.id();
+
+            Predicate beyondKey = sort.descending() ? cb.lessThan(column, key) : cb.greaterThan(column, key);
+            Predicate beyondId = sort.descending() ? cb.lessThan(id, lastId) : cb.greaterThan(id, lastId);
+            return cb.or(beyondKey, cb.and(cb.equal(column, key), beyondId));
+        };
+    }
+
+    /**
+     * EXISTS (SELECT 1 FROM job_skill_keys k WHERE k.job_id = job.id AND k.skill_key IN (...))
+     */
+    private Predicate hasAnySkill(Root<Job> root, CriteriaQuery<?> query, CriteriaBuilder cb, Set<String> skills) {
+        Subquery<Integer> sub = query.subquery(Integer.class);
+        Root<Job> job = sub.correlate(root);
+        Join<Job, String> key = job.join("skillKeys");
+        sub.select(cb.literal(1)).where(key.in(skills));
+        return cb.exists(sub);
+    }
+
     /**
      * Specifications allow dynamic query building
      * Each criterion adds a WHERE clause
      */
     private Specification<Job> buildSpecification(JobSearchCriteria criteria) {
+        boolean hasTitle = criteria.title() != null && !criteria.title().isBlank();
+        // Resolved once here, not in the lambda (which runs for both the page and the count query)
+        long[] titleMatches = hasTitle && titleIndex != null ? titleIndex.search(criteria.title()) : null;
+
         return (root, query, criteriaBuilder) -> {
             List<Predicate> predicates = new ArrayList<>();
 
-            // Filter by title (case-insensitive LIKE)
-            if (criteria.title() != null && !criteria.title().isBlank()) {
-                predicates.add(
-                        criteriaBuilder.like(
-                                criteriaBuilder.lower(root.get("title")),
-                                "%" + criteria.title().toLowerCase() + "%"
-                        )
-                );
+            // Filter by title: ids from the inverted index when it can answer...
+            if (titleMatches != null) {
+                predicates.add(titleMatches.length == 0
+                        ? criteriaBuilder.disjunction()
+                        : root.get("id").in(Arrays.stream(titleMatches).boxed().toList()));
+            } else if (hasTitle) {
+                // ...otherwise the same rule in SQL: every term starts some title token
+                // (terms are letters and digits only, nothing to escape)
+                for (String term : TitleIndex.tokenize(criteria.title())) {
+                    predicates.add(criteriaBuilder.like(root.get("titleTokens"), "% " + term + "%"));
+                }
             }
 
-            // Filter by country (case-insensitive exact match)
+            // Filter by country (case-insensitive exact match, indexed with salary)
             if (criteria.country() != null && !criteria.country().isBlank()) {
                 predicates.add(
                         criteriaBuilder.equal(
-                                criteriaBuilder.lower(root.get("country")),
-                                criteria.country().toLowerCase()
+                                root.get("countryNorm"),
+                                Job.normalize(criteria.country())
                         )
                 );
             }
@@ -92,6 +239,19 @@ public class InternalJobSource implements JobSource {
                 );
             }
 
+            // Filter by skills: EXISTS semi-join on the normalized skill keys,
+            // one per skill for ALL, a single IN for ANY
+            Set<String> skills = criteria.skillKeys();
+            if (!skills.isEmpty()) {
+                if (criteria.matchAnySkill()) {
+                    predicates.add(hasAnySkill(root, query, criteriaBuilder, skills));
+                } else {
+                    for (String skill : skills) {
+                        predicates.add(hasAnySkill(root, query, criteriaBuilder, Set.of(skill)));
+                    }
+                }
+            }
+
             // Combine all predicates with AND
             return criteriaBuilder.and(predicates.toArray(new Predicate[0]));
         };
@@ -0,0 +1,108 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+
+import java.math.BigDecimal;
+
+/**
+ * 64-bit dedup fingerprint of a job, computed in one pass over its
+ * characters without building a key String.
+ *
+ * Same precedence as the String keys it replaces:
+ * 1) externalId if present (trimmed)
+ * 2) id
+ * 3) content: title (lowercase alphanumeric words, single spaced),
+ *    country (trimmed, lowercase) and salary
+ * Each kind hashes from its own starting point, so an externalId never
+ * equals an id or a content.
+ *
+ * FNV-1a over the characters, then the murmur3 finalizer to spread the
+ * bits. Ids never collide; different strings may, with odds around n^2/2^65
+ * (about 1 in 3 billion for 100k jobs).
+ */
+final class JobFingerprint {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long NULL_JOB = 0;
+    private static final long EXTERNAL_ID = 1;
+    private static final long ID = 2;
+    private static final long CONTENT = 3;
+
+    private JobFingerprint() {
+    }
+
+    static long of(Job job) {
+        if (job == null) return finish(step(FNV_OFFSET, NULL_JOB));
+        String externalId = job.getExternalId();
+        if (externalId != null && !externalId.isBlank()) {
+            return finish(trimmed(step(FNV_OFFSET, EXTERNAL_ID), externalId, false));
+        }
+        if (job.getId() != null) {
+            return finish(step(step(FNV_OFFSET, ID), job.getId()));
+        }
+        long h = step(FNV_OFFSET, CONTENT);
+        h = title(h, job.getTitle());
+        h = step(h, '|');
+        h = trimmed(h, job.getCountry(), true);
+        h = step(h, '|');
+        return finish(salary(h, job.getSalary()));
+    }
+
+    // -------- Helpers --------
+    /**
+     * Letters and digits, lowercase; any run of other characters is one
+     * space, none at the ends. "Sr. Java  Dev!" hashes as "sr java dev".
+     */
+    private static long title(long h, String title) {
+        if (title == null) return h;
+        boolean separator = false;
+        boolean started = false;
+        for (int i = 0; i < title.length(); i++) {
+            char c = Character.toLowerCase(title.charAt(i));
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (separator && started) h = step(h, ' ');
+                h = step(h, c);
+                started = true;
+                separator = false;
+            } else {
+                separator = true;
+            }
+        }
+        return h;
+    }
+
+    /** s without leading and trailing whitespace (as String#trim), optionally lowercase */
+    private static long trimmed(long h, String s, boolean lowercase) {
+        if (s == null) return h;
+        int start = 0;
+        int end = s.length();
+        while (start < end && s.charAt(start) <= ' ') start++;
+        while (end > start && s.charAt(end - 1) <= ' ') end--;
+        for (int i = start; i < end; i++) {
+            char c = s.charAt(i);
+            h = step(h, lowercase ? Character.toLowerCase(c) : c);
+        }
+        return h;
+    }
+
+    /** Value and scale, as the plain string did: 100000 and 100000.00 differ */
+    private static long salary(long h, BigDecimal salary) {
+        if (salary == null) return step(h, 0);
+        return step(step(h, 1), salary.hashCode());
+    }
+
+    private static long step(long h, long value) {
+        return (h ^ value) * FNV_PRIME;
+    }
+
+    private static long finish(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
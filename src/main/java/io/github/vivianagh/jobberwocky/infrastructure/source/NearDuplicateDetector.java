@@ -0,0 +1,235 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.infrastructure.search.LongIntMap;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Finds the same posting coming from different sources under slightly
+ * different titles ("Sr. Java Developer" / "Senior Java Dev"), without
+ * comparing every pair of jobs.
+ *
+ * - Titles are normalized (lowercase words, common abbreviations spelled
+ *   out) and cut into character shingles
+ * - Each title gets a MinHash signature of `hashes` values: the share of
+ *   equal values estimates the Jaccard similarity of two shingle sets
+ * - Locality-sensitive hashing: the signature is split into `bands`; jobs
+ *   agreeing on a whole band, in the same country and salary band, land in
+ *   the same bucket. Only jobs sharing a bucket are compared, so the cost
+ *   grows with the number of jobs, not pairs
+ * - A candidate is a near duplicate when its estimated similarity reaches
+ *   `threshold`, its salary is within `salaryTolerancePercent` and it comes
+ *   from another source
+ *
+ * With b bands of r rows, pairs of similarity s become candidates with
+ * probability 1 - (1 - s^r)^b; the defaults (32 hashes, 8 bands) catch 98%
+ * of pairs at 0.8 and 6% at 0.3.
+ *
+ * Keeps no state between calls: one instance is shared by all searches.
+ */
+final class NearDuplicateDetector {
+
+    private static final int SHINGLE = 3;
+    private static final int NO_SALARY_BAND = Integer.MIN_VALUE;
+
+    /** Spelled out before shingling, so abbreviations still share shingles */
+    private static final Map<String, String> ABBREVIATIONS = Map.ofEntries(
+            Map.entry("sr", "senior"), Map.entry("snr", "senior"), Map.entry("jr", "junior"),
+            Map.entry("dev", "developer"), Map.entry("devs", "developers"), Map.entry("eng", "engineer"),
+            Map.entry("engr", "engineer"), Map.entry("mgr", "manager"), Map.entry("sw", "software"),
+            Map.entry("swe", "software engineer"), Map.entry("admin", "administrator"),
+            Map.entry("ops", "operations"), Map.entry("assoc", "associate"));
+
+    private final int hashes;
+    private final int bands;
+    private final int rows;
+    private final double threshold;
+    private final double salaryTolerance;
+    private final double logBandWidth;
+    private final long[] multipliers;
+    private final long[] increments;
+
+    NearDuplicateDetector(SourcesProperties.NearDuplicates settings) {
+        this.bands = Math.max(1, settings.getBands());
+        this.rows = Math.max(1, settings.getHashes() / bands);
+        this.hashes = bands * rows;
+        this.threshold = settings.getThreshold();
+        this.salaryTolerance = settings.getSalaryTolerancePercent() / 100.0;
+        // Salary bands as wide as the tolerance (log scale), so matches are at most one band apart
+        this.logBandWidth = -Math.log1p(-Math.min(0.999, Math.max(0.001, salaryTolerance)));
+        this.multipliers = new long[hashes];
+        this.increments = new long[hashes];
+        long seed = 0x9e3779b97f4a7c15L;
+        for (int i = 0; i < hashes; i++) {
+            multipliers[i] = mix(seed += 0x9e3779b97f4a7c15L) | 1;   // odd: a permutation of longs
+            increments[i] = mix(seed += 0x9e3779b97f4a7c15L);
+        }
+    }
+
+    /**
+     * For each row, the index of the earlier row it duplicates, or its own
+     * index when it duplicates none. Earlier rows are never pointed past:
+     * representatives[i] <= i, and representatives[representatives[i]] is
+     * representatives[i].
+     */
+    int[] representatives(List<Job> jobs) {
+        int n = jobs.size();
+        int[] representative = new int[n];
+        long[][] signatures = new long[n][];
+        long[] countries = new long[n];
+        int[] salaryBands = new int[n];
+
+        // Bucket -> last entry; entries chain to the previous one in the same bucket
+        LongIntMap lastInBucket = new LongIntMap(n * bands);
+        int[] entryRow = new int[n * bands];
+        int[] entryPrevious = new int[n * bands];
+        int entries = 0;
+
+        for (int i = 0; i < n; i++) {
+            Job job = jobs.get(i);
+            representative[i] = i;
+            signatures[i] = signature(job.getTitle());
+            countries[i] = country(job.getCountry());
+            salaryBands[i] = salaryBand(job.getSalary());
+
+            int match = -1;
+            for (int band = 0; band < bands && match < 0; band++) {
+                for (int delta = -1; delta <= 1 && match < 0; delta++) {
+                    int salaryBand = salaryBands[i] == NO_SALARY_BAND ? NO_SALARY_BAND : salaryBands[i] + delta;
+                    if (salaryBand == NO_SALARY_BAND && delta != 0) continue;
+                    long bucket = bucket(countries[i], salaryBand, band, signatures[i]);
+                    for (int e = lastInBucket.get(bucket); e != LongIntMap.MISSING && match < 0; e = entryPrevious[e]) {
+                        int j = entryRow[e];
+                        // The row it would be folded into must come from another source too
+                        if (isNearDuplicate(jobs, signatures, countries, i, j)
+                                && !sameSource(jobs.get(i), jobs.get(representative[j]))) {
+                            match = representative[j];
+                        }
+                    }
+                }
+            }
+            if (match >= 0) {
+                representative[i] = match;
+            }
+
+            for (int band = 0; band < bands; band++) {
+                long bucket = bucket(countries[i], salaryBands[i], band, signatures[i]);
+                entryRow[entries] = i;
+                entryPrevious[entries] = lastInBucket.put(bucket, entries);
+                entries++;
+            }
+        }
+        return representative;
+    }
+
+    /** Estimated Jaccard similarity of two titles' shingle sets */
+    double similarity(String title, String other) {
+        return similarity(signature(title), signature(other));
+    }
+
+    // -------- Helpers --------
+    private boolean isNearDuplicate(List<Job> jobs, long[][] signatures, long[] countries, int i, int j) {
+        Job a = jobs.get(i);
+        Job b = jobs.get(j);
+        if (countries[i] != countries[j]) return false;
+        if (sameSource(a, b)) return false;   // two postings of one source are two jobs
+        if (!salariesMatch(a.getSalary(), b.getSalary())) return false;
+        return similarity(signatures[i], signatures[j]) >= threshold;
+    }
+
+    private double similarity(long[] a, long[] b) {
+        int same = 0;
+        for (int k = 0; k < hashes; k++) {
+            if (a[k] == b[k]) same++;
+        }
+        return (double) same / hashes;
+    }
+
+    private boolean salariesMatch(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) return a == b;
+        double x = a.doubleValue();
+        double y = b.doubleValue();
+        return Math.abs(x - y) <= salaryTolerance * Math.max(Math.abs(x), Math.abs(y));
+    }
+
+    /**
+     * MinHash over the shingles of the normalized title: hash k of a
+     * shingle is an affine map of its (well mixed) hash; the signature keeps
+     * the minimum of each.
+     */
+    private long[] signature(String title) {
+        long[] signature = new long[hashes];
+        Arrays.fill(signature, Long.MAX_VALUE);
+        String text = normalize(title);
+        if (text.length() < SHINGLE) {
+            text = (text + "   ").substring(0, SHINGLE);   // short or empty titles still get one shingle
+        }
+        for (int start = 0; start + SHINGLE <= text.length(); start++) {
+            long h = 0xcbf29ce484222325L;
+            for (int c = start; c < start + SHINGLE; c++) {
+                h = (h ^ text.charAt(c)) * 0x100000001b3L;
+            }
+            h = mix(h);
+            for (int k = 0; k < hashes; k++) {
+                long v = h * multipliers[k] + increments[k];
+                if (v < signature[k]) signature[k] = v;
+            }
+        }
+        return signature;
+    }
+
+    /** Lowercase alphanumeric words, abbreviations spelled out, single spaced */
+    static String normalize(String title) {
+        if (title == null) return "";
+        StringBuilder out = new StringBuilder(title.length() + 16);
+        for (String word : title.toLowerCase(Locale.ROOT).split("[^a-z0-9]+")) {
+            if (word.isEmpty()) continue;
+            if (!out.isEmpty()) out.append(' ');
+            out.append(ABBREVIATIONS.getOrDefault(word, word));
+        }
+        return out.toString();
+    }
+
+    private long bucket(long country, int salaryBand, int band, long[] signature) {
+        long h = mix(country ^ ((long) salaryBand << 32 | band));
+        for (int k = band * rows; k < (band + 1) * rows; k++) {
+            h = mix(h ^ signature[k]);
+        }
+        return h;
+    }
+
+    private int salaryBand(BigDecimal salary) {
+        if (salary == null || salary.signum() <= 0) return NO_SALARY_BAND;
+        return (int) Math.floor(Math.log(salary.doubleValue()) / logBandWidth);
+    }
+
+    private static long country(String country) {
+        if (country == null) return 0;
+        long h = 0xcbf29ce484222325L;
+        String c = country.trim().toLowerCase(Locale.ROOT);
+        for (int i = 0; i < c.length(); i++) {
+            h = (h ^ c.charAt(i)) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    private static boolean sameSource(Job a, Job b) {
+        return a.getSource() == null ? b.getSource() == null : a.getSource().equalsIgnoreCase(b.getSource());
+    }
+
+    /** murmur3 finalizer */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
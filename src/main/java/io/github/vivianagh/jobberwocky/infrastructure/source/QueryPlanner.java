@@ -0,0 +1,62 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
+import io.github.vivianagh.jobberwocky.domain.model.SourceCapabilities;
+import io.github.vivianagh.jobberwocky.domain.port.JobSource;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plans a composite search per source from its SourceCapabilities:
+ *
+ * - skip: a source expected to answer after the deadline (costMs) is not
+ *   called at all; it would only be dropped (Plan#fits). Neither is one whose
+ *   answer is capped (maxRows) when filters are left to check on it: the
+ *   matches past the cap would be lost without a trace (Plan#complete)
+ * - push down: the source gets only the filters it applies; the others
+ *   (residual) are checked on its results
+ * - window: passed down when the source honours it (sort, limit) and there
+ *   is no residual; otherwise the source is asked for all its matches and
+ *   the window is cut from them after filtering
+ *
+ * Residual filters are checked with JobSearchCriteria#matchesExactly, the
+ * rules the sources' own filters follow, so a row is kept exactly when a
+ * source applying every filter would have returned it.
+ */
+final class QueryPlanner {
+
+    /**
+     * @param criteria what the source is asked
+     * @param residual what its results must still match; null = nothing
+     * @param pushWindow whether the source gets the window, or is asked for all matches
+     * @param complete whether the source can return every match of the query
+     */
+    record Plan(JobSource source, long costMs, JobSearchCriteria criteria, JobSearchCriteria residual,
+                boolean pushWindow, boolean complete) {
+
+        static final Comparator<Plan> CHEAPEST_FIRST = Comparator.comparingLong(Plan::costMs);
+
+        /** Whether the source is expected to answer within remainingNanos (unknown costs always are) */
+        boolean fits(long remainingNanos) {
+            return costMs <= 0 || TimeUnit.MILLISECONDS.toNanos(costMs) <= remainingNanos;
+        }
+    }
+
+    private QueryPlanner() {
+    }
+
+    static Plan plan(JobSource source, JobSearchCriteria criteria, SearchWindow window) {
+        SourceCapabilities capabilities = source.capabilities();
+        if (capabilities == null) capabilities = SourceCapabilities.FULL;
+
+        JobSearchCriteria residual = capabilities.residual(criteria);
+        JobSearchCriteria pushed = residual == null ? criteria : capabilities.pushDown(criteria);
+        boolean pushWindow = residual == null
+                && (window.sort() == null || capabilities.sort())
+                && (window.isUnbounded() || capabilities.limit());
+        boolean complete = residual == null || capabilities.maxRows() <= 0;
+        return new Plan(source, capabilities.costMs(), pushed, residual, pushWindow, complete);
+    }
+}
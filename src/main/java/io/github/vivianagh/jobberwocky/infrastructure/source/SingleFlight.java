@@ -0,0 +1,132 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces concurrent calls with the same key: the first caller starts the
+ * call, callers arriving while it runs wait for the same result.
+ *
+ * The call runs on the executor, not on the first caller's thread, so it
+ * belongs to no caller in particular: every caller waits only until its own
+ * deadline, and leaving (timeout, interrupt) does not affect the others. The
+ * call is cancelled once the last waiting caller has left.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, Flight<V>> inFlight = new ConcurrentHashMap<>();
+    private final ExecutorService executor;
+
+    SingleFlight(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Result of the call for key, joining the running one if any.
+     *
+     * @param deadline System.nanoTime() by which this caller gives up
+     * @throws TimeoutException when the deadline passes first
+     * @throws ExecutionException with the call's failure
+     */
+    V run(K key, Callable<V> call, long deadline)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        return run(key, call, deadline, () -> { });
+    }
+
+    /**
+     * Like run, first calling onShared when this caller joins a call another
+     * caller started. Only the caller that started a call (the leader) should
+     * act on its outcome, which is one outcome per call actually made.
+     */
+    V run(K key, Callable<V> call, long deadline, Runnable onShared)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        Flight<V> flight = join(key, call, onShared);
+        boolean done = false;
+        try {
+            V value = flight.result.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            done = true;
+            return value;
+        } catch (ExecutionException e) {
+            done = true;
+            throw e;
+        } catch (CancellationException e) {
+            // Cancelled under us (executor shutting down): report it like a timeout
+            throw new TimeoutException("call was abandoned");
+        } finally {
+            if (!done) leave(key, flight);
+        }
+    }
+
+    /** Calls currently running */
+    int size() {
+        return inFlight.size();
+    }
+
+    // -------- Helpers --------
+    private static final class Flight<V> {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        // Callers still waiting; -1 once abandoned, when nobody may join anymore
+        final AtomicInteger waiters = new AtomicInteger();
+        volatile Future<?> task;
+
+        boolean enter() {
+            int w;
+            do {
+                w = waiters.get();
+                if (w < 0) return false;
+            } while (!waiters.compareAndSet(w, w + 1));
+            return true;
+        }
+    }
+
+    private Flight<V> join(K key, Callable<V> call, Runnable onShared) {
+        while (true) {
+            Flight<V> fresh = new Flight<>();
+            Flight<V> flight = inFlight.computeIfAbsent(key, k -> fresh);
+            if (!flight.enter()) {
+                // Abandoned and about to be removed: start over
+                inFlight.remove(key, flight);
+                continue;
+            }
+            if (flight == fresh) {
+                start(key, flight, call);
+            } else {
+                onShared.run();
+            }
+            return flight;
+        }
+    }
+
+    private void start(K key, Flight<V> flight, Callable<V> call) {
+        flight.task = executor.submit(() -> {
+            V value;
+            try {
+                value = call.call();
+            } catch (Throwable t) {
+                inFlight.remove(key, flight);
+                flight.result.completeExceptionally(t);
+                return;
+            }
+            // Unpublish first, so callers arriving from now on start a fresh call
+            inFlight.remove(key, flight);
+            flight.result.complete(value);
+        });
+    }
+
+    private void leave(K key, Flight<V> flight) {
+        if (flight.waiters.decrementAndGet() == 0 && flight.waiters.compareAndSet(0, -1)) {
+            inFlight.remove(key, flight);
+            flight.result.cancel(false);
+            Future<?> task = flight.task;
+            if (task != null) task.cancel(true);
+        }
+    }
+}
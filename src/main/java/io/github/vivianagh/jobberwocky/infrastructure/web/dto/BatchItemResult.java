@@ -0,0 +1,27 @@
+package io.github.vivianagh.jobberwocky.infrastructure.web.dto;
+
+import java.util.Map;
+
+/**
+ * Outcome of one item of a batch create, by its position in the request body.
+ */
+public record BatchItemResult(
+        int index,
+        Status status,
+        Long id,                       // set when CREATED
+        Map<String, String> errors     // field -> message when INVALID, "job" -> cause when FAILED
+) {
+    public enum Status { CREATED, INVALID, FAILED }
+
+    public static BatchItemResult created(int index, Long id) {
+        return new BatchItemResult(index, Status.CREATED, id, Map.of());
+    }
+
+    public static BatchItemResult invalid(int index, Map<String, String> errors) {
+        return new BatchItemResult(index, Status.INVALID, null, errors);
+    }
+
+    public static BatchItemResult failed(int index, String cause) {
+        return new BatchItemResult(index, Status.FAILED, null, Map.of("job", cause));
+    }
+}
@@ -0,0 +1,12 @@
+package io.github.vivianagh.jobberwocky.infrastructure.web.dto;
+
+import java.util.List;
+
+public record BatchResponse(
+        int received,
+        int created,
+        int rejected,
+        List<BatchItemResult> items,   // one per received item, in request order
+        String error                   // why reading stopped early (malformed body, too many items); null otherwise
+) {
+}
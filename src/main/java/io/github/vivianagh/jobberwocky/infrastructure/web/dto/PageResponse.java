@@ -6,5 +6,15 @@ public record PageResponse<T>(
         List<T> content,
         int page,
         int size,
-        long total
-) {}
+        long total,
+        List<String> droppedSources,   // sources that timed out or failed; non-empty means partial results
+        String nextCursor              // pass as ?cursor= for the next page; null on the last page or when unsorted
+) {
+    public PageResponse(List<T> content, int page, int size, long total, List<String> droppedSources) {
+        this(content, page, size, total, droppedSources, null);
+    }
+
+    public PageResponse(List<T> content, int page, int size, long total) {
+        this(content, page, size, total, List.of());
+    }
+}
@@ -0,0 +1,29 @@
+package io.github.vivianagh.jobberwocky.infrastructure.web.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * One NDJSON line of a streamed search: a job, or the last line, either the
+ * summary or an error when the search failed after the response had started.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record SearchEvent(
+        Type type,
+        JobResponse job,               // set for JOB
+        SearchSummary summary,         // set for SUMMARY
+        String error                   // set for ERROR; the jobs sent before it are not the full result
+) {
+    public enum Type { JOB, SUMMARY, ERROR }
+
+    public static SearchEvent job(JobResponse job) {
+        return new SearchEvent(Type.JOB, job, null, null);
+    }
+
+    public static SearchEvent summary(SearchSummary summary) {
+        return new SearchEvent(Type.SUMMARY, null, summary, null);
+    }
+
+    public static SearchEvent error(String message) {
+        return new SearchEvent(Type.ERROR, null, null, message);
+    }
+}
@@ -8,8 +8,10 @@ public record SearchParams(
         @Nullable String country,
         @Nullable String minSalary,
         @Nullable String maxSalary,
-        @Nullable String skill,
+        @Nullable String skill,         // one or more, comma-separated (or repeated)
+        @Nullable String skillMatch,    // "all" (default) or "any"
         Integer page,   // 0-based
         Integer size,   // default 20
-        String sort     // e.g. "salary,desc"
+        String sort,    // e.g. "salary,desc"
+        String cursor   // nextCursor of the previous page (keyset pagination, needs a sort)
 ) {}
\ No newline at end of file
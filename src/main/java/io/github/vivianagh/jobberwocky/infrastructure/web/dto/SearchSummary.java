@@ -0,0 +1,14 @@
+package io.github.vivianagh.jobberwocky.infrastructure.web.dto;
+
+import java.util.List;
+
+/**
+ * Last event of a streamed search.
+ */
+public record SearchSummary(
+        long total,                    // matches across the answering sources, duplicates seen excluded
+        long streamed,                 // jobs sent before this summary
+        List<String> respondedSources,
+        List<String> droppedSources    // sources that timed out, failed or were skipped; non-empty means partial results
+) {
+}
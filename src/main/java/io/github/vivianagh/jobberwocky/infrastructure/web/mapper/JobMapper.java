@@ -1,6 +1,7 @@
 package io.github.vivianagh.jobberwocky.infrastructure.web.mapper;
 
 import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.JobRequest;
 import io.github.vivianagh.jobberwocky.infrastructure.web.dto.JobResponse;
 import org.springframework.stereotype.Component;
 
@@ -20,4 +21,16 @@ public class JobMapper {
                 job.getCreatedAt()
         );
     }
+
+    public Job toDomain(JobRequest request) {
+        return Job.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .company(request.getCompany())
+                .country(request.getCountry())
+                .city(request.getCity())
+                .salary(request.getSalary())
+                .skills(request.getSkills())
+                .build();
+    }
 }
@@ -0,0 +1,27 @@
+-- Jobs and their skills, as mapped by the Job entity
+
+CREATE TABLE jobs (
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title       VARCHAR(255)   NOT NULL,
+    description VARCHAR(2000),
+    company     VARCHAR(255)   NOT NULL,
+    country     VARCHAR(255)   NOT NULL,
+    city        VARCHAR(255),
+    salary      NUMERIC(38, 2) NOT NULL,
+    source      VARCHAR(255),
+    external_id VARCHAR(255),
+    created_at  TIMESTAMP(6),
+    updated_at  TIMESTAMP(6)
+);
+
+-- Skills as entered, returned to clients
+CREATE TABLE job_skills (
+    job_id BIGINT NOT NULL REFERENCES jobs (id),
+    skill  VARCHAR(255)
+);
+
+-- Normalized skills, only used by the skill filter
+CREATE TABLE job_skill_keys (
+    job_id    BIGINT NOT NULL REFERENCES jobs (id),
+    skill_key VARCHAR(255)
+);
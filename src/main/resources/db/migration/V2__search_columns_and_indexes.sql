@@ -0,0 +1,30 @@
+-- Indexes shaped after InternalJobSource's queries.
+-- country_norm/title_norm hold the normalized values the search compares
+-- against (Job.normalize: trimmed, inner whitespace collapsed, lower-case), so
+-- the predicates no longer wrap the column in lower() and can use an index.
+-- The entity fills them on insert/update.
+
+ALTER TABLE jobs ADD COLUMN country_norm VARCHAR(255);
+ALTER TABLE jobs ADD COLUMN title_norm   VARCHAR(255);
+
+UPDATE jobs
+   SET country_norm = LOWER(TRIM(REGEXP_REPLACE(country, '\s+', ' '))),
+       title_norm   = LOWER(TRIM(REGEXP_REPLACE(title, '\s+', ' ')));
+
+ALTER TABLE jobs ALTER COLUMN country_norm SET NOT NULL;
+ALTER TABLE jobs ALTER COLUMN title_norm   SET NOT NULL;
+
+-- country = ? [AND salary BETWEEN ? AND ?]
+CREATE INDEX idx_jobs_country_norm_salary ON jobs (country_norm, salary);
+-- salary BETWEEN ? AND ? without a country, and ORDER BY salary
+CREATE INDEX idx_jobs_salary ON jobs (salary, id);
+-- title prefix lookups and ORDER BY title
+CREATE INDEX idx_jobs_title_norm ON jobs (title_norm);
+-- Imported jobs are identified by their origin; internal jobs have no external_id
+CREATE UNIQUE INDEX ux_jobs_source_external_id ON jobs (source, external_id);
+
+-- Collection loads and the skill semi-joins
+CREATE INDEX idx_job_skills_skill_job ON job_skills (skill, job_id);
+CREATE INDEX idx_job_skills_job ON job_skills (job_id);
+CREATE INDEX idx_job_skill_keys_key_job ON job_skill_keys (skill_key, job_id);
+CREATE INDEX idx_job_skill_keys_job ON job_skill_keys (job_id);
@@ -0,0 +1,12 @@
+-- Job ids come from a sequence instead of the identity column, so Hibernate
+-- can assign them before inserting and send the inserts (jobs, job_skills,
+-- job_skill_keys) as JDBC batches. Hibernate's pooled optimizer hands out 50
+-- ids per nextval: INCREMENT BY must match allocationSize on Job.id.
+--
+-- The pooled optimizer reads a nextval of N as the block N-49..N, so the
+-- sequence starts a full block above the highest existing id.
+
+ALTER TABLE jobs ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE jobs_seq START WITH 1 INCREMENT BY 50;
+ALTER SEQUENCE jobs_seq RESTART WITH (SELECT COALESCE(MAX(id), 0) + 50 FROM jobs);
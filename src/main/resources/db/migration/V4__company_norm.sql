@@ -0,0 +1,14 @@
+-- Text sorts run on the normalized columns (JobSort.Field#column), the form
+-- the in-memory comparator orders by, so SQL windows and the composite's
+-- merge agree. Company had no normalized copy yet.
+
+ALTER TABLE jobs ADD COLUMN company_norm VARCHAR(255);
+
+UPDATE jobs
+   SET company_norm = LOWER(TRIM(REGEXP_REPLACE(company, '\s+', ' ')));
+
+ALTER TABLE jobs ALTER COLUMN company_norm SET NOT NULL;
+
+-- ORDER BY <text>, id and the keyset seek on (<text>, id)
+CREATE INDEX idx_jobs_company_norm_id ON jobs (company_norm, id);
+CREATE INDEX idx_jobs_title_norm_id ON jobs (title_norm, id);
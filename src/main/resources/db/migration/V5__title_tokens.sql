@@ -0,0 +1,11 @@
+-- Title tokens for the title search fallback (the title index gave up, or is
+-- disabled): every token after a space, so "every term starts a token" is
+-- title_tokens LIKE '% term%' per term, the index's own rule, where a LIKE
+-- on title_norm also matched inside words. The entity fills it on insert.
+
+ALTER TABLE jobs ADD COLUMN title_tokens VARCHAR(256);
+
+UPDATE jobs
+   SET title_tokens = ' ' || TRIM(REGEXP_REPLACE(LOWER(title), '[^\p{L}\p{N}]+', ' '));
+
+ALTER TABLE jobs ALTER COLUMN title_tokens SET NOT NULL;
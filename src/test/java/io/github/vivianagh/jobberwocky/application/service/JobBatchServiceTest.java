@@ -0,0 +1,164 @@
+package io.github.vivianagh.jobberwocky.application.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vivianagh.jobberwocky.application.servicio.JobBatchService;
+import io.github.vivianagh.jobberwocky.application.servicio.JobService;
+import io.github.vivianagh.jobberwocky.config.IngestProperties;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.BatchItemResult;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.BatchResponse;
+import io.github.vivianagh.jobberwocky.infrastructure.web.mapper.JobMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+public class JobBatchServiceTest {
+
+    private static final String JOB = """
+            {"title":"Backend Eng","company":"Acme","country":"USA","salary":120000,"skills":["Java"]}""";
+    private static final String NO_TITLE = """
+            {"company":"Acme","country":"USA","salary":120000,"skills":["Java"]}""";
+
+    private JobService jobService;
+    private IngestProperties properties;
+    private JobBatchService batchService;
+    private Validator validator;
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        jobService = mock(JobService.class);
+        properties = new IngestProperties();
+        var factory = Validation.buildDefaultValidatorFactory();
+        validator = factory.getValidator();
+        batchService = new JobBatchService(jobService, new JobMapper(), validator, new ObjectMapper(), properties);
+
+        // Assign ids like the sequence would
+        when(jobService.createAll(anyList())).thenAnswer(inv -> {
+            List<Job> jobs = inv.getArgument(0);
+            jobs.forEach(j -> j.setId(ids.incrementAndGet()));
+            return jobs;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        ids.set(0);
+    }
+
+    private BatchResponse post(String body) {
+        return batchService.createAll(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void shouldCreateJobsFromJsonArray() {
+        //When
+        BatchResponse out = post("[" + JOB + "," + JOB + "]");
+
+        //Then
+        assertThat(out.received()).isEqualTo(2);
+        assertThat(out.created()).isEqualTo(2);
+        assertThat(out.error()).isNull();
+        assertThat(out.items()).extracting(BatchItemResult::id).containsExactly(1L, 2L);
+        verify(jobService, times(1)).createAll(anyList());
+    }
+
+    @Test
+    void shouldCreateJobsFromNdjson() {
+        //When
+        BatchResponse out = post(JOB + "\n" + JOB + "\n" + JOB + "\n");
+
+        //Then
+        assertThat(out.created()).isEqualTo(3);
+        assertThat(out.items()).extracting(BatchItemResult::index).containsExactly(0, 1, 2);
+    }
+
+    @Test
+    void shouldReportInvalidItemsAndCreateTheRest() {
+        //When
+        BatchResponse out = post("[" + JOB + "," + NO_TITLE + ",42," + """
+                {"title":"Dev","company":"Acme","country":"USA","salary":"lots","skills":["Java"]}""" + "]");
+
+        //Then
+        assertThat(out.received()).isEqualTo(4);
+        assertThat(out.created()).isEqualTo(1);
+        assertThat(out.rejected()).isEqualTo(3);
+        assertThat(out.items()).extracting(BatchItemResult::status).containsExactly(
+                BatchItemResult.Status.CREATED, BatchItemResult.Status.INVALID,
+                BatchItemResult.Status.INVALID, BatchItemResult.Status.INVALID);
+        assertThat(out.items().get(1).errors()).containsKey("title");
+        assertThat(out.items().get(2).errors()).containsKey("body");
+        assertThat(out.items().get(3).errors()).containsKey("body");
+    }
+
+    @Test
+    void shouldWriteInChunks() {
+        //Given
+        properties.setChunkSize(2);
+
+        //When
+        BatchResponse out = post(JOB + "\n" + JOB + "\n" + JOB + "\n" + JOB + "\n" + JOB);
+
+        //Then
+        assertThat(out.created()).isEqualTo(5);
+        verify(jobService, times(3)).createAll(anyList());
+    }
+
+    @Test
+    void shouldRetryFailedChunkItemByItem() {
+        //Given
+        when(jobService.createAll(anyList())).thenAnswer(inv -> {
+            List<Job> jobs = inv.getArgument(0);
+            if (jobs.stream().anyMatch(j -> j.getTitle().equals("Broken"))) {
+                throw new DataIntegrityViolationException("constraint violated");
+            }
+            jobs.forEach(j -> j.setId(ids.incrementAndGet()));
+            return jobs;
+        });
+
+        //When
+        BatchResponse out = post("[" + JOB + "," + JOB.replace("Backend Eng", "Broken") + "," + JOB + "]");
+
+        //Then
+        assertThat(out.created()).isEqualTo(2);
+        assertThat(out.items()).extracting(BatchItemResult::status).containsExactly(
+                BatchItemResult.Status.CREATED, BatchItemResult.Status.FAILED, BatchItemResult.Status.CREATED);
+        assertThat(out.items().get(1).errors()).containsEntry("job", "constraint violated");
+    }
+
+    @Test
+    void shouldKeepWhatWasReadBeforeMalformedJson() {
+        //When
+        BatchResponse out = post(JOB + "\n" + JOB + "\n{\"title\": oops");
+
+        //Then
+        assertThat(out.created()).isEqualTo(2);
+        assertThat(out.error()).startsWith("Malformed body at item 2");
+    }
+
+    @Test
+    void shouldStopAtMaxItems() {
+        //Given
+        properties.setMaxItems(2);
+
+        //When
+        BatchResponse out = post("[" + JOB + "," + JOB + "," + JOB + "]");
+
+        //Then
+        assertThat(out.received()).isEqualTo(2);
+        assertThat(out.created()).isEqualTo(2);
+        assertThat(out.error()).contains("Too many items");
+    }
+}
@@ -5,6 +5,9 @@ package io.github.vivianagh.jobberwocky.application.service;
 import io.github.vivianagh.jobberwocky.application.servicio.JobService;
 import io.github.vivianagh.jobberwocky.domain.model.Job;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.JobSort;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
 import io.github.vivianagh.jobberwocky.domain.port.JobSource;
 import io.github.vivianagh.jobberwocky.infrastructure.repository.JobRepository;
 import io.github.vivianagh.jobberwocky.infrastructure.web.dto.PageResponse;
@@ -12,6 +15,7 @@ import io.github.vivianagh.jobberwocky.infrastructure.web.dto.PageResponse;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -19,7 +23,11 @@ import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class JobServicePaginationTest {
@@ -31,8 +39,10 @@ public class JobServicePaginationTest {
     @BeforeEach
     void setUp() {
         jobRepository = Mockito.mock(JobRepository.class);
-        jobSource = Mockito.mock(JobSource.class);
-        service = new JobService(jobRepository, jobSource);
+        // Real default methods: search(criteria, window) sorts/slices what searchJobs returns
+        jobSource = Mockito.mock(JobSource.class, Mockito.CALLS_REAL_METHODS);
+        doReturn("INTERNAL").when(jobSource).getSourceName();
+        service = new JobService(jobRepository, jobSource, Mockito.mock(ApplicationEventPublisher.class));
     }
 
     private Job j(long id, String title, String country, int salary) {
@@ -76,5 +86,101 @@ public class JobServicePaginationTest {
                 .containsExactly(120_000, 100_000);
     }
 
+    @Test
+    void shouldPropagateDroppedSources() {
+        // given: external source missed the deadline
+        var partial = new SearchResult(
+                List.of(j(1, "A", "USA", 100_000)),
+                1,
+                List.of("INTERNAL"),
+                List.of("EXTERNAL_API")
+        );
+        doReturn(partial).when(jobSource).search(any(JobSearchCriteria.class), any(SearchWindow.class));
+
+        // when
+        PageResponse<Job> page = service.searchPaged(JobSearchCriteria.builder().build(), 0, 20, null);
+
+        // then
+        assertThat(page.total()).isEqualTo(1);
+        assertThat(page.droppedSources()).containsExactly("EXTERNAL_API");
+    }
+
+
+    @Test
+    void shouldAskSourceOnlyForTheRequestedWindow() {
+        // given
+        var all = List.of(j(1, "A", "USA", 100_000));
+        when(jobSource.searchJobs(any(JobSearchCriteria.class))).thenReturn(all);
+
+        // when: page=2 size=10
+        service.searchPaged(JobSearchCriteria.builder().build(), 2, 10, "title,asc");
+
+        // then
+        verify(jobSource).search(any(JobSearchCriteria.class),
+                eq(new SearchWindow(20, 10, JobSort.parse("title,asc"))));
+    }
+
+    @Test
+    void shouldReturnEmptyPageBeyondTheEnd() {
+        // given
+        when(jobSource.searchJobs(any(JobSearchCriteria.class))).thenReturn(List.of(
+                j(1, "A", "USA", 100_000),
+                j(2, "B", "USA", 120_000)
+        ));
+
+        // when
+        PageResponse<Job> page = service.searchPaged(JobSearchCriteria.builder().build(), 5, 2, null);
+
+        // then
+        assertThat(page.content()).isEmpty();
+        assertThat(page.total()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFollowNextCursorToTheLastPage() {
+        // given
+        when(jobSource.searchJobs(any(JobSearchCriteria.class))).thenReturn(List.of(
+                j(1, "A", "USA", 100_000),
+                j(2, "B", "USA", 120_000),
+                j(3, "C", "USA", 90_000)
+        ));
+
+        // when
+        PageResponse<Job> first = service.searchPaged(JobSearchCriteria.builder().build(), 0, 2, "salary,desc");
+        PageResponse<Job> second = service.searchPaged(JobSearchCriteria.builder().build(),
+                null, 2, null, first.nextCursor());
+
+        // then
+        assertThat(first.nextCursor()).isNotBlank();
+        assertThat(second.page()).isEqualTo(1);
+        assertThat(second.total()).isEqualTo(3);
+        assertThat(second.content()).extracting(jb -> jb.getSalary().intValue()).containsExactly(90_000);
+        assertThat(second.nextCursor()).isNull();
+    }
 
+    @Test
+    void shouldRejectInvalidOrMismatchedCursor() {
+        when(jobSource.searchJobs(any(JobSearchCriteria.class))).thenReturn(List.of(
+                j(1, "A", "USA", 100_000),
+                j(2, "B", "USA", 120_000)
+        ));
+        String cursor = service.searchPaged(JobSearchCriteria.builder().build(), 0, 1, "salary,desc").nextCursor();
+
+        assertThatThrownBy(() -> service.searchPaged(JobSearchCriteria.builder().build(), 0, 1, null, "garbage"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> service.searchPaged(JobSearchCriteria.builder().build(), 0, 1, "title", cursor))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldNotIssueCursorForUnsortedSearch() {
+        when(jobSource.searchJobs(any(JobSearchCriteria.class))).thenReturn(List.of(
+                j(1, "A", "USA", 100_000),
+                j(2, "B", "USA", 120_000)
+        ));
+
+        PageResponse<Job> page = service.searchPaged(JobSearchCriteria.builder().build(), 0, 1, null);
+
+        assertThat(page.nextCursor()).isNull();
+    }
 }
@@ -1,12 +1,15 @@
 package io.github.vivianagh.jobberwocky.application.service;
 
 import io.github.vivianagh.jobberwocky.application.servicio.JobService;
+import io.github.vivianagh.jobberwocky.domain.event.JobCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.event.JobsCreatedEvent;
 import io.github.vivianagh.jobberwocky.domain.model.Job;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
 import io.github.vivianagh.jobberwocky.domain.port.JobSource;
 import io.github.vivianagh.jobberwocky.infrastructure.repository.JobRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -20,13 +23,15 @@ public class JobServiceTest {
 
     private JobRepository jobRepository;
     private JobSource jobSource;
+    private ApplicationEventPublisher events;
     private JobService jobService;
 
     @BeforeEach
     void setUp() {
         jobRepository = mock(JobRepository.class);
         jobSource = mock(JobSource.class);
-        jobService = new JobService(jobRepository, jobSource);
+        events = mock(ApplicationEventPublisher.class);
+        jobService = new JobService(jobRepository, jobSource, events);
     }
 
     @Test
@@ -56,9 +61,27 @@ public class JobServiceTest {
         assertThat(out.getId()).isEqualTo(1L);
         assertThat(out.getSource()).isEqualTo("INTERNAL");
         verify(jobRepository).save(any(Job.class));
+        verify(events).publishEvent(new JobCreatedEvent(saved));
         verifyNoInteractions(jobSource);
     }
 
+    @Test
+    void createAllPublishesOneEventForTheBatch() {
+        //Given
+        List<Job> in = List.of(
+                Job.builder().title("Backend Eng").company("Acme").country("USA").salary(BigDecimal.TEN).build(),
+                Job.builder().title("Data Eng").company("Acme").country("USA").salary(BigDecimal.TEN).build());
+        when(jobRepository.saveAll(in)).thenReturn(in);
+
+        //When
+        List<Job> out = jobService.createAll(in);
+
+        //Then
+        assertThat(out).allMatch(job -> "INTERNAL".equals(job.getSource()));
+        verify(events, times(1)).publishEvent(any(Object.class));
+        verify(events).publishEvent(new JobsCreatedEvent(in));
+    }
+
     @Test
     void searchDelegatesToPrimaryJobSource() {
         //Given
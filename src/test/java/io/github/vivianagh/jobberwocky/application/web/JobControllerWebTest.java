@@ -1,9 +1,10 @@
 package io.github.vivianagh.jobberwocky.application.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vivianagh.jobberwocky.application.servicio.JobBatchService;
 import io.github.vivianagh.jobberwocky.application.servicio.JobService;
 import io.github.vivianagh.jobberwocky.domain.model.Job;
-import io.github.vivianagh.jobberwocky.exception.GlobalExceptionHandler;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
 import io.github.vivianagh.jobberwocky.infrastructure.web.dto.JobResponse;
 import io.github.vivianagh.jobberwocky.infrastructure.web.dto.PageResponse;
 import io.github.vivianagh.jobberwocky.infrastructure.web.mapper.JobMapper;
@@ -11,20 +12,29 @@ import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -34,18 +44,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class JobControllerWebTest {
 
 
-    @Configuration
+    @TestConfiguration
     static class TestConfig {
         @Bean JobService jobService() {
             return Mockito.mock(JobService.class);
         }
+        @Bean JobBatchService jobBatchService() {
+            return Mockito.mock(JobBatchService.class);
+        }
         @Bean JobMapper jobMapper() {
             return Mockito.mock(JobMapper.class);
         }
-        @Bean
-        GlobalExceptionHandler globalExceptionHandler() {
-            return new GlobalExceptionHandler();
-        }
     }
 
     @Autowired MockMvc mvc;
@@ -112,7 +121,7 @@ public class JobControllerWebTest {
                 .source("INTERNAL").createdAt(LocalDateTime.now()).build();
 
         // service devuelve PageResponse<Job> (dominio)
-        when(jobService.searchPaged(any(), eq(0), eq(1), eq("title,asc")))
+        when(jobService.searchPaged(any(), eq(0), eq(1), eq("title,asc"), isNull()))
                 .thenReturn(new PageResponse<>(List.of(j1), 0, 1, 3));
 
         // mapper de dominio -> DTO
@@ -136,4 +145,94 @@ public class JobControllerWebTest {
                 .andExpect(jsonPath("$.total").value(3))
                 .andExpect(jsonPath("$.content[0].title").value("Dev"));
     }
+
+    @Test
+    void getStreamWithInvalidCriteriaReturns400BeforeStreaming() throws Exception {
+        clearInvocations(jobService);   // shared mock
+
+        mvc.perform(get("/api/jobs/stream")
+                        .param("minSalary", "200000")
+                        .param("maxSalary", "100000")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON));
+
+        verify(jobService, never()).stream(any(), any());
+    }
+
+    @Test
+    void getStreamNegotiatesNdjsonOrServerSentEvents() throws Exception {
+        //Given
+        Job j1 = streamedJob();
+        doAnswer(inv -> {
+            inv.<Consumer<List<Job>>>getArgument(1).accept(List.of(j1));
+            return SearchResult.of("INTERNAL", List.of(j1));
+        }).when(jobService).stream(any(), any());
+
+        //When
+        MvcResult ndjson = mvc.perform(get("/api/jobs/stream").param("title", "Dev")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult sse = mvc.perform(get("/api/jobs/stream").param("title", "Dev")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        //Then
+        String lines = mvc.perform(asyncDispatch(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(lines.split("\n")).hasSize(2);
+        assertThat(objectMapper.readTree(lines.split("\n")[0]).get("job").get("title").asText()).isEqualTo("Dev");
+        assertThat(objectMapper.readTree(lines.split("\n")[1]).get("type").asText()).isEqualTo("SUMMARY");
+
+        String events = mvc.perform(asyncDispatch(sse))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(events).startsWith("event: job\ndata: {").contains("\n\nevent: summary\ndata: {");
+    }
+
+    @Test
+    void getStreamEndsWithAnErrorEventWhenTheSearchFailsMidStream() throws Exception {
+        //Given - one batch is out when the search fails
+        Job j1 = streamedJob();
+        doAnswer(inv -> {
+            inv.<Consumer<List<Job>>>getArgument(1).accept(List.of(j1));
+            throw new IllegalStateException("source blew up");
+        }).when(jobService).stream(any(), any());
+
+        //When
+        MvcResult started = mvc.perform(get("/api/jobs/stream").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        //Then - terminated, and not by a summary that would pass for complete results
+        String[] lines = body.split("\n");
+        assertThat(body).endsWith("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readTree(lines[0]).get("type").asText()).isEqualTo("JOB");
+        assertThat(objectMapper.readTree(lines[1]).get("type").asText()).isEqualTo("ERROR");
+        assertThat(body).doesNotContain("SUMMARY");
+    }
+
+    private Job streamedJob() {
+        Job job = Job.builder()
+                .id(1L).title("Dev").company("Acme").country("USA")
+                .salary(new BigDecimal("100000")).skills(Set.of("Java"))
+                .source("INTERNAL").createdAt(LocalDateTime.now()).build();
+        when(jobMapper.toResponse(job)).thenReturn(new JobResponse(
+                job.getId(), job.getTitle(), job.getDescription(),
+                job.getCompany(), job.getCountry(), job.getCity(),
+                job.getSalary(), job.getSkills(), job.getSource(),
+                job.getCreatedAt()
+        ));
+        return job;
+    }
 }
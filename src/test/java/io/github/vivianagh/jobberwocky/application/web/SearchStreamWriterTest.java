@@ -0,0 +1,78 @@
+package io.github.vivianagh.jobberwocky.application.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.JobResponse;
+import io.github.vivianagh.jobberwocky.infrastructure.web.dto.SearchSummary;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchStreamWriterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static JobResponse job(long id, String title) {
+        return new JobResponse(id, title, null, "Acme", "USA", null, null, null, "INTERNAL", null);
+    }
+
+    @Test
+    void shouldWriteOneNdjsonLinePerJobThenTheSummary() throws Exception {
+        //Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SearchStreamWriter writer = new SearchStreamWriter(objectMapper, out, false);
+
+        //When
+        writer.jobs(List.of(job(1, "Backend Eng"), job(2, "Data Eng")));
+        writer.summary(new SearchSummary(2, writer.streamed(), List.of("INTERNAL"), List.of("EXTERNAL_API")));
+
+        //Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(objectMapper.readTree(lines[0]).get("type").asText()).isEqualTo("JOB");
+        assertThat(objectMapper.readTree(lines[1]).get("job").get("title").asText()).isEqualTo("Data Eng");
+        assertThat(objectMapper.readTree(lines[2]).has("job")).isFalse();
+        assertThat(objectMapper.readTree(lines[2]).get("summary").get("streamed").asLong()).isEqualTo(2);
+        assertThat(objectMapper.readTree(lines[2]).get("summary").get("droppedSources").get(0).asText())
+                .isEqualTo("EXTERNAL_API");
+    }
+
+    @Test
+    void shouldWriteServerSentEvents() throws Exception {
+        //Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        SearchStreamWriter writer = new SearchStreamWriter(objectMapper, out, true);
+
+        //When
+        writer.jobs(List.of(job(1, "Backend Eng")));
+        writer.summary(new SearchSummary(1, writer.streamed(), List.of("INTERNAL"), List.of()));
+
+        //Then
+        String[] events = out.toString(StandardCharsets.UTF_8).split("\n\n");
+        assertThat(events).hasSize(2);
+        assertThat(events[0]).startsWith("event: job\ndata: {");
+        assertThat(objectMapper.readTree(events[0].substring(events[0].indexOf('{'))).get("id").asLong())
+                .isEqualTo(1);
+        assertThat(events[1]).startsWith("event: summary\ndata: {\"total\":1,\"streamed\":1");
+    }
+
+    @Test
+    void shouldEndAFailedStreamWithAnErrorEvent() throws Exception {
+        //Given
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        ByteArrayOutputStream sse = new ByteArrayOutputStream();
+
+        //When
+        new SearchStreamWriter(objectMapper, ndjson, false).error("Search failed");
+        new SearchStreamWriter(objectMapper, sse, true).error("Search failed");
+
+        //Then
+        assertThat(objectMapper.readTree(ndjson.toString(StandardCharsets.UTF_8)).get("type").asText())
+                .isEqualTo("ERROR");
+        assertThat(sse.toString(StandardCharsets.UTF_8))
+                .isEqualTo("event: error\ndata: {\"message\":\"Search failed\"}\n\n");
+    }
+}
@@ -3,6 +3,7 @@ package io.github.vivianagh.jobberwocky.domain.model;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.*;
 
@@ -56,4 +57,70 @@ public class JobSearchCriteriaTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("minSalary cannot be greater than maxSalary");
     }
+
+    @Test
+    void shouldNormalizeCommaSeparatedSkills() {
+        var c = JobSearchCriteria.builder().skill(" Java, spring BOOT ,,java ").build();
+
+        assertThat(c.skillKeys()).containsExactly("java", "spring boot");
+        assertThat(c.matchAnySkill()).isFalse();
+    }
+
+    @Test
+    void shouldMatchSkillsInMemory() {
+        var all = JobSearchCriteria.builder().skill("java,docker").build();
+        var any = JobSearchCriteria.builder().skill("java,docker")
+                .skillMatch(JobSearchCriteria.SkillMatch.parse("ANY")).build();
+
+        assertThat(all.matchesSkills(Set.of("Java", "Docker", "AWS"))).isTrue();
+        assertThat(all.matchesSkills(Set.of("Java"))).isFalse();
+        assertThat(any.matchesSkills(Set.of("JAVA"))).isTrue();
+        assertThat(any.matchesSkills(Set.of("Go"))).isFalse();
+        assertThat(JobSearchCriteria.builder().build().matchesSkills(null)).isTrue();
+    }
+
+    @Test
+    void shouldCanonicalizeEquivalentCriteria() {
+        var a = JobSearchCriteria.builder().title("  Java  Dev ").country("USA")
+                .minSalary(new BigDecimal("100000.00")).skill("Spring, java").build();
+        var b = JobSearchCriteria.builder().title("java dev").country(" usa")
+                .minSalary(new BigDecimal("1E+5")).skill("JAVA,spring").build();
+
+        assertThat(a.canonical()).isEqualTo(b.canonical());
+        assertThat(a.canonical().skill()).isEqualTo("java,spring");
+        assertThat(JobSearchCriteria.builder().title(" ").skill("java")
+                .skillMatch(JobSearchCriteria.SkillMatch.ANY).build().canonical())
+                .isEqualTo(JobSearchCriteria.builder().skill("Java").build().canonical());
+    }
+
+    @Test
+    void shouldMatchJobsAgainstEveryCriterion() {
+        Job job = Job.builder().title("Senior Java Engineer").country("USA")
+                .salary(new BigDecimal("120000")).skills(Set.of("Java", "AWS")).build();
+
+        assertThat(JobSearchCriteria.builder().build().matches(job)).isTrue();
+        assertThat(JobSearchCriteria.builder().title("java eng").country("usa").skill("aws")
+                .minSalary(new BigDecimal("100000")).maxSalary(new BigDecimal("120000")).build().matches(job)).isTrue();
+        assertThat(JobSearchCriteria.builder().title("python").build().matches(job)).isFalse();
+        assertThat(JobSearchCriteria.builder().country("Spain").build().matches(job)).isFalse();
+        assertThat(JobSearchCriteria.builder().minSalary(new BigDecimal("120000.01")).build().matches(job)).isFalse();
+        assertThat(JobSearchCriteria.builder().skill("go").build().matches(job)).isFalse();
+    }
+
+    @Test
+    void shouldMatchTitlesExactlyAsTheSourcesDo() {
+        Job job = Job.builder().title("Sr. Data-Engineering Lead").country("USA")
+                .salary(new BigDecimal("120000")).skills(Set.of("Java")).build();
+        Job midWord = Job.builder().title("Process Reengineering Lead").country("USA")
+                .salary(new BigDecimal("120000")).skills(Set.of("Java")).build();
+        JobSearchCriteria engineer = JobSearchCriteria.builder().title("ENGINEER").country(" usa ").skill("java").build();
+
+        assertThat(engineer.matchesExactly(job)).isTrue();
+        assertThat(engineer.matchesExactly(midWord)).isFalse();
+        assertThat(engineer.matches(midWord)).isTrue();
+        assertThat(JobSearchCriteria.builder().title("lead data").build().matchesExactly(job)).isTrue();
+        assertThat(JobSearchCriteria.builder().title("lead ops").build().matchesExactly(job)).isFalse();
+        assertThat(JobSearchCriteria.builder().skill("go").build().matchesExactly(job)).isFalse();
+        assertThat(JobSearchCriteria.builder().maxSalary(new BigDecimal("119999")).build().matchesExactly(job)).isFalse();
+    }
 }
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -42,5 +43,19 @@ public class JobTest {
         assertThat(job.getUpdatedAt()).isNotNull();
     }
 
-
+    @Test
+    void shouldCompareAsTheNormalizedValuesDo() {
+        //Given
+        List<String> values = List.of("alpha dev", "Zeta dev", "beta dev", "  Beta   dev ", "beta\tdeV",
+                "beta", "beta dev2", "", "   ", "ZETA", "zeta dev");
+
+        //When & Then
+        for (String a : values) {
+            for (String b : values) {
+                assertThat(Integer.signum(Job.compareNormalized(a, b)))
+                        .as("%s vs %s", a, b)
+                        .isEqualTo(Integer.signum(Job.normalize(a).compareTo(Job.normalize(b))));
+            }
+        }
+    }
 }
@@ -0,0 +1,79 @@
+package io.github.vivianagh.jobberwocky.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SearchCursorTest {
+
+    private static Job job(Long id, String externalId, int salary) {
+        return Job.builder().id(id).externalId(externalId).title("T").company("C").country("USA")
+                .salary(new BigDecimal(salary)).build();
+    }
+
+    @Test
+    void shouldRoundTripThroughOpaqueToken() {
+        //Given
+        JobSort sort = JobSort.parse("title,desc");
+        SearchCursor cursor = SearchCursor.start(sort)
+                .with("INTERNAL", new SearchCursor.Position("Java | Dev; 100%", 42L, null))
+                .with("EXTERNAL_API", new SearchCursor.Position("Go", null, "EXT~1"))
+                .at(3, 120);
+
+        //When
+        String token = cursor.encode();
+        SearchCursor decoded = SearchCursor.decode(token);
+
+        //Then
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(decoded).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldRoundTripDateKeys() {
+        JobSort sort = JobSort.parse("createdAt,desc");
+        Job j = job(7L, null, 1);
+        j.setCreatedAt(LocalDateTime.of(2025, 1, 2, 3, 4, 5));
+
+        SearchCursor cursor = SearchCursor.start(sort).with("INTERNAL", SearchCursor.Position.of(sort, j));
+
+        assertThat(SearchCursor.decode(cursor.encode()).position("INTERNAL").probe(sort).getCreatedAt())
+                .isEqualTo(j.getCreatedAt());
+    }
+
+    @Test
+    void shouldRejectTamperedTokens() {
+        assertThatThrownBy(() -> SearchCursor.decode("not a cursor"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SearchCursor.decode("djF8Zm9vLGFzY3wwfDA"))   // v1|foo,asc|0|0
+                .isInstanceOf(IllegalArgumentException.class);
+
+        String badKey = SearchCursor.start(JobSort.parse("salary"))
+                .with("INTERNAL", new SearchCursor.Position("lots", 1L, null)).encode();
+        assertThatThrownBy(() -> SearchCursor.decode(badKey))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldKeepOnlyRowsAfterTheSourcePosition() {
+        //Given: salary desc, last seen 200 with id 2
+        JobSort sort = JobSort.parse("salary,desc");
+        SearchCursor cursor = SearchCursor.start(sort)
+                .with("INTERNAL", new SearchCursor.Position("200", 2L, null));
+        List<Job> rows = List.of(job(1L, null, 300), job(2L, null, 200), job(1L, null, 200),
+                job(3L, null, 100));
+
+        //When
+        List<Job> after = cursor.after("INTERNAL", rows);
+
+        //Then: ties on salary are broken by id in the same direction
+        assertThat(after).extracting(Job::getSalary).extracting(BigDecimal::intValue)
+                .containsExactly(200, 100);
+        assertThat(after.get(0).getId()).isEqualTo(1L);
+        assertThat(cursor.after("EXTERNAL_API", rows)).isSameAs(rows);
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.vivianagh.jobberwocky.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+
+public class SearchWindowTest {
+
+    private static Job job(String title, int salary) {
+        return Job.builder().title(title).company("C").country("USA")
+                .salary(new BigDecimal(salary)).build();
+    }
+
+    @Test
+    void shouldParseSortFieldAndDirection() {
+        assertThat(JobSort.parse("salary,desc")).isEqualTo(new JobSort(JobSort.Field.SALARY, true));
+        assertThat(JobSort.parse(" Title ")).isEqualTo(new JobSort(JobSort.Field.TITLE, false));
+        assertThat(JobSort.parse("createdAt,ASC")).isEqualTo(new JobSort(JobSort.Field.CREATED_AT, false));
+    }
+
+    @Test
+    void shouldIgnoreBlankOrUnknownSort() {
+        assertThat(JobSort.parse(null)).isNull();
+        assertThat(JobSort.parse("  ")).isNull();
+        assertThat(JobSort.parse("favourite,desc")).isNull();
+    }
+
+    @Test
+    void shouldComputePageOffset() {
+        var w = SearchWindow.page(3, 20, null);
+
+        assertThat(w.offset()).isEqualTo(60);
+        assertThat(w.limit()).isEqualTo(20);
+        assertThat(w.end()).isEqualTo(80);
+    }
+
+    @Test
+    void shouldRejectPagesBeyondIntRange() {
+        assertThatThrownBy(() -> SearchWindow.page(Integer.MAX_VALUE, 100, null))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldSortAndSliceWithoutTouchingInput() {
+        //Given
+        List<Job> rows = new ArrayList<>(List.of(job("A", 100), job("B", 300), job("C", 200)));
+        var w = new SearchWindow(1, 1, JobSort.parse("salary,desc"));
+
+        //When
+        List<Job> out = w.apply(rows);
+
+        //Then
+        assertThat(out).extracting(Job::getTitle).containsExactly("C");
+        assertThat(rows).extracting(Job::getTitle).containsExactly("A", "B", "C");
+    }
+
+    @Test
+    void allWindowShouldReturnRowsAsIs() {
+        List<Job> rows = List.of(job("A", 100), job("B", 300));
+
+        assertThat(SearchWindow.ALL.apply(rows)).isSameAs(rows);
+        assertThat(SearchWindow.ALL.isUnbounded()).isTrue();
+    }
+}
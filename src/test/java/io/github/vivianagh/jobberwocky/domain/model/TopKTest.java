@@ -0,0 +1,80 @@
+package io.github.vivianagh.jobberwocky.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TopKTest {
+
+    private static List<Job> randomJobs(int n, long seed) {
+        Random random = new Random(seed);
+        List<Job> jobs = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            jobs.add(Job.builder()
+                    .id((long) i)
+                    .title("Job " + random.nextInt(1000))
+                    .company("C").country("USA")
+                    // Few distinct salaries, so the id tiebreak matters
+                    .salary(new BigDecimal(random.nextInt(50) * 1000))
+                    .build());
+        }
+        return jobs;
+    }
+
+    private static List<Job> fullSort(List<Job> rows, int k, Comparator<Job> order) {
+        List<Job> sorted = new ArrayList<>(rows);
+        sorted.sort(order);
+        return sorted.subList(0, Math.min(k, sorted.size()));
+    }
+
+    @Test
+    void shouldMatchFullSort() {
+        //Given
+        List<Job> rows = randomJobs(5_000, 1);
+        Comparator<Job> order = JobSort.parse("salary,desc").comparator();
+
+        //When
+        List<Job> top = TopK.selectSequential(rows, 40, order);
+
+        //Then
+        assertThat(top).containsExactlyElementsOf(fullSort(rows, 40, order));
+    }
+
+    @Test
+    void parallelVariantShouldMatchFullSort() {
+        //Given
+        List<Job> rows = randomJobs(TopK.PARALLEL_THRESHOLD * 3 + 7, 2);
+        Comparator<Job> order = JobSort.parse("title").comparator();
+
+        //When
+        List<Job> top = TopK.selectParallel(rows, 100, order);
+
+        //Then
+        assertThat(top).containsExactlyElementsOf(fullSort(rows, 100, order));
+    }
+
+    @Test
+    void shouldReturnEverythingSortedWhenKExceedsInput() {
+        List<Job> rows = randomJobs(10, 3);
+        Comparator<Job> order = JobSort.parse("salary").comparator();
+
+        assertThat(TopK.select(rows, 50, order)).containsExactlyElementsOf(fullSort(rows, 50, order));
+        assertThat(TopK.selectParallel(rows, 50, order)).containsExactlyElementsOf(fullSort(rows, 50, order));
+    }
+
+    @Test
+    void shouldNotModifyInput() {
+        List<Job> rows = randomJobs(100, 4);
+        List<Job> copy = new ArrayList<>(rows);
+
+        TopK.select(rows, 5, JobSort.parse("salary,desc").comparator());
+
+        assertThat(rows).containsExactlyElementsOf(copy);
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class AdaptiveTimeoutTest {
+
+    private SimpleMeterRegistry registry;
+    private AdaptiveTimeout timeout;
+    private HttpRequest request;
+    private ClientHttpRequestExecution execution;
+    // Calls take exactly as long as they say: no wall clock involved
+    private final AtomicLong clock = new AtomicLong();
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        timeout = new AdaptiveTimeout("external-jobs", Duration.ofMillis(20), Duration.ofMillis(3000),
+                0.99, 2.0, 5, registry, clock::get);
+        request = mock(HttpRequest.class);
+        execution = mock(ClientHttpRequestExecution.class);
+    }
+
+    private void calls(int n, long tookMs) throws IOException {
+        doAnswer(inv -> {
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(tookMs));
+            return mock(ClientHttpResponse.class);
+        }).when(execution).execute(any(), any());
+        for (int i = 0; i < n; i++) timeout.intercept(request, new byte[0], execution);
+    }
+
+    @Test
+    void shouldUseTheCeilingUntilEnoughCallsWereSeen() throws IOException {
+        //When
+        calls(4, 0);
+
+        //Then
+        assertThat(timeout.readTimeout()).isEqualTo(Duration.ofMillis(3000));
+    }
+
+    @Test
+    void shouldFollowRecentLatencies() throws IOException {
+        //When - fast calls: the floor
+        calls(5, 0);
+
+        //Then
+        assertThat(timeout.readTimeout()).isEqualTo(Duration.ofMillis(20));
+        assertThat(registry.get("http.client.timeout.read").tag("client", "external-jobs").gauge().value())
+                .isEqualTo(20.0);
+
+        //When - slower calls: twice their p99
+        calls(5, 30);
+
+        //Then
+        assertThat(timeout.readTimeout()).isEqualTo(Duration.ofMillis(60));
+    }
+
+    @Test
+    void shouldCountTimeoutsAsSlowCalls() throws IOException {
+        //Given
+        doAnswer(inv -> {
+            clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(30));
+            throw new HttpTimeoutException("request timed out");
+        }).when(execution).execute(any(), any());
+
+        //When
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> timeout.intercept(request, new byte[0], execution))
+                    .isInstanceOf(HttpTimeoutException.class);
+        }
+
+        //Then
+        assertThat(timeout.readTimeout()).isEqualTo(Duration.ofMillis(60));
+    }
+
+    @Test
+    void shouldNotOutliveTheCallersDeadline() throws Exception {
+        //When
+        Duration withDeadline = CallDeadline.run(System.nanoTime() + 100_000_000L, timeout::readTimeout);
+        Duration deadlinePassed = CallDeadline.run(System.nanoTime() - 1, timeout::readTimeout);
+
+        //Then
+        assertThat(withDeadline).isLessThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(deadlinePassed).isEqualTo(Duration.ofMillis(1));
+    }
+}
@@ -0,0 +1,80 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ConnectionLimitInterceptorTest {
+
+    private SimpleMeterRegistry registry;
+    private ConnectionLimitInterceptor limit;
+    private HttpRequest request;
+    private ClientHttpRequestExecution execution;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        registry = new SimpleMeterRegistry();
+        limit = new ConnectionLimitInterceptor("external-jobs", 2, 50, registry);
+        request = mock(HttpRequest.class);
+        when(request.getURI()).thenReturn(URI.create("http://jobs.example/jobs"));
+        execution = mock(ClientHttpRequestExecution.class);
+        when(execution.execute(any(), any())).thenAnswer(inv -> mock(ClientHttpResponse.class));
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).tag("client", "external-jobs").gauge().value();
+    }
+
+    @Test
+    void shouldHoldASlotUntilTheResponseIsClosed() throws IOException {
+        //When
+        ClientHttpResponse first = limit.intercept(request, new byte[0], execution);
+        ClientHttpResponse second = limit.intercept(request, new byte[0], execution);
+
+        //Then
+        assertThat(limit.active()).isEqualTo(2);
+        assertThat(gauge("http.client.pool.active")).isEqualTo(2);
+        assertThat(gauge("http.client.pool.max")).isEqualTo(2);
+
+        first.close();
+        first.close();   // closing twice gives back one slot
+        assertThat(limit.active()).isEqualTo(1);
+        second.close();
+        assertThat(limit.active()).isZero();
+    }
+
+    @Test
+    void shouldFailWhenNoSlotFreesUpInTime() throws IOException {
+        //Given
+        limit.intercept(request, new byte[0], execution);
+        limit.intercept(request, new byte[0], execution);
+
+        //When & Then
+        assertThatThrownBy(() -> limit.intercept(request, new byte[0], execution))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("No free connection to jobs.example");
+        assertThat(registry.get("http.client.pool.rejected").counter().count()).isEqualTo(1);
+        assertThat(gauge("http.client.pool.pending")).isZero();
+    }
+
+    @Test
+    void shouldReleaseTheSlotWhenTheRequestFails() throws IOException {
+        //Given
+        when(execution.execute(any(), any())).thenThrow(new IOException("connection refused"));
+
+        //When & Then
+        assertThatThrownBy(() -> limit.intercept(request, new byte[0], execution)).isInstanceOf(IOException.class);
+        assertThat(limit.active()).isZero();
+    }
+}
@@ -1,8 +1,10 @@
 package io.github.vivianagh.jobberwocky.infrastructure.adapter;
 
 
+import com.sun.net.httpserver.HttpServer;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
 import io.github.vivianagh.jobberwocky.exception.ExternalSourceException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,6 +12,13 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.web.client.RestClient;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.*;
@@ -110,5 +119,121 @@ public class ExternalJobApiClientTest {
         assertThatThrownBy(() -> apiClient.fetchJobs(criteria))
                 .isInstanceOf(ExternalSourceException.class);
     }
-    //TODO
+    @Test
+    void shouldStreamResponseBodyToReader() throws IOException {
+        //Given - a real client against a local server
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/jobs", exchange -> {
+            byte[] body = ("{\"query\": \"" + exchange.getRequestURI().getQuery() + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(exchange.getRequestURI().getQuery().contains("fail") ? 503 : 200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            ExternalJobApiClient client = new ExternalJobApiClient(RestClient.builder()
+                    .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                    .build());
+
+            //When
+            String body = client.fetchJobs(JobSearchCriteria.builder().title("Engineer").country("USA").build(),
+                    in -> new Scanner(in, StandardCharsets.UTF_8).useDelimiter("\\A").next());
+
+            //Then
+            assertThat(body).isEqualTo("{\"query\": \"name=Engineer&country=USA\"}");
+            assertThatThrownBy(() -> client.fetchJobs(JobSearchCriteria.builder().title("fail").build(), in -> in))
+                    .isInstanceOf(ExternalSourceException.class)
+                    .hasMessageContaining("503");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void shouldReadTheHedgedResponseWhenTheFirstCallHangs() throws IOException {
+        //Given - the server stalls the first call only
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.createContext("/jobs", exchange -> {
+            int n = requests.incrementAndGet();
+            if (n == 1) {
+                try {
+                    Thread.sleep(5_000);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            byte[] body = ("{\"call\": " + n + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            ExternalJobApiClient client = new ExternalJobApiClient(RestClient.builder()
+                    .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                    .build(), new RequestHedger("external-jobs", 50, 0, 5, 10, new SimpleMeterRegistry()), null);
+
+            //When
+            long started = System.nanoTime();
+            String body = client.fetchJobs(JobSearchCriteria.builder().build(),
+                    in -> new Scanner(in, StandardCharsets.UTF_8).useDelimiter("\\A").next());
+
+            //Then
+            assertThat(body).isEqualTo("{\"call\": 2}");
+            assertThat(System.nanoTime() - started).isLessThan(2_000_000_000L);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void shouldRetryTransientFailuresButNotClientErrors() throws IOException {
+        //Given - a server answering 503 once, and 404 for unknown paths
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/jobs", exchange -> {
+            boolean notFound = exchange.getRequestURI().getQuery() != null;
+            int status = notFound ? 404 : requests.incrementAndGet() == 1 ? 503 : 200;
+            byte[] body = "{}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(status, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            ExternalJobApiClient client = new ExternalJobApiClient(RestClient.builder()
+                    .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                    .build(), null, new RetryPolicy("external-jobs", 3, 1, 10, 10, registry));
+
+            //When
+            String body = client.fetchJobs(JobSearchCriteria.builder().build(),
+                    in -> new Scanner(in, StandardCharsets.UTF_8).useDelimiter("\\A").next());
+
+            //Then
+            assertThat(body).isEqualTo("{}");
+            assertThat(requests).hasValue(2);
+            assertThatThrownBy(() -> client.fetchJobs(JobSearchCriteria.builder().title("x").build(), in -> in))
+                    .isInstanceOf(ExternalSourceException.class)
+                    .hasMessageContaining("404");
+            assertThat(registry.get("http.client.retry.sent").counter().count()).isEqualTo(1);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    void shouldNotCallOnceTheDeadlinePassed() throws Exception {
+        //When & Then - the mocked RestClient is never touched
+        assertThatThrownBy(() -> CallDeadline.run(System.nanoTime() - 1,
+                () -> apiClient.fetchJobs(JobSearchCriteria.builder().build(), in -> in)))
+                .isInstanceOf(ExternalSourceException.class)
+                .hasMessageContaining("deadline");
+        verifyNoInteractions(restClient);
+    }
 }
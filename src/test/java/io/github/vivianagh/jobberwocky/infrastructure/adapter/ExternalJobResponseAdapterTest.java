@@ -25,11 +25,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -244,4 +254,118 @@ public class ExternalJobResponseAdapterTest {
         assertThat(jobs).allMatch(job -> "EXTERNAL_API".equals(job.getSource()));
     }
 
+
+    @Test
+    void shouldStreamJobsSkippingMalformedEntriesInPlace() {
+        // Given - broken entries between good ones, in every shape
+        String json = """
+            {
+              "USA": [
+                ["Cloud Engineer", 65000, "<skills></skills>"],
+                ["Too", "few"],
+                ["Nested", {"salary": 1}, "<skills></skills>"],
+                ["No salary", null, "<skills></skills>"],
+                "not an array",
+                ["Bad salary", "lots", "<skills></skills>"],
+                ["DevOps Engineer", 60000.50, "<skills></skills>"]
+              ],
+              "Nowhere": {"oops": [1, 2]},
+              "Empty": null,
+              "Spain": [
+                ["ML Engineer", "75000", "<skills></skills>"]
+              ]
+            }
+            """;
+        when(xmlSkillsParser.parseSkills(anyString())).thenReturn(Set.of());
+
+        // When
+        List<Job> jobs = adapter.stream(body(json)).toList();
+
+        // Then
+        assertThat(jobs).extracting(Job::getTitle)
+                .containsExactly("Cloud Engineer", "DevOps Engineer", "ML Engineer");
+        assertThat(jobs.get(1).getSalary()).isEqualByComparingTo("60000.50");
+        assertThat(jobs.get(2).getCountry()).isEqualTo("Spain");
+    }
+
+    @Test
+    void shouldKeepJobsReadBeforeTruncatedJson() {
+        // Given
+        String json = """
+            {"USA": [["Cloud Engineer", 65000, "<skills></skills>"], ["DevOps Eng""";
+        when(xmlSkillsParser.parseSkills(anyString())).thenReturn(Set.of());
+
+        // When
+        List<Job> jobs = adapter.stream(body(json)).toList();
+
+        // Then
+        assertThat(jobs).extracting(Job::getTitle).containsExactly("Cloud Engineer");
+    }
+
+    @Test
+    void shouldStopReadingTheBodyWhenTheConsumerStops() {
+        // Given - a large response; only the first job is wanted
+        StringBuilder json = new StringBuilder("{\"USA\": [");
+        for (int i = 0; i < 10_000; i++) {
+            if (i > 0) json.append(',');
+            json.append("[\"Job ").append(i).append("\", 50000, \"<skills></skills>\"]");
+        }
+        json.append("]}");
+        byte[] bytes = json.toString().getBytes(StandardCharsets.UTF_8);
+        AtomicInteger bytesRead = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        InputStream body = new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int n = super.read(b, off, len);
+                if (n > 0) bytesRead.addAndGet(n);
+                return n;
+            }
+
+            @Override
+            public void close() throws IOException {
+                closed.set(true);
+                super.close();
+            }
+        };
+        when(xmlSkillsParser.parseSkills(anyString())).thenReturn(Set.of());
+
+        // When
+        List<Job> jobs;
+        try (Stream<Job> stream = adapter.stream(body)) {
+            jobs = stream.limit(1).toList();
+        }
+
+        // Then
+        assertThat(jobs).extracting(Job::getTitle).containsExactly("Job 0");
+        assertThat(bytesRead.get()).isLessThan(bytes.length / 10);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void shouldStreamNothingFromInvalidJson() {
+        assertThat(adapter.stream(body("{ invalid json }")).toList()).isEmpty();
+        assertThat(adapter.stream(body("[]")).toList()).isEmpty();
+        assertThat(adapter.stream(body("")).toList()).isEmpty();
+    }
+
+    @Test
+    void shouldPropagateReadFailures() {
+        // Given - the connection drops, which is not a parse error
+        InputStream body = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        // When & Then
+        assertThatThrownBy(() -> adapter.stream(body).toList())
+                .isInstanceOf(UncheckedIOException.class)
+                .hasRootCauseMessage("Connection reset");
+    }
+
+    private static InputStream body(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
 }
@@ -0,0 +1,82 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestClient;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GzipResponseInterceptorTest {
+
+    private static final String BODY = "{\"USA\": [[\"Java Developer\", 100000, \"<skills><skill>Java</skill></skills>\"]]}";
+
+    private HttpServer server;
+    private RestClient client;
+    private final AtomicReference<String> acceptEncoding = new AtomicReference<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/jobs", exchange -> {
+            acceptEncoding.set(exchange.getRequestHeaders().getFirst("Accept-Encoding"));
+            byte[] payload = gzip(BODY);
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, payload.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(payload);
+            }
+        });
+        server.createContext("/empty", exchange -> {
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(204, -1);
+            exchange.close();
+        });
+        server.start();
+
+        client = RestClient.builder()
+                .baseUrl("http://127.0.0.1:" + server.getAddress().getPort())
+                .requestFactory(new JdkClientHttpRequestFactory())
+                .requestInterceptor(new GzipResponseInterceptor())
+                .build();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private static byte[] gzip(String s) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(bytes)) {
+            gz.write(s.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+    @Test
+    void shouldRequestAndInflateGzipBodies() {
+        //When
+        String body = client.get().uri("/jobs").retrieve().body(String.class);
+
+        //Then
+        assertThat(acceptEncoding.get()).isEqualTo("gzip");
+        assertThat(body).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldAcceptEmptyBodiesMarkedAsGzip() {
+        assertThat(client.get().uri("/empty").retrieve().toBodilessEntity().getStatusCode().value())
+                .isEqualTo(204);
+    }
+}
@@ -0,0 +1,50 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyTrackerTest {
+
+    @Test
+    void shouldHaveNoPercentileBeforeMinSamples() {
+        //Given
+        LatencyTracker tracker = new LatencyTracker(100, 5);
+
+        //When
+        for (int i = 0; i < 4; i++) tracker.record(10);
+
+        //Then
+        assertThat(tracker.percentile(0.95)).isEqualTo(-1);
+        tracker.record(10);
+        assertThat(tracker.percentile(0.95)).isEqualTo(10);
+    }
+
+    @Test
+    void shouldComputePercentilesOverTheWindow() {
+        //Given
+        LatencyTracker tracker = new LatencyTracker(100, 1);
+
+        //When - 1..100
+        for (int i = 1; i <= 100; i++) tracker.record(i);
+
+        //Then
+        assertThat(tracker.percentile(0.5)).isEqualTo(50);
+        assertThat(tracker.percentile(0.95)).isEqualTo(95);
+        assertThat(tracker.percentile(1.0)).isEqualTo(100);
+    }
+
+    @Test
+    void shouldForgetSamplesOutsideTheWindow() {
+        //Given
+        LatencyTracker tracker = new LatencyTracker(64, 1);
+        for (int i = 0; i < 64; i++) tracker.record(1_000);
+
+        //When - a full window of faster calls
+        for (int i = 0; i < 64; i++) tracker.record(10);
+
+        //Then
+        assertThat(tracker.count()).isEqualTo(64);
+        assertThat(tracker.percentile(0.95)).isEqualTo(10);
+    }
+}
@@ -0,0 +1,177 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RequestHedgerTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private RequestHedger hedger(long delayMs, double budgetPercent) {
+        return new RequestHedger("external-jobs", delayMs, 0, budgetPercent, 10, registry);
+    }
+
+    private double count(String name) {
+        return registry.get(name).tag("client", "external-jobs").counter().count();
+    }
+
+    @Test
+    void shouldNotHedgeFastCalls() throws Exception {
+        //Given
+        RequestHedger hedger = hedger(1000, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        //When
+        String result = hedger.execute(claim -> {
+            attempts.incrementAndGet();
+            return claim.getAsBoolean() ? "first" : null;
+        });
+
+        //Then
+        assertThat(result).isEqualTo("first");
+        assertThat(attempts).hasValue(1);
+        assertThat(count("http.client.hedge.calls")).isEqualTo(1);
+        assertThat(count("http.client.hedge.sent")).isZero();
+    }
+
+    @Test
+    void shouldAnswerWithTheHedgeWhenTheFirstCallIsSlow() throws Exception {
+        //Given
+        RequestHedger hedger = hedger(20, 5);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch slowInterrupted = new CountDownLatch(1);
+
+        //When
+        String result = hedger.execute(claim -> {
+            if (attempts.incrementAndGet() == 1) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    slowInterrupted.countDown();
+                    throw e;
+                }
+            }
+            return claim.getAsBoolean() ? "hedge" : null;
+        });
+
+        //Then
+        assertThat(result).isEqualTo("hedge");
+        assertThat(slowInterrupted.await(2, TimeUnit.SECONDS)).isTrue();
+        assertThat(count("http.client.hedge.sent")).isEqualTo(1);
+        assertThat(count("http.client.hedge.wins")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepTheFirstAnswerWhenItArrivesAfterTheHedgeWasSent() throws Exception {
+        //Given
+        RequestHedger hedger = hedger(20, 5);
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch firstAnswered = new CountDownLatch(1);
+
+        //When - the first call answers while the hedge is still waiting
+        String result = hedger.execute(claim -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread.sleep(60);
+                boolean won = claim.getAsBoolean();
+                firstAnswered.countDown();
+                return won ? "first" : null;
+            }
+            firstAnswered.await();
+            return claim.getAsBoolean() ? "hedge" : null;
+        });
+
+        //Then
+        assertThat(result).isEqualTo("first");
+        assertThat(count("http.client.hedge.sent")).isEqualTo(1);
+        assertThat(count("http.client.hedge.wins")).isZero();
+    }
+
+    @Test
+    void shouldStopHedgingWhenTheBudgetIsSpent() throws Exception {
+        //Given - no budget refill: only the initial hedge
+        RequestHedger hedger = hedger(10, 0);
+
+        //When
+        for (int i = 0; i < 3; i++) {
+            hedger.execute(claim -> {
+                Thread.sleep(30);
+                return claim.getAsBoolean() ? "slow" : null;
+            });
+        }
+
+        //Then
+        assertThat(count("http.client.hedge.calls")).isEqualTo(3);
+        assertThat(count("http.client.hedge.sent")).isEqualTo(1);
+        assertThat(count("http.client.hedge.budget.exhausted")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFailOnlyWhenEveryAttemptFailed() throws Exception {
+        //Given
+        RequestHedger hedger = hedger(20, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        //When - the first call fails after the hedge was sent
+        String result = hedger.execute(claim -> {
+            if (attempts.incrementAndGet() == 1) {
+                Thread.sleep(40);
+                throw new IllegalStateException("first failed");
+            }
+            Thread.sleep(80);
+            return claim.getAsBoolean() ? "hedge" : null;
+        });
+
+        //Then
+        assertThat(result).isEqualTo("hedge");
+        assertThatThrownBy(() -> hedger.execute(claim -> {
+            Thread.sleep(30);
+            throw new IllegalStateException("down");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("down");
+    }
+
+    @Test
+    void shouldNotHedgeACallThatAlreadyFailed() {
+        //Given
+        RequestHedger hedger = hedger(50, 5);
+        AtomicInteger attempts = new AtomicInteger();
+
+        //When & Then
+        assertThatThrownBy(() -> hedger.execute(claim -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("404");
+        })).hasMessage("404");
+        assertThat(attempts).hasValue(1);
+        assertThat(count("http.client.hedge.sent")).isZero();
+    }
+
+    @Test
+    void shouldHedgeAfterTheObservedP95OnceEnoughCallsWereSeen() throws Exception {
+        //Given
+        RequestHedger hedger = new RequestHedger("external-jobs", 0, 50, 5, 10, registry);
+        assertThat(hedger.delayNanos()).isZero();
+
+        //When
+        for (int i = 0; i < 10; i++) {
+            hedger.execute(claim -> claim.getAsBoolean() ? "fast" : null);
+        }
+
+        //Then - fast calls: the floor
+        assertThat(hedger.delayNanos()).isEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+        assertThat(registry.get("http.client.hedge.delay").tag("client", "external-jobs").gauge().value())
+                .isEqualTo(50.0);
+        assertThat(count("http.client.hedge.sent")).isZero();
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.vivianagh.jobberwocky.infrastructure.adapter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RetryPolicyTest {
+
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+    }
+
+    private RetryPolicy policy(int maxAttempts, double budgetPercent) {
+        return new RetryPolicy("external-jobs", maxAttempts, 1, 5, budgetPercent, registry);
+    }
+
+    private double count(String name, String... tags) {
+        return registry.get(name).tag("client", "external-jobs").tags(tags).counter().count();
+    }
+
+    private static Exception transientFailure() {
+        return new IllegalStateException("503");
+    }
+
+    @Test
+    void shouldRetryTransientFailuresUntilACallSucceeds() throws Exception {
+        //Given
+        RetryPolicy policy = policy(3, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        //When
+        String result = policy.execute(() -> {
+            if (calls.incrementAndGet() < 3) throw transientFailure();
+            return "ok";
+        }, e -> true);
+
+        //Then
+        assertThat(result).isEqualTo("ok");
+        assertThat(calls).hasValue(3);
+        assertThat(count("http.client.retry.sent")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotRetryPermanentFailuresOrBeyondMaxAttempts() {
+        //Given
+        RetryPolicy policy = policy(2, 100);
+        AtomicInteger calls = new AtomicInteger();
+
+        //When & Then - not retryable
+        assertThatThrownBy(() -> policy.execute(() -> {
+            calls.incrementAndGet();
+            throw new IllegalArgumentException("404");
+        }, e -> !(e instanceof IllegalArgumentException))).hasMessage("404");
+        assertThat(calls).hasValue(1);
+
+        //When & Then - always failing
+        calls.set(0);
+        assertThatThrownBy(() -> policy.execute(() -> {
+            calls.incrementAndGet();
+            throw transientFailure();
+        }, e -> true)).hasMessage("503");
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void shouldStopRetryingWhenTheBudgetIsSpent() throws Exception {
+        //Given - no refill: only the initial retry
+        RetryPolicy policy = policy(3, 0);
+        AtomicInteger calls = new AtomicInteger();
+
+        //When - an outage: every call fails
+        for (int i = 0; i < 5; i++) {
+            assertThatThrownBy(() -> policy.execute(() -> {
+                calls.incrementAndGet();
+                throw transientFailure();
+            }, e -> true)).hasMessage("503");
+        }
+
+        //Then - 5 calls + 1 retry instead of 15 calls
+        assertThat(calls).hasValue(6);
+        assertThat(count("http.client.retry.sent")).isEqualTo(1);
+        assertThat(count("http.client.retry.skipped", "reason", "budget")).isEqualTo(5);
+    }
+
+    @Test
+    void shouldNotRetryPastTheCallersDeadline() throws Exception {
+        //Given - backoff up to 1 s, 5 ms left
+        RetryPolicy policy = new RetryPolicy("external-jobs", 3, 1000, 1000, 100, registry);
+        AtomicInteger calls = new AtomicInteger();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(5);
+
+        //When
+        for (int i = 0; i < 10; i++) {
+            try {
+                CallDeadline.run(deadline, () -> policy.execute(() -> {
+                    calls.incrementAndGet();
+                    throw transientFailure();
+                }, e -> true));
+            } catch (IllegalStateException expected) {
+                // the last failure
+            }
+        }
+
+        //Then - almost every jittered backoff overshoots the deadline
+        assertThat(count("http.client.retry.skipped", "reason", "deadline")).isGreaterThan(0);
+        assertThat(CallDeadline.get()).isNull();
+    }
+
+    @Test
+    void shouldRestoreThePreviousDeadline() throws Exception {
+        //When
+        Long inner = CallDeadline.run(42L, () -> CallDeadline.run(7L, CallDeadline::get));
+        Long none = CallDeadline.run(42L, () -> CallDeadline.run(null, CallDeadline::get));
+
+        //Then
+        assertThat(inner).isEqualTo(7L);
+        assertThat(none).isNull();
+        assertThat(CallDeadline.get()).isNull();
+        assertThat(CallDeadline.remainingNanos()).isEqualTo(Long.MAX_VALUE);
+    }
+}
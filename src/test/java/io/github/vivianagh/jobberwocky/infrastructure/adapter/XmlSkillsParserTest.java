@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 
 import java.util.Set;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  *
@@ -68,4 +69,74 @@ public class XmlSkillsParserTest {
         assertThat(skills).isEmpty();
     }
 
+    @Test
+    void shouldRejectDoctypeAndExternalEntities() {
+        // Given - classic XXE payload
+        String xxe = """
+                <?xml version="1.0"?>
+                <!DOCTYPE skills [<!ENTITY xxe SYSTEM "file:///etc/passwd">]>
+                <skills><skill>&xxe;</skill><skill>Java</skill></skills>""";
+
+        // When
+        Set<String> skills = parser.parseSkills(xxe);
+
+        // Then
+        assertThat(skills).isEmpty();
+    }
+
+    @Test
+    void shouldReadCdataAndNestedMarkupAsText() {
+        // When
+        Set<String> skills = parser.parseSkills(
+                "<skills><skill><![CDATA[C++]]></skill><skill>  Spring <b>Boot</b> </skill><skill> </skill></skills>");
+
+        // Then
+        assertThat(skills).containsExactlyInAnyOrder("C++", "Spring Boot");
+    }
+
+    @Test
+    void shouldReturnImmutableSharedSetsForRepeatedSnippets() {
+        // Given - same skills, different snippets
+        String xml = "<skills><skill>AWS</skill><skill>Docker</skill></skills>";
+        String reordered = "<skills><skill>Docker</skill><skill>AWS</skill></skills>";
+
+        // When
+        Set<String> first = parser.parseSkills(xml);
+        Set<String> second = parser.parseSkills(xml);
+        Set<String> third = parser.parseSkills(reordered);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(third).isSameAs(first);
+        assertThatThrownBy(() -> first.add("Go")).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(parser.cacheSize()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldBoundTheCache() {
+        // Given
+        XmlSkillsParser small = new XmlSkillsParser(2);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            small.parseSkills("<skills><skill>Skill " + i + "</skill></skills>");
+        }
+
+        // Then
+        assertThat(small.cacheSize()).isEqualTo(2);
+        assertThat(small.parseSkills("<skills><skill>Skill 0</skill></skills>")).containsExactly("Skill 0");
+    }
+
+    @Test
+    void shouldParseWithoutCache() {
+        // Given
+        XmlSkillsParser uncached = new XmlSkillsParser(0);
+
+        // When
+        Set<String> skills = uncached.parseSkills("<skills><skill>AWS</skill></skills>");
+
+        // Then
+        assertThat(skills).containsExactly("AWS");
+        assertThat(uncached.cacheSize()).isZero();
+    }
 }
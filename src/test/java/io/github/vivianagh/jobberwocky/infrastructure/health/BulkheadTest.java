@@ -0,0 +1,76 @@
+package io.github.vivianagh.jobberwocky.infrastructure.health;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BulkheadTest {
+
+    private static long in(long ms) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+
+    @Test
+    void shouldRejectAtOnceWhenPermitsAndQueueAreTaken() throws Exception {
+        //Given
+        Bulkhead bulkhead = new Bulkhead(1, 0);
+        assertThat(bulkhead.tryEnter(in(1_000))).isTrue();
+
+        //When
+        long start = System.nanoTime();
+        boolean entered = bulkhead.tryEnter(in(5_000));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        //Then
+        assertThat(entered).isFalse();
+        assertThat(elapsedMs).isLessThan(1_000);
+        assertThat(bulkhead.active()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldLetQueuedCallInOncePermitIsReturned() throws Exception {
+        //Given
+        Bulkhead bulkhead = new Bulkhead(1, 1);
+        bulkhead.tryEnter(in(1_000));
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Boolean> waiting = executor.submit(() -> bulkhead.tryEnter(in(5_000)));
+            while (bulkhead.queued() == 0) Thread.onSpinWait();
+
+            //When - the queue is full too, then the running call ends
+            boolean overflow = bulkhead.tryEnter(in(5_000));
+            bulkhead.exit();
+
+            //Then
+            assertThat(overflow).isFalse();
+            assertThat(waiting.get(2, TimeUnit.SECONDS)).isTrue();
+            assertThat(bulkhead.queued()).isZero();
+            assertThat(bulkhead.active()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void shouldGiveUpWaitingAtTheDeadline() throws Exception {
+        //Given
+        Bulkhead bulkhead = new Bulkhead(1, 1);
+        bulkhead.tryEnter(in(1_000));
+
+        //When
+        CompletableFuture<Boolean> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return bulkhead.tryEnter(in(50));
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        //Then
+        assertThat(waiting.get(2, TimeUnit.SECONDS)).isFalse();
+        assertThat(bulkhead.queued()).isZero();
+    }
+}
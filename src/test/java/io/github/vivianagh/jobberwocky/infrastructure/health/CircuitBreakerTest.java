@@ -0,0 +1,137 @@
+package io.github.vivianagh.jobberwocky.infrastructure.health;
+
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private CircuitBreaker breaker;
+
+    @BeforeEach
+    void setUp() {
+        SourcesProperties.Health config = new SourcesProperties.Health();
+        config.setWindowSize(10);
+        config.setMinimumCalls(4);
+        config.setFailureRateThreshold(0.5);
+        config.setOpenStateMs(1000);
+        config.setHalfOpenMaxCalls(1);
+        breaker = new CircuitBreaker(config, clock::get);
+    }
+
+    private void advanceMs(long ms) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(ms));
+    }
+
+    @Test
+    void shouldStayClosedBelowMinimumCalls() {
+        //Given
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        //Then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldOpenWhenFailureRateCrossesThreshold() {
+        //Given
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        //Then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        assertThat(breaker.isCallPermitted()).isFalse();
+    }
+
+    @Test
+    void shouldForgetOutcomesThatLeaveTheWindow() {
+        //Given: old failures pushed out by successes
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        for (int i = 0; i < 10; i++) breaker.onSuccess();
+
+        //Then
+        assertThat(breaker.failureRate()).isZero();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldLetOneTrialThroughAfterOpenPeriod() {
+        //Given
+        breaker.onProbe(false);
+        advanceMs(1000);
+
+        //When
+        boolean first = breaker.tryAcquire();
+        boolean second = breaker.tryAcquire();
+
+        //Then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void shouldCloseOnSuccessfulTrialAndReopenOnFailedTrial() {
+        //Given
+        breaker.onProbe(false);
+        advanceMs(1000);
+        breaker.tryAcquire();
+
+        //When
+        breaker.onSuccess();
+
+        //Then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        //And: a failed trial opens it again
+        breaker.onProbe(false);
+        advanceMs(1000);
+        breaker.tryAcquire();
+        breaker.onFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void shouldMoveToHalfOpenWhenProbeSeesSourceBack() {
+        //Given
+        breaker.onProbe(false);
+        advanceMs(1000);
+
+        //When
+        breaker.onProbe(true);
+
+        //Then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void shouldStayOpenForTheOpenIntervalDespiteASuccessfulProbe() {
+        //Given - opened by failed calls
+        for (int i = 0; i < 4; i++) breaker.onFailure();
+        advanceMs(999);
+
+        //When
+        breaker.onProbe(true);
+
+        //Then
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquire()).isFalse();
+        advanceMs(1);
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+}
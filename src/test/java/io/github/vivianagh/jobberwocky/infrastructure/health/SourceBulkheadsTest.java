@@ -0,0 +1,67 @@
+package io.github.vivianagh.jobberwocky.infrastructure.health;
+
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+import io.github.vivianagh.jobberwocky.domain.port.JobSource;
+import io.github.vivianagh.jobberwocky.exception.SourceSaturatedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class SourceBulkheadsTest {
+
+    private static JobSource source(String name) {
+        JobSource s = mock(JobSource.class);
+        when(s.getSourceName()).thenReturn(name);
+        return s;
+    }
+
+    @Test
+    void shouldSkipOnlyTheSaturatedSource() throws Exception {
+        //Given - EXT allows one call and no queue, INT the defaults
+        SourcesProperties props = new SourcesProperties();
+        SourcesProperties.Limits limits = new SourcesProperties.Limits();
+        limits.setMaxConcurrent(1);
+        limits.setMaxQueued(0);
+        props.getBulkhead().getSources().put("EXT", limits);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SourceBulkheads bulkheads = new SourceBulkheads(props, registry);
+        JobSource ext = source("EXT");
+        JobSource internal = source("INT");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> slow = executor.submit(() -> bulkheads.call(ext, deadline, () -> {
+                running.countDown();
+                release.await();
+                return "slow";
+            }));
+            running.await();
+
+            //When & Then
+            assertThatThrownBy(() -> bulkheads.call(ext, deadline, () -> "second"))
+                    .isInstanceOf(SourceSaturatedException.class);
+            assertThat(bulkheads.call(internal, deadline, () -> "internal")).isEqualTo("internal");
+            assertThat(registry.get("sources.bulkhead.saturation").tag("source", "EXT").gauge().value())
+                    .isEqualTo(1.0);
+            assertThat(registry.get("sources.bulkhead.rejected").tag("source", "EXT").counter().count())
+                    .isEqualTo(1);
+
+            release.countDown();
+            assertThat(slow.get(2, TimeUnit.SECONDS)).isEqualTo("slow");
+        }
+        assertThat(bulkheads.get("EXT").active()).isZero();
+        assertThat(bulkheads.get("INT").maxConcurrent()).isEqualTo(32);
+    }
+}
@@ -0,0 +1,110 @@
+package io.github.vivianagh.jobberwocky.infrastructure.health;
+
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+import io.github.vivianagh.jobberwocky.domain.port.JobSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class SourceHealthRegistryTest {
+
+    private SourceHealthRegistry registry;
+    private JobSource source;
+
+    @BeforeEach
+    void setUp() {
+        SourcesProperties props = new SourcesProperties();
+        props.getHealth().setMinimumCalls(2);
+        registry = new SourceHealthRegistry(props);
+
+        source = mock(JobSource.class);
+        when(source.getSourceName()).thenReturn("EXT");
+        when(source.isAvailable()).thenReturn(true);
+    }
+
+    @Test
+    void shouldProbeOnlyOnFirstSighting() {
+        //When
+        registry.tryAcquire(source);
+        registry.tryAcquire(source);
+        registry.isCallPermitted(source);
+
+        //Then
+        verify(source, timeout(2000).times(1)).isAvailable();
+        verify(source, after(100).times(1)).isAvailable();
+    }
+
+    @Test
+    void shouldNotWaitForTheFirstProbe() throws Exception {
+        //Given - a source whose health check hangs
+        CountDownLatch checking = new CountDownLatch(1);
+        CountDownLatch answer = new CountDownLatch(1);
+        when(source.isAvailable()).thenAnswer(inv -> {
+            checking.countDown();
+            answer.await();
+            return false;
+        });
+
+        //When
+        boolean permitted = registry.tryAcquire(source);
+
+        //Then - CLOSED until the probe answers
+        assertThat(permitted).isTrue();
+        assertThat(checking.await(2, TimeUnit.SECONDS)).isTrue();
+        answer.countDown();
+    }
+
+    @Test
+    void shouldSkipSourceThatFailedItsFirstProbe() {
+        //Given
+        when(source.isAvailable()).thenReturn(false);
+
+        //When
+        registry.isCallPermitted(source);
+
+        //Then
+        await(() -> !registry.isCallPermitted(source));
+        assertThat(registry.tryAcquire(source)).isFalse();
+    }
+
+    @Test
+    void shouldOpenAfterTimeoutsAndReportThem() {
+        //When
+        registry.recordTimeout(source);
+        registry.recordTimeout(source);
+
+        //Then
+        assertThat(registry.tryAcquire(source)).isFalse();
+        var health = registry.snapshot().get("EXT");
+        assertThat(health.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(health.timeouts()).isEqualTo(2);
+    }
+
+    @Test
+    void probeAllShouldRecheckKnownSources() {
+        //Given
+        registry.tryAcquire(source);
+        verify(source, timeout(2000)).isAvailable();
+        when(source.isAvailable()).thenReturn(false);
+
+        //When
+        registry.probeAll();
+
+        //Then
+        assertThat(registry.isCallPermitted(source)).isFalse();
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
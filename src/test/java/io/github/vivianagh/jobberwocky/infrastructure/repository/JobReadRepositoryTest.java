@@ -0,0 +1,70 @@
+package io.github.vivianagh.jobberwocky.infrastructure.repository;
+
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+public class JobReadRepositoryTest {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository.deleteAll();
+        for (int i = 1; i <= 5; i++) {
+            jobRepository.save(Job.builder()
+                    .title("Developer " + i)
+                    .description("Long description " + i)
+                    .company("Acme")
+                    .country(i % 2 == 0 ? "Spain" : "USA")
+                    .salary(new BigDecimal(i * 10000))
+                    .skills(Set.of("Java", "Skill" + i))
+                    .source("INTERNAL")
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void shouldReturnUnmanagedJobsWithTheirSkills() {
+        //When
+        List<Job> jobs = jobRepository.findDetached(null, Sort.by("salary"), 0, Integer.MAX_VALUE);
+
+        //Then
+        assertThat(jobs).hasSize(5);
+        assertThat(jobs).extracting(Job::getTitle).startsWith("Developer 1");
+        assertThat(jobs.get(0).getDescription()).isEqualTo("Long description 1");
+        assertThat(jobs.get(0).getSkills()).containsExactlyInAnyOrder("Java", "Skill1");
+        assertThat(jobs).noneMatch(entityManager.getEntityManager()::contains);
+    }
+
+    @Test
+    void shouldApplySpecificationSortAndWindow() {
+        //Given
+        Specification<Job> inUsa = (root, query, cb) -> cb.equal(root.get("country"), "USA");
+
+        //When
+        List<Job> jobs = jobRepository.findDetached(inUsa, Sort.by(Sort.Direction.DESC, "salary"), 1, 1);
+
+        //Then: USA jobs are 1, 3, 5 -> desc -> second one
+        assertThat(jobs).extracting(Job::getTitle).containsExactly("Developer 3");
+        assertThat(jobs.get(0).getSkills()).containsExactlyInAnyOrder("Java", "Skill3");
+    }
+}
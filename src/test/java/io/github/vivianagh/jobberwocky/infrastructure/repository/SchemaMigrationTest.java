@@ -0,0 +1,97 @@
+package io.github.vivianagh.jobberwocky.infrastructure.repository;
+
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.infrastructure.source.InternalJobSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the real migrations and lets Hibernate validate the entities against them.
+ */
+@DataJpaTest
+@Import(InternalJobSource.class)
+@TestPropertySource(properties = {
+        "spring.flyway.enabled=true",
+        "spring.jpa.hibernate.ddl-auto=validate"
+})
+public class SchemaMigrationTest {
+
+    @Autowired
+    private JobRepository jobRepository;
+
+    @Autowired
+    private InternalJobSource internalJobSource;
+
+    private Job job(String title, String country, String source, String externalId) {
+        return Job.builder()
+                .title(title)
+                .company("Acme")
+                .country(country)
+                .salary(new BigDecimal("100000"))
+                .skills(Set.of("Java"))
+                .source(source)
+                .externalId(externalId)
+                .build();
+    }
+
+    @Test
+    void shouldFillNormalizedColumnsAndSearchThem() {
+        //Given
+        Job saved = jobRepository.saveAndFlush(job("  Senior   Java Engineer ", " Spain ", "INTERNAL", null));
+
+        //When
+        List<Job> jobs = internalJobSource.searchJobs(JobSearchCriteria.builder()
+                .title("senior java")
+                .country("SPAIN")
+                .skill("JAVA")
+                .build());
+
+        //Then
+        assertThat(jobs).extracting(Job::getId).containsExactly(saved.getId());
+        // Search results are projections without the norm columns; read the entity
+        Job stored = jobRepository.findById(saved.getId()).orElseThrow();
+        assertThat(stored.getTitleNorm()).isEqualTo("senior java engineer");
+        assertThat(stored.getCountryNorm()).isEqualTo("spain");
+    }
+
+    @Test
+    void shouldRejectDuplicateExternalJobFromSameSource() {
+        //Given
+        jobRepository.saveAndFlush(job("Dev", "USA", "EXTERNAL_API", "EXT_1"));
+
+        //When & Then
+        assertThatThrownBy(() -> jobRepository.saveAndFlush(job("Dev", "USA", "EXTERNAL_API", "EXT_1")))
+                .isInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void shouldAllowManyInternalJobsWithoutExternalId() {
+        jobRepository.saveAndFlush(job("Dev", "USA", "INTERNAL", null));
+        jobRepository.saveAndFlush(job("Dev", "USA", "INTERNAL", null));
+
+        assertThat(jobRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldAssignIdsFromPooledSequence() {
+        //When
+        List<Job> saved = jobRepository.saveAllAndFlush(List.of(
+                job("A", "USA", "INTERNAL", null), job("B", "USA", "INTERNAL", null)));
+
+        //Then
+        assertThat(saved).extracting(Job::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(jobRepository.findAll()).hasSize(2);
+    }
+}
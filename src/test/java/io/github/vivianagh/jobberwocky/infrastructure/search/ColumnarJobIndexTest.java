@@ -0,0 +1,144 @@
+package io.github.vivianagh.jobberwocky.infrastructure.search;
+
+import io.github.vivianagh.jobberwocky.config.SearchProperties;
+import io.github.vivianagh.jobberwocky.domain.event.JobCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.event.JobsCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.infrastructure.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class ColumnarJobIndexTest {
+
+    private JobRepository jobRepository;
+    private ColumnarJobIndex index;
+
+    private static Job job(long id, String title, String country, String salary, String... skills) {
+        return Job.builder()
+                .id(id)
+                .title(title)
+                .company("Acme")
+                .country(country)
+                .salary(new BigDecimal(salary))
+                .skills(Set.of(skills))
+                .source("INTERNAL")
+                .build();
+    }
+
+    private List<Long> ids(JobSearchCriteria criteria) {
+        return index.search(criteria).stream().map(Job::getId).toList();
+    }
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        when(jobRepository.findDetached(any(), any(), anyLong(), anyInt())).thenReturn(List.of(
+                job(1, "Senior Java Engineer", "Spain", "100000.50", "Java", "Spring"),
+                job(2, "Java Developer", "USA", "120000", "Java", "Kotlin"),
+                job(3, "Data Scientist", "USA", "90000", "Python"),
+                job(4, "Frontend Developer", " spain ", "70000", "TypeScript", "java")));
+        index = new ColumnarJobIndex(jobRepository);
+        index.load();
+    }
+
+    @Test
+    void shouldNotAnswerBeforeLoading() {
+        ColumnarJobIndex fresh = new ColumnarJobIndex(jobRepository);
+
+        assertThat(fresh.search(JobSearchCriteria.builder().build())).isNull();
+    }
+
+    @Test
+    void shouldFilterOnCountryAndSalaryColumns() {
+        assertThat(ids(JobSearchCriteria.builder().country("SPAIN").build())).containsExactly(1L, 4L);
+        assertThat(ids(JobSearchCriteria.builder().minSalary(new BigDecimal("100000.50")).build()))
+                .containsExactly(1L, 2L);
+        assertThat(ids(JobSearchCriteria.builder().minSalary(new BigDecimal("100000.501")).build()))
+                .containsExactly(2L);
+        assertThat(ids(JobSearchCriteria.builder().country("usa").maxSalary(new BigDecimal("100000")).build()))
+                .containsExactly(3L);
+        assertThat(ids(JobSearchCriteria.builder().country("France").build())).isEmpty();
+    }
+
+    @Test
+    void shouldFilterOnSkillBitsets() {
+        assertThat(ids(JobSearchCriteria.builder().skill("JAVA").build())).containsExactly(1L, 2L, 4L);
+        assertThat(ids(JobSearchCriteria.builder().skill("java,kotlin").build())).containsExactly(2L);
+        assertThat(ids(JobSearchCriteria.builder().skill("java,rust").build())).isEmpty();
+        assertThat(ids(JobSearchCriteria.builder().skill("python,kotlin,rust")
+                .skillMatch(JobSearchCriteria.SkillMatch.ANY).build())).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void shouldMatchTitleTermsWithoutTitleIndex() {
+        assertThat(ids(JobSearchCriteria.builder().title("developer").build())).containsExactly(2L, 4L);
+        assertThat(ids(JobSearchCriteria.builder().title("java dev").skill("kotlin").build())).containsExactly(2L);
+    }
+
+    @Test
+    void shouldUseTitleIndexIdsWhenAvailable() {
+        //Given
+        TitleIndex titleIndex = mock(TitleIndex.class);
+        when(titleIndex.search("java")).thenReturn(new long[]{1, 2, 99});
+        ColumnarJobIndex withTitles = new ColumnarJobIndex(jobRepository, titleIndex, new SearchProperties());
+        withTitles.load();
+
+        //When
+        List<Job> out = withTitles.search(JobSearchCriteria.builder().title("java").country("usa").build());
+
+        //Then
+        assertThat(out).extracting(Job::getId).containsExactly(2L);
+    }
+
+    @Test
+    void shouldAddCreatedJobsOnce() {
+        //When
+        index.onJobCreated(new JobCreatedEvent(job(5, "Rust Engineer", "Spain", "80000", "Rust")));
+        index.onJobCreated(new JobCreatedEvent(job(5, "Rust Engineer", "Spain", "80000", "Rust")));
+        index.add(job(2, "Java Developer", "USA", "120000", "Java"));
+        index.onJobsCreated(new JobsCreatedEvent(List.of(
+                job(5, "Rust Engineer", "Spain", "80000", "Rust"), job(6, "Rust Lead", "Spain", "90000", "Rust"))));
+
+        //Then
+        assertThat(index.size()).isEqualTo(6);
+        assertThat(ids(JobSearchCriteria.builder().skill("rust").build())).containsExactly(5L, 6L);
+    }
+
+    @Test
+    void shouldScanSegmentsInParallelInRowOrder() {
+        //Given
+        SearchProperties props = new SearchProperties();
+        props.getColumnar().setSegmentSize(64);
+        props.getColumnar().setParallelThreshold(0);
+        List<Job> many = IntStream.rangeClosed(1, 1000)
+                .mapToObj(i -> job(i, "Job " + i, i % 2 == 0 ? "Spain" : "USA", String.valueOf(i * 100),
+                        i % 3 == 0 ? "Java" : "Go"))
+                .toList();
+        when(jobRepository.findDetached(any(), any(), anyLong(), anyInt())).thenReturn(many);
+        ColumnarJobIndex large = new ColumnarJobIndex(jobRepository, null, props);
+        large.load();
+
+        //When
+        List<Job> spainJava = large.search(JobSearchCriteria.builder().country("spain").skill("java").build());
+        List<Job> rich = large.search(JobSearchCriteria.builder().minSalary(new BigDecimal("90000")).build());
+
+        //Then
+        assertThat(spainJava).extracting(Job::getId)
+                .containsExactlyElementsOf(IntStream.rangeClosed(1, 1000).filter(i -> i % 6 == 0)
+                        .mapToObj(i -> (long) i).toList());
+        assertThat(rich).extracting(Job::getId)
+                .containsExactlyElementsOf(IntStream.rangeClosed(900, 1000).mapToObj(i -> (long) i).toList());
+    }
+}
@@ -0,0 +1,43 @@
+package io.github.vivianagh.jobberwocky.infrastructure.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class LongIntMapTest {
+
+    @Test
+    void shouldPutAndGetAcrossResizes() {
+        //Given
+        LongIntMap map = new LongIntMap(4);
+
+        //When
+        for (int i = 0; i < 10_000; i++) {
+            map.put(i * 7919L - 5_000, i);
+        }
+
+        //Then
+        assertThat(map.size()).isEqualTo(10_000);
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(map.get(i * 7919L - 5_000)).isEqualTo(i);
+        }
+        assertThat(map.get(1)).isEqualTo(LongIntMap.MISSING);
+    }
+
+    @Test
+    void shouldReplaceExistingValue() {
+        LongIntMap map = new LongIntMap(4);
+
+        assertThat(map.put(42, 1)).isEqualTo(LongIntMap.MISSING);
+        assertThat(map.put(42, 2)).isEqualTo(1);
+        assertThat(map.get(42)).isEqualTo(2);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRejectNegativeValues() {
+        assertThatThrownBy(() -> new LongIntMap(4).put(1, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.vivianagh.jobberwocky.infrastructure.search;
+
+import io.github.vivianagh.jobberwocky.config.SearchProperties;
+import io.github.vivianagh.jobberwocky.domain.event.JobCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SearchResultCacheTest {
+
+    private static final JobSearchCriteria JAVA_USA =
+            JobSearchCriteria.builder().skill("java").country("usa").build().canonical();
+    private static final JobSearchCriteria PYTHON =
+            JobSearchCriteria.builder().skill("python").build().canonical();
+
+    private SearchProperties properties;
+    private SimpleMeterRegistry registry;
+    private SearchResultCache cache;
+
+    private static SearchResult result(long id) {
+        Job job = Job.builder().id(id).title("Dev").country("USA").salary(BigDecimal.TEN).build();
+        return SearchResult.of("INTERNAL", List.of(job));
+    }
+
+    private double count(String name, String tag, String value) {
+        return registry.get(name).tag("cache", "search-results").tag(tag, value).counter().count();
+    }
+
+    @BeforeEach
+    void setUp() {
+        properties = new SearchProperties();
+        registry = new SimpleMeterRegistry();
+        cache = new SearchResultCache(properties, registry);
+    }
+
+    @Test
+    void shouldReturnStoredResultsAndCountHitsAndMisses() {
+        //Given
+        assertThat(cache.get(JAVA_USA, SearchWindow.ALL)).isNull();
+        cache.put(JAVA_USA, SearchWindow.ALL, result(1), cache.generation());
+
+        //When
+        SearchResult hit = cache.get(JAVA_USA, SearchWindow.ALL);
+
+        //Then
+        assertThat(hit.jobs()).extracting(Job::getId).containsExactly(1L);
+        assertThat(cache.get(JAVA_USA, new SearchWindow(0, 10, null))).isNull();
+        assertThat(count("cache.gets", "result", "hit")).isEqualTo(1);
+        assertThat(count("cache.gets", "result", "miss")).isEqualTo(2);
+        assertThat(registry.get("cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldExpireEntries() throws InterruptedException {
+        //Given
+        properties.getResultCache().setTtlMs(20);
+        cache.put(JAVA_USA, SearchWindow.ALL, result(1), cache.generation());
+
+        //When
+        Thread.sleep(40);
+
+        //Then
+        assertThat(cache.get(JAVA_USA, SearchWindow.ALL)).isNull();
+        assertThat(count("cache.evictions", "cause", "expired")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedBeyondMaxEntries() {
+        //Given
+        properties.getResultCache().setMaxEntries(2);
+        cache.put(JAVA_USA, SearchWindow.ALL, result(1), cache.generation());
+        cache.put(PYTHON, SearchWindow.ALL, result(2), cache.generation());
+        cache.get(JAVA_USA, SearchWindow.ALL);
+
+        //When
+        cache.put(JobSearchCriteria.builder().build().canonical(), SearchWindow.ALL, result(3), cache.generation());
+
+        //Then
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(PYTHON, SearchWindow.ALL)).isNull();
+        assertThat(cache.get(JAVA_USA, SearchWindow.ALL)).isNotNull();
+        assertThat(count("cache.evictions", "cause", "size")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldEvictOnlySearchesMatchingCreatedJob() {
+        //Given
+        cache.put(JAVA_USA, SearchWindow.ALL, result(1), cache.generation());
+        cache.put(JAVA_USA, new SearchWindow(0, 10, null), result(1), cache.generation());
+        cache.put(PYTHON, SearchWindow.ALL, result(2), cache.generation());
+        Job created = Job.builder().id(9L).title("Java Dev").country("USA")
+                .salary(BigDecimal.TEN).skills(Set.of("Java")).build();
+
+        //When
+        cache.onJobCreated(new JobCreatedEvent(created));
+
+        //Then
+        assertThat(cache.get(JAVA_USA, SearchWindow.ALL)).isNull();
+        assertThat(cache.get(PYTHON, SearchWindow.ALL)).isNotNull();
+        assertThat(count("cache.evictions", "cause", "job-created")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldInvalidateAWholeImportInOnePass() {
+        //Given
+        JobSearchCriteria rust = JobSearchCriteria.builder().title("rust").build().canonical();
+        cache.put(JAVA_USA, SearchWindow.ALL, result(1), cache.generation());
+        cache.put(PYTHON, SearchWindow.ALL, result(2), cache.generation());
+        cache.put(rust, SearchWindow.ALL, result(3), cache.generation());
+        long before = cache.generation();
+        List<Job> imported = List.of(
+                Job.builder().id(9L).title("Java Dev").country("USA").salary(BigDecimal.TEN).skills(Set.of("Java")).build(),
+                Job.builder().id(10L).title("Data Eng").country("UK").salary(BigDecimal.TEN).skills(Set.of("Python")).build(),
+                Job.builder().id(11L).title("Go Dev").country("USA").salary(BigDecimal.TEN).skills(Set.of("Go")).build());
+
+        //When
+        cache.onJobsCreated(imported);
+
+        //Then - one generation step for the batch, and only the matching searches evicted
+        assertThat(cache.generation()).isEqualTo(before + 1);
+        assertThat(cache.get(JAVA_USA, SearchWindow.ALL)).isNull();
+        assertThat(cache.get(PYTHON, SearchWindow.ALL)).isNull();
+        assertThat(cache.get(rust, SearchWindow.ALL)).isNotNull();
+        assertThat(count("cache.evictions", "cause", "job-created")).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotStoreResultsComputedAcrossACreate() {
+        //Given
+        long before = cache.generation();
+        cache.onJobCreated(new JobCreatedEvent(Job.builder().id(9L).title("Go Dev").country("Spain")
+                .salary(BigDecimal.TEN).build()));
+
+        //When
+        cache.put(JAVA_USA, SearchWindow.ALL, result(1), before);
+
+        //Then
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldNotStorePartialResults() {
+        //When
+        cache.put(JAVA_USA, SearchWindow.ALL,
+                new SearchResult(List.of(), 0, List.of("INTERNAL"), List.of("EXTERNAL")), cache.generation());
+
+        //Then
+        assertThat(cache.size()).isZero();
+    }
+}
@@ -0,0 +1,118 @@
+package io.github.vivianagh.jobberwocky.infrastructure.search;
+
+import io.github.vivianagh.jobberwocky.config.SearchProperties;
+import io.github.vivianagh.jobberwocky.domain.event.JobCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.event.JobsCreatedEvent;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.infrastructure.repository.JobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class TitleIndexTest {
+
+    private JobRepository jobRepository;
+    private TitleIndex index;
+
+    @BeforeEach
+    void setUp() {
+        jobRepository = mock(JobRepository.class);
+        when(jobRepository.findTitlesAfter(anyLong(), any())).thenReturn(List.of());
+        index = new TitleIndex(jobRepository);
+        index.add(1, "Senior Java Engineer");
+        index.add(2, "Java/Kotlin Developer");
+        index.add(3, "Senior JavaScript Developer");
+        index.add(4, "Data Scientist");
+    }
+
+    @Test
+    void shouldTokenizeOnNonAlphanumerics() {
+        assertThat(TitleIndex.tokenize("Sr. C++/Java  Dev (Remote)"))
+                .containsExactly("sr", "c", "java", "dev", "remote");
+        assertThat(TitleIndex.tokenize("  ")).isEmpty();
+        assertThat(Job.titleTokens("Sr. C++/Java  Dev")).isEqualTo(" sr c java dev");
+    }
+
+    @Test
+    void shouldRequireEveryTermAndMatchPrefixes() {
+        assertThat(index.search("senior java")).containsExactly(1, 3);
+        assertThat(index.search("SENIOR java engineer")).containsExactly(1);
+        assertThat(index.search("dev")).containsExactly(2, 3);
+        assertThat(index.search("kotlin java")).containsExactly(2);
+        assertThat(index.search("rust")).isEmpty();
+    }
+
+    @Test
+    void shouldGiveUpWhenTooManyMatch() {
+        //Given
+        SearchProperties props = new SearchProperties();
+        props.getTitleIndex().setMaxCandidates(1);
+        TitleIndex small = new TitleIndex(jobRepository, props);
+        small.add(1, "Java Engineer");
+        small.add(2, "Java Developer");
+
+        //When & Then
+        assertThat(small.search("java")).isNull();
+        assertThat(small.search("java dev")).containsExactly(2);
+    }
+
+    @Test
+    void shouldIndexCreatedJobs() {
+        //When
+        index.onJobCreated(new JobCreatedEvent(Job.builder().id(10L).title("Rust Engineer").build()));
+        index.onJobsCreated(new JobsCreatedEvent(List.of(
+                Job.builder().id(11L).title("Rust Developer").build(), Job.builder().id(12L).title("Go Developer").build())));
+
+        //Then
+        assertThat(index.search("rust")).containsExactly(10, 11);
+        assertThat(index.search("go dev")).containsExactly(12);
+    }
+
+    @Test
+    void shouldLoadRowsItHasNotSeenInBatches() {
+        //Given
+        SearchProperties props = new SearchProperties();
+        props.getTitleIndex().setLoadBatchSize(1);
+        TitleIndex fresh = new TitleIndex(jobRepository, props);
+        when(jobRepository.findTitlesAfter(eq(0L), any())).thenReturn(List.of(row(5L, "Go Developer")));
+        when(jobRepository.findTitlesAfter(eq(5L), any())).thenReturn(List.of(row(6L, "Go Engineer")));
+
+        //When
+        long[] ids = fresh.search("go");
+
+        //Then
+        assertThat(ids).containsExactly(5, 6);
+        verify(jobRepository).findTitlesAfter(eq(6L), any());
+    }
+
+    @Test
+    void shouldReconcileRowsCommittedOutOfIdOrder() {
+        //Given: id 8 is loaded, then id 7 (allocated first) commits
+        TitleIndex fresh = new TitleIndex(jobRepository);
+        when(jobRepository.findTitlesAfter(eq(0L), any())).thenReturn(List.of(row(8L, "Go Engineer")));
+        assertThat(fresh.search("go")).containsExactly(8);
+        when(jobRepository.findTitlesAfter(eq(0L), any()))
+                .thenReturn(List.of(row(7L, "Go Developer"), row(8L, "Go Engineer")));
+        assertThat(fresh.search("go")).containsExactly(8);
+
+        //When
+        fresh.reconcile();
+
+        //Then
+        assertThat(fresh.search("go")).containsExactly(7, 8);
+        assertThat(fresh.search("developer")).containsExactly(7);
+    }
+
+    private static JobRepository.JobTitle row(long id, String title) {
+        return new JobRepository.JobTitle() {
+            @Override public Long getId() { return id; }
+            @Override public String getTitle() { return title; }
+        };
+    }
+}
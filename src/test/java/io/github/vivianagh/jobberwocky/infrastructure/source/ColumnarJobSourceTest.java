@@ -0,0 +1,69 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.JobSort;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
+import io.github.vivianagh.jobberwocky.infrastructure.search.ColumnarJobIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ColumnarJobSourceTest {
+
+    private ColumnarJobIndex index;
+    private InternalJobSource database;
+    private ColumnarJobSource source;
+
+    private static Job job(long id, int salary) {
+        return Job.builder().id(id).title("Dev " + id).company("Acme").country("USA")
+                .salary(new BigDecimal(salary)).source("INTERNAL").build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        index = mock(ColumnarJobIndex.class);
+        database = mock(InternalJobSource.class);
+        source = new ColumnarJobSource(index, database);
+    }
+
+    @Test
+    void shouldAskTheDatabaseWhileLoading() {
+        //Given
+        JobSearchCriteria criteria = JobSearchCriteria.builder().country("USA").build();
+        SearchWindow window = SearchWindow.page(0, 10, JobSort.parse("salary,desc"));
+        SearchResult fromDb = SearchResult.of("INTERNAL", List.of(job(1, 100)));
+        when(index.isLoaded()).thenReturn(false);
+        when(database.search(criteria, window)).thenReturn(fromDb);
+
+        //When
+        SearchResult out = source.search(criteria, window);
+
+        //Then
+        assertThat(out).isSameAs(fromDb);
+    }
+
+    @Test
+    void shouldCutWindowsFromTheSnapshot() {
+        //Given
+        JobSearchCriteria criteria = JobSearchCriteria.builder().build();
+        when(index.isLoaded()).thenReturn(true);
+        when(index.search(criteria)).thenReturn(List.of(job(1, 100), job(2, 300), job(3, 200)));
+
+        //When
+        SearchResult out = source.search(criteria, SearchWindow.page(0, 2, JobSort.parse("salary,desc")));
+
+        //Then
+        assertThat(out.jobs()).extracting(Job::getId).containsExactly(2L, 3L);
+        assertThat(out.total()).isEqualTo(3);
+        assertThat(out.next()).isNotNull();
+        verify(database, never()).search(any(), any());
+    }
+}
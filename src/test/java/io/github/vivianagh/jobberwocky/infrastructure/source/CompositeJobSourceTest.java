@@ -1,16 +1,35 @@
 package io.github.vivianagh.jobberwocky.infrastructure.source;
 
 
+import io.github.vivianagh.jobberwocky.config.SearchProperties;
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
 import io.github.vivianagh.jobberwocky.domain.model.Job;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.JobSort;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
+import io.github.vivianagh.jobberwocky.domain.model.SourceCapabilities;
 import io.github.vivianagh.jobberwocky.domain.port.JobSource;
+import io.github.vivianagh.jobberwocky.infrastructure.health.CircuitBreaker;
+import io.github.vivianagh.jobberwocky.infrastructure.health.SourceHealthRegistry;
+import io.github.vivianagh.jobberwocky.infrastructure.search.SearchResultCache;
 import org.junit.jupiter.api.Test;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -41,6 +60,24 @@ public class CompositeJobSourceTest {
         return s;
     }
 
+    private static JobSource slowSource(String name, long delayMs, List<Job> results) {
+        JobSource s = mock(JobSource.class);
+        when(s.getSourceName()).thenReturn(name);
+        when(s.isAvailable()).thenReturn(true);
+        when(s.searchJobs(any())).thenAnswer(inv -> {
+            Thread.sleep(delayMs);
+            return results;
+        });
+        return s;
+    }
+
+    private static SourcesProperties props(boolean parallel, long deadlineMs) {
+        SourcesProperties p = new SourcesProperties();
+        p.setParallel(parallel);
+        p.setDeadlineMs(deadlineMs);
+        return p;
+    }
+
     private static JobSource failingSource(String name) {
         JobSource s = mock(JobSource.class);
         when(s.getSourceName()).thenReturn(name);
@@ -80,7 +117,14 @@ public class CompositeJobSourceTest {
         JobSource ok = mockSource("OK", true,
                 List.of(job("Platform Eng", "USA", 130000, "INTERNAL", null, 42L))
         );
-        CompositeJobSource composite = new CompositeJobSource(List.of(unavailable, fails, ok));
+        SourcesProperties props = new SourcesProperties();
+        SourceHealthRegistry health = new SourceHealthRegistry(props);
+        CompositeJobSource composite = new CompositeJobSource(List.of(unavailable, fails, ok), props, health);
+        // The first sighting probes in the background; let it answer
+        health.isCallPermitted(unavailable);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (health.isCallPermitted(unavailable) && System.nanoTime() < deadline) Thread.onSpinWait();
+
         //When
         var out = composite.searchJobs(JobSearchCriteria.builder().build());
 
@@ -116,4 +160,537 @@ public class CompositeJobSourceTest {
         assertThat(out.get(0).getExternalId()).isEqualTo("EXT_US_DEVOPS_110");
     }
 
+    @Test
+    void shouldQuerySourcesInParallel() {
+        //Given: two sources taking 300ms each
+        JobSource s1 = slowSource("S1", 300,
+                List.of(job("Backend Eng", "USA", 120000, "INTERNAL", null, 11L)));
+        JobSource s2 = slowSource("S2", 300,
+                List.of(job("Data Eng", "Spain", 90000, "EXTERNAL_API", "EXT_ES_DATA_90K", null)));
+        CompositeJobSource composite = new CompositeJobSource(List.of(s1, s2), props(true, 2000));
+
+        //When
+        long start = System.nanoTime();
+        SearchResult result = composite.search(JobSearchCriteria.builder().build());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        //Then: costs the slowest source, not the sum
+        assertThat(result.jobs()).hasSize(2);
+        assertThat(result.partial()).isFalse();
+        assertThat(result.respondedSources()).containsExactly("S1", "S2");
+        assertThat(elapsedMs).isLessThan(550);
+    }
+
+    @Test
+    void shouldReturnPartialResultsWhenDeadlinePasses() {
+        //Given
+        JobSource fast = mockSource("FAST", true,
+                List.of(job("Platform Eng", "USA", 130000, "INTERNAL", null, 42L)));
+        JobSource slow = slowSource("SLOW", 5_000,
+                List.of(job("Late Eng", "USA", 100000, "EXTERNAL_API", "EXT_LATE", null)));
+        CompositeJobSource composite = new CompositeJobSource(List.of(fast, slow), props(true, 200));
+
+        //When
+        long start = System.nanoTime();
+        SearchResult result = composite.search(JobSearchCriteria.builder().build());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        //Then
+        assertThat(result.jobs()).extracting(Job::getTitle).containsExactly("Platform Eng");
+        assertThat(result.partial()).isTrue();
+        assertThat(result.respondedSources()).containsExactly("FAST");
+        assertThat(result.droppedSources()).containsExactly("SLOW");
+        assertThat(elapsedMs).isLessThan(2_000);
+    }
+
+    @Test
+    void shouldFlagFailingSourceAsDropped() {
+        //Given
+        JobSource fails = failingSource("FAILS");
+        JobSource ok = mockSource("OK", true,
+                List.of(job("Platform Eng", "USA", 130000, "INTERNAL", null, 42L)));
+
+        for (boolean parallel : new boolean[]{true, false}) {
+            CompositeJobSource composite = new CompositeJobSource(List.of(fails, ok), props(parallel, 1000));
+
+            //When
+            SearchResult result = composite.search(JobSearchCriteria.builder().build());
+
+            //Then
+            assertThat(result.jobs()).hasSize(1);
+            assertThat(result.droppedSources()).containsExactly("FAILS");
+        }
+    }
+
+    @Test
+    void shouldNotHealthCheckOnEverySearch() {
+        //Given
+        JobSource ok = mockSource("OK", true,
+                List.of(job("Platform Eng", "USA", 130000, "INTERNAL", null, 42L)));
+        CompositeJobSource composite = new CompositeJobSource(List.of(ok));
+
+        //When
+        composite.search(JobSearchCriteria.builder().build());
+        composite.search(JobSearchCriteria.builder().build());
+        composite.search(JobSearchCriteria.builder().build());
+
+        //Then: only the first sighting probes (in the background), searches read the cached state
+        verify(ok, timeout(2000).times(1)).isAvailable();
+        verify(ok, times(3)).searchJobs(any());
+    }
+
+    @Test
+    void shouldSkipSourceOnceItsCircuitOpens() {
+        //Given: minimumCalls=5 by default, every call fails
+        JobSource fails = failingSource("FAILS");
+        JobSource ok = mockSource("OK", true,
+                List.of(job("Platform Eng", "USA", 130000, "INTERNAL", null, 42L)));
+        CompositeJobSource composite = new CompositeJobSource(List.of(fails, ok));
+
+        //When
+        for (int i = 0; i < 8; i++) {
+            composite.search(JobSearchCriteria.builder().build());
+        }
+        SearchResult last = composite.search(JobSearchCriteria.builder().build());
+
+        //Then: the breaker opened after 5 failures, later searches skip it
+        verify(fails, times(5)).searchJobs(any());
+        assertThat(last.jobs()).hasSize(1);
+        assertThat(last.respondedSources()).containsExactly("OK");
+        assertThat(last.droppedSources()).containsExactly("FAILS");
+        assertThat(last.partial()).isTrue();
+    }
+
+    @Test
+    void shouldReportSourceWithOpenCircuitAsDroppedAndNotCacheTheResult() {
+        //Given: FAILS' breaker is open
+        JobSource fails = failingSource("FAILS");
+        JobSource ok = mockSource("OK", true,
+                List.of(job("Platform Eng", "USA", 130000, "INTERNAL", null, 42L)));
+        SourcesProperties props = new SourcesProperties();
+        SourceHealthRegistry health = new SourceHealthRegistry(props);
+        for (int i = 0; i < 5; i++) {
+            health.tryAcquire(fails);
+            health.recordFailure(fails);
+        }
+        SearchResultCache cache = new SearchResultCache(new SearchProperties());
+        CompositeJobSource composite = new CompositeJobSource(List.of(fails, ok), props, health, cache);
+
+        //When
+        SearchResult first = composite.search(JobSearchCriteria.builder().build());
+        SearchResult second = composite.search(JobSearchCriteria.builder().build());
+        SearchResult streamed = composite.stream(JobSearchCriteria.builder().build(), jobs -> { });
+
+        //Then: flagged partial, so every search asks OK again instead of the cache
+        assertThat(first.droppedSources()).containsExactly("FAILS");
+        assertThat(second.droppedSources()).containsExactly("FAILS");
+        assertThat(streamed.droppedSources()).containsExactly("FAILS");
+        verify(fails, never()).searchJobs(any());
+        verify(ok, times(3)).searchJobs(any());
+    }
+
+    @Test
+    void shouldFetchTopRowsFromEachSourceAndMerge() {
+        //Given: each source sorts/slices its own rows (default port implementation)
+        JobSource s1 = mock(JobSource.class, CALLS_REAL_METHODS);
+        doReturn("S1").when(s1).getSourceName();
+        doReturn(List.of(
+                job("A", "USA", 100, "INTERNAL", null, 1L),
+                job("B", "USA", 400, "INTERNAL", null, 2L),
+                job("C", "USA", 250, "INTERNAL", null, 3L)
+        )).when(s1).searchJobs(any());
+        JobSource s2 = mock(JobSource.class, CALLS_REAL_METHODS);
+        doReturn("S2").when(s2).getSourceName();
+        doReturn(List.of(
+                job("D", "USA", 300, "EXTERNAL_API", "EXT_D", null),
+                job("E", "USA", 50, "EXTERNAL_API", "EXT_E", null)
+        )).when(s2).searchJobs(any());
+        CompositeJobSource composite = new CompositeJobSource(List.of(s1, s2));
+
+        //When: page 1 of size 2, salary desc
+        SearchWindow window = SearchWindow.page(1, 2, JobSort.parse("salary,desc"));
+        SearchResult result = composite.search(JobSearchCriteria.builder().build(), window);
+
+        //Then: every source was asked only for its top (offset + limit) rows
+        verify(s1).search(any(), eq(SearchWindow.top(4, window.sort())));
+        verify(s2).search(any(), eq(SearchWindow.top(4, window.sort())));
+        assertThat(result.jobs()).extracting(Job::getTitle).containsExactly("C", "A");
+        assertThat(result.total()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldNotCountDuplicatesInTotal() {
+        //Given
+        Job internal = job("DevOps Eng", "USA", 110000, "INTERNAL", "EXT_US_DEVOPS_110", 99L);
+        Job external = job("DevOps Eng", "USA", 110000, "EXTERNAL_API", "EXT_US_DEVOPS_110", null);
+        JobSource sInt = mock(JobSource.class);
+        when(sInt.getSourceName()).thenReturn("INT");
+        when(sInt.isAvailable()).thenReturn(true);
+        when(sInt.search(any(), any())).thenReturn(new SearchResult(List.of(internal), 1, List.of("INT"), List.of()));
+        JobSource sExt = mock(JobSource.class);
+        when(sExt.getSourceName()).thenReturn("EXT");
+        when(sExt.isAvailable()).thenReturn(true);
+        when(sExt.search(any(), any())).thenReturn(new SearchResult(List.of(external), 1, List.of("EXT"), List.of()));
+        CompositeJobSource composite = new CompositeJobSource(List.of(sExt, sInt));
+
+        //When
+        SearchResult result = composite.search(JobSearchCriteria.builder().build(), SearchWindow.page(0, 20, null));
+
+        //Then
+        assertThat(result.jobs()).hasSize(1);
+        assertThat(result.jobs().get(0).getSource()).isEqualTo("INTERNAL");
+        assertThat(result.total()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldWalkAllSourcesWithCursorWithoutGapsOrRepeats() {
+        //Given: an internal and an external source sharing one job (same externalId)
+        JobSource internal = mock(JobSource.class, CALLS_REAL_METHODS);
+        doReturn("INT").when(internal).getSourceName();
+        doReturn(List.of(
+                job("I1", "USA", 500, "INTERNAL", null, 1L),
+                job("I2", "USA", 300, "INTERNAL", "EXT_SHARED", 2L),
+                job("I3", "USA", 300, "INTERNAL", null, 3L),
+                job("I4", "USA", 100, "INTERNAL", null, 4L)
+        )).when(internal).searchJobs(any());
+        JobSource external = mock(JobSource.class, CALLS_REAL_METHODS);
+        doReturn("EXT").when(external).getSourceName();
+        doReturn(List.of(
+                job("E1", "USA", 400, "EXTERNAL_API", "EXT_1", null),
+                job("E2", "USA", 300, "EXTERNAL_API", "EXT_SHARED", null),
+                job("E3", "USA", 200, "EXTERNAL_API", "EXT_3", null)
+        )).when(external).searchJobs(any());
+        CompositeJobSource composite = new CompositeJobSource(List.of(internal, external));
+        JobSearchCriteria criteria = JobSearchCriteria.builder().build();
+
+        //When: first page by offset, then follow the cursor
+        List<String> seen = new java.util.ArrayList<>();
+        SearchResult result = composite.search(criteria, SearchWindow.page(0, 2, JobSort.parse("salary,desc")));
+        seen.addAll(result.jobs().stream().map(Job::getTitle).toList());
+        int pages = 1;
+        while (result.next() != null) {
+            result = composite.search(criteria, SearchWindow.after(result.next(), 2));
+            seen.addAll(result.jobs().stream().map(Job::getTitle).toList());
+            pages++;
+        }
+
+        //Then: every job exactly once, INTERNAL wins the shared one, in salary order
+        //      (salary ties broken by id, descending as well)
+        assertThat(seen).containsExactly("I1", "E1", "I3", "I2", "E3", "I4");
+        assertThat(pages).isEqualTo(3);
+    }
+
+    @Test
+    void shouldKeepPositionOfSourceThatContributedNothing() {
+        //Given
+        JobSource s1 = mock(JobSource.class, CALLS_REAL_METHODS);
+        doReturn("S1").when(s1).getSourceName();
+        doReturn(List.of(
+                job("A", "USA", 900, "INTERNAL", null, 1L),
+                job("B", "USA", 800, "INTERNAL", null, 2L),
+                job("C", "USA", 700, "INTERNAL", null, 3L)
+        )).when(s1).searchJobs(any());
+        JobSource s2 = mock(JobSource.class, CALLS_REAL_METHODS);
+        doReturn("S2").when(s2).getSourceName();
+        doReturn(List.of(job("Z", "USA", 10, "EXTERNAL_API", "EXT_Z", null))).when(s2).searchJobs(any());
+        CompositeJobSource composite = new CompositeJobSource(List.of(s1, s2));
+
+        //When
+        SearchResult first = composite.search(JobSearchCriteria.builder().build(),
+                SearchWindow.page(0, 2, JobSort.parse("salary,desc")));
+
+        //Then
+        assertThat(first.next()).isNotNull();
+        assertThat(first.next().position("S1").id()).isEqualTo(2L);
+        assertThat(first.next().position("S2")).isNull();
+    }
+
+    @Test
+    void servesRepeatedSearchesFromCache() {
+        //Given
+        JobSource s1 = mockSource("S1", true, List.of(job("Backend Eng", "USA", 120000, "INTERNAL", null, 1L)));
+        SearchResultCache cache = new SearchResultCache(new SearchProperties());
+        CompositeJobSource composite = new CompositeJobSource(List.of(s1), new SourcesProperties(),
+                new SourceHealthRegistry(new SourcesProperties()), cache);
+
+        //When
+        composite.searchJobs(JobSearchCriteria.builder().title("Backend").country("USA").build());
+        List<Job> again = composite.searchJobs(JobSearchCriteria.builder().title(" backend ").country("usa").build());
+
+        //Then
+        assertThat(again).extracting(Job::getId).containsExactly(1L);
+        verify(s1, times(1)).searchJobs(any());
+    }
+
+    @Test
+    void doesNotCachePartialResults() {
+        //Given
+        JobSource ok = mockSource("OK", true, List.of(job("Backend Eng", "USA", 120000, "INTERNAL", null, 1L)));
+        JobSource fails = failingSource("FAIL");
+        SearchResultCache cache = new SearchResultCache(new SearchProperties());
+        CompositeJobSource composite = new CompositeJobSource(List.of(ok, fails), new SourcesProperties(),
+                new SourceHealthRegistry(new SourcesProperties()), cache);
+
+        //When
+        composite.search(JobSearchCriteria.builder().build());
+        composite.search(JobSearchCriteria.builder().build());
+
+        //Then
+        assertThat(cache.size()).isZero();
+        verify(ok, times(2)).searchJobs(any());
+    }
+
+    @Test
+    void coalescesConcurrentIdenticalSearches() throws Exception {
+        //Given
+        AtomicInteger calls = new AtomicInteger();
+        JobSource slow = mock(JobSource.class);
+        when(slow.getSourceName()).thenReturn("EXTERNAL_API");
+        when(slow.isAvailable()).thenReturn(true);
+        when(slow.searchJobs(any())).thenAnswer(inv -> {
+            calls.incrementAndGet();
+            Thread.sleep(200);
+            return List.of(job("Dev", "USA", 100, "EXTERNAL_API", "EXT_1", null));
+        });
+        CompositeJobSource composite = new CompositeJobSource(List.of(slow), props(true, 2000));
+
+        //When
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<List<Job>>> results = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                String title = i % 2 == 0 ? "Dev" : " dev ";
+                results.add(clients.submit(() -> composite.searchJobs(
+                        JobSearchCriteria.builder().title(title).country("USA").build())));
+            }
+
+            //Then
+            for (Future<List<Job>> r : results) {
+                assertThat(r.get()).hasSize(1);
+            }
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void shouldCountASharedCallOnceOnTheBreaker() throws Exception {
+        //Given: one slow failing call, shared by a burst of minimumCalls identical searches
+        AtomicInteger calls = new AtomicInteger();
+        JobSource fails = mock(JobSource.class);
+        when(fails.getSourceName()).thenReturn("EXTERNAL_API");
+        when(fails.isAvailable()).thenReturn(true);
+        when(fails.searchJobs(any())).thenAnswer(inv -> {
+            calls.incrementAndGet();
+            Thread.sleep(200);
+            throw new RuntimeException("boom");
+        });
+        SourcesProperties props = props(true, 2000);
+        SourceHealthRegistry health = new SourceHealthRegistry(props);
+        CompositeJobSource composite = new CompositeJobSource(List.of(fails), props, health);
+
+        //When
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<SearchResult>> results = new ArrayList<>();
+            for (int i = 0; i < props.getHealth().getMinimumCalls(); i++) {
+                results.add(clients.submit(() -> composite.search(JobSearchCriteria.builder().title("Dev").build())));
+            }
+            for (Future<SearchResult> r : results) {
+                assertThat(r.get().droppedSources()).containsExactly("EXTERNAL_API");
+            }
+        }
+
+        //Then: one failure recorded, not five; the breaker is still closed
+        assertThat(calls).hasValue(1);
+        assertThat(health.snapshot().get("EXTERNAL_API").state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(health.isCallPermitted(fails)).isTrue();
+    }
+
+    @Test
+    void shouldFoldNearDuplicatesAcrossSourcesWhenEnabled() {
+        //Given - the same posting, titled differently by each source
+        Job external = job("Senior Java Dev", "USA", 101000, "EXTERNAL_API", "EXT_1", null);
+        Job internal = job("Sr. Java Developer", "usa", 100000, "INTERNAL", null, 1L);
+        Job other = job("Senior Go Developer", "USA", 100000, "INTERNAL", null, 2L);
+        JobSource sExt = mockSource("EXT", true, List.of(external));
+        JobSource sInt = mockSource("INT", true, List.of(internal, other));
+        SourcesProperties properties = props(true, 2000);
+
+        //When
+        SearchResult exact = new CompositeJobSource(List.of(sExt, sInt), properties)
+                .search(JobSearchCriteria.builder().build());
+        properties.getNearDuplicates().setEnabled(true);
+        SearchResult near = new CompositeJobSource(List.of(sExt, sInt), properties)
+                .search(JobSearchCriteria.builder().build());
+
+        //Then
+        assertThat(exact.jobs()).hasSize(3);
+        assertThat(near.jobs()).extracting(Job::getTitle).containsExactly("Sr. Java Developer", "Senior Go Developer");
+        assertThat(near.total()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldApplyFiltersTheSourceDoesNotSupportOnItsResults() {
+        //Given - a source without a skill filter
+        Job java = Job.builder().id(1L).title("Java Dev").country("USA").skills(Set.of("Java")).source("S").build();
+        Job go = Job.builder().id(2L).title("Go Dev").country("USA").skills(Set.of("Go")).source("S").build();
+        JobSource noSkills = mockSource("S", true, List.of(java, go));
+        when(noSkills.capabilities()).thenReturn(new SourceCapabilities(EnumSet.of(
+                SourceCapabilities.Filter.TITLE, SourceCapabilities.Filter.COUNTRY, SourceCapabilities.Filter.SALARY),
+                true, true, 0));
+        CompositeJobSource composite = new CompositeJobSource(List.of(noSkills), props(true, 2000));
+
+        //When
+        SearchResult result = composite.search(JobSearchCriteria.builder().country("USA").skill("java").build(),
+                SearchWindow.top(10, JobSort.parse("title")));
+
+        //Then - asked without the skill, for all its matches, then filtered and windowed here
+        assertThat(result.jobs()).extracting(Job::getTitle).containsExactly("Java Dev");
+        assertThat(result.total()).isEqualTo(1);
+        verify(noSkills).searchJobs(argThat(c -> c.skill() == null && "USA".equals(c.country())));
+        verify(noSkills, never()).search(any(), any());
+    }
+
+    @Test
+    void shouldNotCallCappedSourceWhoseAnswerWouldStillNeedFiltering() {
+        //Given - no skill filter, and at most 2 rows per answer
+        JobSource capped = mockSource("CAPPED", true,
+                List.of(job("Go Dev", "USA", 1, "S", "1", null), job("Rust Dev", "USA", 1, "S", "2", null)));
+        when(capped.capabilities()).thenReturn(new SourceCapabilities(EnumSet.of(
+                SourceCapabilities.Filter.TITLE, SourceCapabilities.Filter.COUNTRY, SourceCapabilities.Filter.SALARY),
+                false, false, 0, 2));
+        JobSource ok = mockSource("OK", true, List.of(job("Java Dev", "USA", 1, "INTERNAL", null, 1L)));
+
+        for (boolean parallel : new boolean[]{true, false}) {
+            CompositeJobSource composite = new CompositeJobSource(List.of(capped, ok), props(parallel, 2000));
+
+            //When
+            SearchResult bySkill = composite.search(JobSearchCriteria.builder().skill("java").build());
+            SearchResult byCountry = composite.search(JobSearchCriteria.builder().country("USA").build());
+
+            //Then - a Java job past its cap would have been lost: reported instead of called
+            assertThat(bySkill.respondedSources()).containsExactly("OK");
+            assertThat(bySkill.droppedSources()).containsExactly("CAPPED");
+            assertThat(byCountry.respondedSources()).containsExactly("CAPPED", "OK");
+            assertThat(byCountry.partial()).isFalse();
+        }
+        verify(capped, times(2)).searchJobs(argThat(c -> c.skill() == null));
+        verify(capped, times(2)).searchJobs(any());
+    }
+
+    @Test
+    void shouldKeepExactlyTheRowsASourceApplyingTheFilterWouldReturn() {
+        //Given - a source without a title filter, and rows the loose title test would also accept
+        List<Job> rows = List.of(
+                job("Senior Java Engineer", "USA", 100000, "S", "1", 1L),
+                job("Sr. Java/Kotlin Engineering Lead", "USA", 100000, "S", "2", 2L),
+                job("Java Reengineering Lead", "USA", 100000, "S", "3", 3L),
+                job("JavaScript Engineer", "USA", 100000, "S", "4", 4L),
+                job("Senior Go Engineer", "USA", 100000, "S", "5", 5L));
+        JobSource noTitles = mockSource("S", true, rows);
+        when(noTitles.capabilities()).thenReturn(new SourceCapabilities(EnumSet.of(
+                SourceCapabilities.Filter.COUNTRY, SourceCapabilities.Filter.SALARY, SourceCapabilities.Filter.SKILL),
+                true, true, 0));
+        CompositeJobSource composite = new CompositeJobSource(List.of(noTitles), props(true, 2000));
+        JobSearchCriteria criteria = JobSearchCriteria.builder().title("java engineer").build();
+
+        //When
+        List<Job> result = composite.searchJobs(criteria);
+
+        //Then - every term starts a title token ("javascript" does start with "java")
+        assertThat(result).extracting(Job::getTitle).containsExactlyInAnyOrder(
+                "Senior Java Engineer", "Sr. Java/Kotlin Engineering Lead", "JavaScript Engineer");
+        assertThat(rows).filteredOn(criteria::matches).hasSize(4);
+    }
+
+    @Test
+    void shouldNotCallSourceExpectedToAnswerAfterTheDeadline() {
+        //Given
+        JobSource fast = mockSource("FAST", true,
+                List.of(job("Platform Eng", "USA", 130000, "INTERNAL", null, 42L)));
+        JobSource slow = mockSource("SLOW", true,
+                List.of(job("Late Eng", "USA", 100000, "EXTERNAL_API", "EXT_LATE", null)));
+        when(slow.capabilities()).thenReturn(SourceCapabilities.FULL.withCostMs(5_000));
+
+        for (boolean parallel : new boolean[]{true, false}) {
+            CompositeJobSource composite = new CompositeJobSource(List.of(slow, fast), props(parallel, 200));
+
+            //When
+            SearchResult result = composite.search(JobSearchCriteria.builder().build());
+
+            //Then
+            assertThat(result.jobs()).extracting(Job::getTitle).containsExactly("Platform Eng");
+            assertThat(result.respondedSources()).containsExactly("FAST");
+            assertThat(result.droppedSources()).containsExactly("SLOW");
+        }
+        verify(slow, never()).searchJobs(any());
+    }
+
+    @Test
+    void shouldSkipSaturatedSourceWithoutWaitingForIt() throws Exception {
+        //Given - SLOW takes one call at a time, and the first search is stuck in it
+        CountDownLatch release = new CountDownLatch(1);
+        JobSource fast = mockSource("FAST", true,
+                List.of(job("Platform Eng", "USA", 130000, "INTERNAL", null, 42L)));
+        JobSource slow = mock(JobSource.class);
+        when(slow.getSourceName()).thenReturn("SLOW");
+        when(slow.isAvailable()).thenReturn(true);
+        when(slow.searchJobs(any())).thenAnswer(inv -> {
+            release.await();
+            return List.of();
+        });
+        SourcesProperties properties = props(true, 5_000);
+        properties.setCoalesce(false);
+        properties.getBulkhead().setMaxConcurrent(1);
+        properties.getBulkhead().setMaxQueued(0);
+        CompositeJobSource composite = new CompositeJobSource(List.of(fast, slow), properties);
+
+        ExecutorService pool = Executors.newFixedThreadPool(1);
+        try {
+            Future<SearchResult> stuck = pool.submit(() -> composite.search(JobSearchCriteria.builder().build()));
+            verify(slow, timeout(2_000)).searchJobs(any());
+
+            //When
+            long start = System.nanoTime();
+            SearchResult result = composite.search(JobSearchCriteria.builder().build());
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+            //Then
+            assertThat(result.jobs()).extracting(Job::getTitle).containsExactly("Platform Eng");
+            assertThat(result.partial()).isTrue();
+            assertThat(result.droppedSources()).containsExactly("SLOW");
+            assertThat(elapsedMs).isLessThan(1_000);
+
+            release.countDown();
+            assertThat(stuck.get(2, TimeUnit.SECONDS).partial()).isFalse();
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldStreamEachSourceAsItAnswers() {
+        //Given - SLOW also has FAST's job
+        Job shared = job("Platform Eng", "USA", 130000, "INTERNAL", null, 42L);
+        JobSource fast = mockSource("FAST", true, List.of(shared));
+        JobSource slow = slowSource("SLOW", 300,
+                List.of(shared, job("Data Eng", "USA", 100000, "EXTERNAL_API", "EXT_1", null)));
+        JobSource late = slowSource("LATE", 5_000, List.of(job("Late Eng", "USA", 1, "EXTERNAL_API", "EXT_2", null)));
+        CompositeJobSource composite = new CompositeJobSource(List.of(slow, late, fast), props(true, 1_000));
+        List<List<String>> batches = new ArrayList<>();
+        List<Long> arrivedMs = new ArrayList<>();
+
+        //When
+        long start = System.nanoTime();
+        SearchResult summary = composite.stream(JobSearchCriteria.builder().build(), jobs -> {
+            arrivedMs.add((System.nanoTime() - start) / 1_000_000);
+            batches.add(jobs.stream().map(Job::getTitle).toList());
+        });
+
+        //Then - FAST first, without waiting for SLOW; the duplicate only once
+        assertThat(batches).containsExactly(List.of("Platform Eng"), List.of("Data Eng"));
+        assertThat(arrivedMs.get(0)).isLessThan(250);
+        assertThat(summary.jobs()).isEmpty();
+        assertThat(summary.total()).isEqualTo(2);
+        assertThat(summary.respondedSources()).containsExactly("FAST", "SLOW");
+        assertThat(summary.droppedSources()).containsExactly("LATE");
+    }
 }
@@ -0,0 +1,219 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SourceCapabilities;
+import io.github.vivianagh.jobberwocky.exception.ExternalSourceException;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.ExternalJobApiClient;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.ExternalJobResponseAdapter;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.XmlSkillsParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ExternalJobMirrorTest {
+
+    private static final String FEED = """
+            {
+              "USA": [
+                ["Java Developer", 100000, "<skills><skill>Java</skill></skills>"],
+                ["Senior Java Developer", 150000, "<skills><skill>Java</skill><skill>AWS</skill></skills>"],
+                ["Go Developer", 90000, "<skills><skill>Go</skill></skills>"]
+              ],
+              "Spain": [
+                ["Java Developer", 60000, "<skills><skill>Java</skill></skills>"]
+              ]
+            }
+            """;
+
+    private ExternalJobApiClient apiClient;
+    private ExternalJobResponseAdapter responseAdapter;
+    private SourcesProperties properties;
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    @BeforeEach
+    void setUp() {
+        apiClient = mock(ExternalJobApiClient.class);
+        responseAdapter = new ExternalJobResponseAdapter(new ObjectMapper(), new XmlSkillsParser());
+        properties = new SourcesProperties();
+        SourcesProperties.Mirror settings = properties.getExternal().getMirror();
+        settings.setStaleAfterMs(1000);
+        settings.setMaxStaleMs(10_000);
+        settings.setRetryIntervalMs(0);
+    }
+
+    private ExternalJobMirror mirror() {
+        return new ExternalJobMirror(apiClient, responseAdapter, properties, now::get);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenFeed(String json) {
+        // doAnswer: re-stubbing with when() would run the previous answer
+        doAnswer(inv -> inv.getArgument(1, Function.class)
+                .apply(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))))
+                .when(apiClient).fetchJobs(any(), any());
+    }
+
+    private static List<String> titles(List<Job> jobs) {
+        return jobs.stream().map(j -> j.getTitle() + "/" + j.getCountry()).toList();
+    }
+
+    @Test
+    void shouldNotAnswerBeforeTheFirstPull() {
+        //Given
+        doThrow(new ExternalSourceException("API down")).when(apiClient).fetchJobs(any(), any());
+
+        //When & Then
+        ExternalJobMirror mirror = mirror();
+        assertThat(mirror.search(JobSearchCriteria.builder().build())).isNull();
+        assertThat(mirror.isServing()).isFalse();
+    }
+
+    @Test
+    void shouldFilterTheCopyLikeTheApi() {
+        //Given
+        givenFeed(FEED);
+        ExternalJobMirror mirror = mirror();
+
+        //When
+        assertThat(mirror.refresh()).isTrue();
+
+        //Then
+        assertThat(mirror.size()).isEqualTo(4);
+        assertThat(titles(mirror.search(JobSearchCriteria.builder().title("JAVA  developer").build())))
+                .containsExactly("Java Developer/USA", "Senior Java Developer/USA", "Java Developer/Spain");
+        assertThat(titles(mirror.search(JobSearchCriteria.builder().title("java").country("spain").build())))
+                .containsExactly("Java Developer/Spain");
+        assertThat(titles(mirror.search(JobSearchCriteria.builder()
+                .minSalary(new BigDecimal("90000")).maxSalary(new BigDecimal("100000")).build())))
+                .containsExactly("Java Developer/USA", "Go Developer/USA");
+        // Not a word search: "developer java" is not a substring of any title
+        assertThat(mirror.search(JobSearchCriteria.builder().title("developer java").build())).isEmpty();
+        verify(apiClient, times(1)).fetchJobs(any(), any());
+    }
+
+    @Test
+    void shouldServeStaleCopyWhileRevalidatingInTheBackground() {
+        //Given
+        givenFeed(FEED);
+        ExternalJobMirror mirror = mirror();
+        mirror.refresh();
+        givenFeed("""
+                {"USA": [["Rust Developer", 120000, "<skills></skills>"]]}""");
+
+        //When - stale, but not too old
+        now.addAndGet(5000);
+        List<Job> served = mirror.search(JobSearchCriteria.builder().build());
+
+        //Then
+        assertThat(served).hasSize(4);
+        verify(apiClient, timeout(2000).times(2)).fetchJobs(any(), any());
+        await(() -> mirror.size() == 1);
+        assertThat(titles(mirror.search(JobSearchCriteria.builder().build()))).containsExactly("Rust Developer/USA");
+    }
+
+    @Test
+    void shouldKeepThePreviousCopyWhenARefreshFails() {
+        //Given
+        givenFeed(FEED);
+        ExternalJobMirror mirror = mirror();
+        mirror.refresh();
+
+        //When - API down, then a truncated body
+        doThrow(new ExternalSourceException("API down")).when(apiClient).fetchJobs(any(), any());
+        boolean failed = mirror.refresh();
+        givenFeed(FEED.substring(0, FEED.length() / 2));
+        boolean truncated = mirror.refresh();
+
+        //Then
+        assertThat(failed).isFalse();
+        assertThat(truncated).isFalse();
+        assertThat(mirror.size()).isEqualTo(4);
+    }
+
+    @Test
+    void shouldStopServingTooOldCopies() {
+        //Given
+        givenFeed(FEED);
+        ExternalJobMirror mirror = mirror();
+        mirror.refresh();
+        doThrow(new ExternalSourceException("API down")).when(apiClient).fetchJobs(any(), any());
+
+        //When
+        now.addAndGet(20_000);
+
+        //Then
+        assertThat(mirror.isServing()).isFalse();
+        assertThat(mirror.search(JobSearchCriteria.builder().build())).isNull();
+    }
+
+    @Test
+    void shouldRestoreTheLastFeedFromTheSnapshotFile(@TempDir Path dir) throws Exception {
+        //Given
+        Path file = dir.resolve("mirror/external-jobs.json");
+        properties.getExternal().getMirror().setSnapshotFile(file.toString());
+        properties.getExternal().getMirror().setMaxStaleMs(0);
+        givenFeed(FEED);
+        mirror().refresh();
+
+        //When - restart while the API is down
+        doThrow(new ExternalSourceException("API down")).when(apiClient).fetchJobs(any(), any());
+        ExternalJobMirror restarted = mirror();
+        restarted.loadSnapshotFile();
+
+        //Then
+        assertThat(Files.readString(file)).isEqualTo(FEED);
+        assertThat(restarted.size()).isEqualTo(4);
+        assertThat(restarted.search(JobSearchCriteria.builder().country("Spain").build())).hasSize(1);
+        try (var files = Files.list(file.getParent())) {
+            assertThat(files).containsExactly(file);   // no leftover download
+        }
+    }
+
+    @Test
+    void shouldLetTheSourceAnswerFromTheMirror() {
+        //Given
+        givenFeed(FEED);
+        ExternalJobMirror mirror = mirror();
+        mirror.refresh();
+        ExternalJobSource source = new ExternalJobSource(apiClient, responseAdapter, properties, mirror);
+
+        //When
+        JobSearchCriteria criteria = JobSearchCriteria.builder().title("java").skill("aws").build();
+        List<Job> jobs = source.searchJobs(criteria);
+        SearchResult composed = new CompositeJobSource(List.of(source)).search(criteria);
+
+        //Then - skills are filtered on the local copy, so the composite asks for them too
+        assertThat(titles(jobs)).containsExactly("Senior Java Developer/USA");
+        assertThat(source.capabilities().filters()).contains(SourceCapabilities.Filter.SKILL);
+        assertThat(titles(composed.jobs())).containsExactly("Senior Java Developer/USA");
+        assertThat(composed.partial()).isFalse();
+        assertThat(source.isAvailable()).isTrue();
+        verify(apiClient, times(1)).fetchJobs(any(), any());
+        verify(apiClient, never()).healthCheck();
+    }
+
+    private static void await(java.util.function.BooleanSupplier condition) {
+        long deadline = System.nanoTime() + 2_000_000_000L;
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+}
@@ -12,10 +12,14 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -47,8 +51,9 @@ public class ExternalJobSourceContractTest {
     @Test
     void shouldReturnListOfJobsFromSearchJobs() {
         // Given
-        when(apiClient.fetchJobs(any())).thenReturn("{}");
-        when(responseAdapter.adapt(any())).thenReturn(List.of());
+        when(apiClient.fetchJobs(any(), any())).thenAnswer(inv -> inv.getArgument(1, Function.class)
+                .apply(InputStream.nullInputStream()));
+        when(responseAdapter.stream(any(), anyBoolean())).thenReturn(Stream.empty());
 
         JobSearchCriteria criteria = JobSearchCriteria.builder().build();
 
@@ -1,8 +1,11 @@
 package io.github.vivianagh.jobberwocky.infrastructure.source;
 
 
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
 import io.github.vivianagh.jobberwocky.domain.model.Job;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SourceCapabilities;
 import io.github.vivianagh.jobberwocky.exception.ExternalSourceException;
 import io.github.vivianagh.jobberwocky.infrastructure.adapter.ExternalJobApiClient;
 import io.github.vivianagh.jobberwocky.infrastructure.adapter.ExternalJobResponseAdapter;
@@ -12,13 +15,21 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -70,8 +81,8 @@ public class ExternalJobSourceTest {
                 .source("EXTERNAL_API")
                 .build();
 
-        when(apiClient.fetchJobs(criteria)).thenReturn(rawJson);
-        when(responseAdapter.adapt(rawJson)).thenReturn(List.of(expectedJob));
+        givenResponse(criteria, rawJson);
+        when(responseAdapter.stream(any(), anyBoolean())).thenReturn(Stream.of(expectedJob));
 
         // When
         List<Job> results = externalJobSource.searchJobs(criteria);
@@ -81,42 +92,167 @@ public class ExternalJobSourceTest {
         assertThat(results.get(0).getTitle()).isEqualTo("Engineer");
         assertThat(results.get(0).getSource()).isEqualTo("EXTERNAL_API");
 
-        verify(apiClient).fetchJobs(criteria);
-        verify(responseAdapter).adapt(rawJson);
+        verify(apiClient).fetchJobs(eq(criteria), any());
+        verify(responseAdapter).stream(any(), anyBoolean());
     }
 
     @Test
-    void shouldReturnEmptyListWhenApiClientThrowsException() {
+    void shouldPropagateApiClientFailure() {
         // Given
         JobSearchCriteria criteria = JobSearchCriteria.builder().build();
 
-        when(apiClient.fetchJobs(criteria))
+        when(apiClient.fetchJobs(eq(criteria), any()))
                 .thenThrow(new ExternalSourceException("API down"));
 
-        // When
-        List<Job> results = externalJobSource.searchJobs(criteria);
-
-        // Then - graceful degradation
-        assertThat(results).isEmpty();
-        verify(apiClient).fetchJobs(criteria);
-        verify(responseAdapter, never()).adapt(anyString());
+        // When & Then - the composite degrades gracefully, not the source
+        assertThatThrownBy(() -> externalJobSource.searchJobs(criteria))
+                .isInstanceOf(ExternalSourceException.class)
+                .hasMessage("API down");
+        verify(apiClient).fetchJobs(eq(criteria), any());
+        verify(responseAdapter, never()).stream(any(), anyBoolean());
     }
 
     @Test
-    void shouldReturnEmptyListWhenAdapterThrowsException() {
+    void shouldWrapAdapterFailure() {
         // Given
         JobSearchCriteria criteria = JobSearchCriteria.builder().build();
         String rawJson = "invalid json";
 
-        when(apiClient.fetchJobs(criteria)).thenReturn(rawJson);
-        when(responseAdapter.adapt(rawJson))
+        givenResponse(criteria, rawJson);
+        when(responseAdapter.stream(any(), anyBoolean()))
                 .thenThrow(new RuntimeException("Parse error"));
 
+        // When & Then
+        assertThatThrownBy(() -> externalJobSource.searchJobs(criteria))
+                .isInstanceOf(ExternalSourceException.class)
+                .hasRootCauseMessage("Parse error");
+    }
+
+    @Test
+    void shouldFilterSkillsInMemory() {
+        // Given - the external API cannot filter on skills
+        JobSearchCriteria criteria = JobSearchCriteria.builder()
+                .skill("java")
+                .build();
+        String rawJson = "{}";
+        Job javaJob = Job.builder().title("Java Dev").skills(Set.of("Java", "SQL")).build();
+        Job goJob = Job.builder().title("Go Dev").skills(Set.of("Go")).build();
+
+        givenResponse(criteria, rawJson);
+        when(responseAdapter.stream(any(), anyBoolean())).thenReturn(Stream.of(javaJob, goJob));
+
         // When
         List<Job> results = externalJobSource.searchJobs(criteria);
 
-        // Then - graceful degradation
-        assertThat(results).isEmpty();
+        // Then
+        assertThat(results).extracting(Job::getTitle).containsExactly("Java Dev");
+    }
+
+    @Test
+    void shouldStopReadingOnceTheLimitIsReached() {
+        // Given
+        JobSearchCriteria criteria = JobSearchCriteria.builder().build();
+        AtomicInteger read = new AtomicInteger();
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Job> jobs = Stream.generate(() -> Job.builder().title("Job " + read.incrementAndGet()).build())
+                .onClose(() -> closed.set(true));
+
+        givenResponse(criteria, "{}");
+        when(responseAdapter.stream(any(), anyBoolean())).thenReturn(jobs);
+
+        // When
+        List<Job> results = externalJobSource.searchJobs(criteria, 2);
+
+        // Then
+        assertThat(results).extracting(Job::getTitle).containsExactly("Job 1", "Job 2");
+        assertThat(read.get()).isEqualTo(2);
+        assertThat(closed).isTrue();
+    }
+
+    @Test
+    void shouldCapResultsAtConfiguredMaximum() {
+        // Given
+        SourcesProperties properties = new SourcesProperties();
+        properties.getExternal().setMaxResults(1);
+        ExternalJobSource capped = new ExternalJobSource(apiClient, responseAdapter, properties);
+        JobSearchCriteria criteria = JobSearchCriteria.builder().build();
+
+        givenResponse(criteria, "{}");
+        when(responseAdapter.stream(any(), anyBoolean())).thenReturn(Stream.of(
+                Job.builder().title("First").build(), Job.builder().title("Second").build()));
+
+        // When & Then
+        assertThat(capped.searchJobs(criteria)).extracting(Job::getTitle).containsExactly("First");
+    }
+
+    @Test
+    void shouldEstimateCostFromLiveCalls() {
+        // Given
+        JobSearchCriteria criteria = JobSearchCriteria.builder().build();
+        when(apiClient.fetchJobs(eq(criteria), any())).thenAnswer(inv -> {
+            Thread.sleep(30);
+            return List.of();
+        });
+        SourceCapabilities before = externalJobSource.capabilities();
+
+        // When
+        for (int i = 0; i < 5; i++) externalJobSource.searchJobs(criteria);
+
+        // Then - the API's filters (no skills), no native windows
+        assertThat(before.costMs()).isZero();
+        assertThat(before.filters()).containsExactlyInAnyOrder(SourceCapabilities.Filter.TITLE,
+                SourceCapabilities.Filter.COUNTRY, SourceCapabilities.Filter.SALARY);
+        assertThat(before.sort()).isFalse();
+        assertThat(before.limit()).isFalse();
+        assertThat(before.maxRows()).isEqualTo(10000);
+        assertThat(externalJobSource.capabilities().costMs()).isGreaterThanOrEqualTo(30);
+    }
+
+    @Test
+    void shouldLetTheCompositeFilterSkillsOnTheAnswer() {
+        // Given - an uncapped source; the API is asked without the skill, which it cannot filter on
+        SourcesProperties properties = new SourcesProperties();
+        properties.getExternal().setMaxResults(0);
+        ExternalJobSource uncapped = new ExternalJobSource(apiClient, responseAdapter, properties);
+        JobSearchCriteria asked = JobSearchCriteria.builder().country("USA").build();
+        Job java = Job.builder().title("Java Dev").country("USA").salary(new BigDecimal("1")).skills(Set.of("Java")).build();
+        Job javaAws = Job.builder().title("Java Lead").country("USA").salary(new BigDecimal("2")).skills(Set.of("JAVA ", "AWS")).build();
+        Job go = Job.builder().title("Go Dev").country("USA").salary(new BigDecimal("3")).skills(Set.of("Go")).build();
+        Job none = Job.builder().title("Intern").country("USA").salary(new BigDecimal("4")).skills(Set.of()).build();
+        givenResponse(asked, "{}");
+        when(responseAdapter.stream(any(), anyBoolean())).thenReturn(Stream.of(java, javaAws, go, none));
+        lenient().when(apiClient.healthCheck()).thenReturn(true);
+        CompositeJobSource composite = new CompositeJobSource(List.of(uncapped), new SourcesProperties());
+
+        // When
+        List<Job> results = composite.searchJobs(JobSearchCriteria.builder().country("USA").skill("java").build());
+
+        // Then - exactly the rows with the skill are left
+        assertThat(results).extracting(Job::getTitle).containsExactlyInAnyOrder("Java Dev", "Java Lead");
+        verify(apiClient).fetchJobs(eq(asked), any());
+    }
+
+    @Test
+    void shouldNotBeCalledForSkillSearchesWhileItsAnswerIsCapped() {
+        // Given - maxResults caps the answer: skill matches past the cap would be lost
+        lenient().when(apiClient.healthCheck()).thenReturn(true);
+        CompositeJobSource composite = new CompositeJobSource(List.of(externalJobSource), new SourcesProperties());
+
+        // When
+        SearchResult result = composite.search(JobSearchCriteria.builder().country("USA").skill("java").build());
+
+        // Then - not called, and reported as missing
+        assertThat(result.jobs()).isEmpty();
+        assertThat(result.droppedSources()).containsExactly("EXTERNAL_API");
+        assertThat(result.partial()).isTrue();
+        verify(apiClient, never()).fetchJobs(any(), any());
+    }
+
+    /** The API client hands rawJson, as the response body, to the reader it is given */
+    @SuppressWarnings("unchecked")
+    private void givenResponse(JobSearchCriteria criteria, String rawJson) {
+        when(apiClient.fetchJobs(eq(criteria), any())).thenAnswer(inv -> inv.getArgument(1, Function.class)
+                .apply(new ByteArrayInputStream(rawJson.getBytes(StandardCharsets.UTF_8))));
     }
 
     //TODO
@@ -0,0 +1,187 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.ExternalJobApiClient;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.ExternalJobResponseAdapter;
+import io.github.vivianagh.jobberwocky.infrastructure.adapter.XmlSkillsParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ExternalResultCacheTest {
+
+    private SourcesProperties properties;
+    private SimpleMeterRegistry registry;
+    private final AtomicLong now = new AtomicLong();
+    private ExternalResultCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new SourcesProperties();
+        properties.getExternal().getResultCache().setMaxEntries(3);
+        properties.getExternal().getResultCache().setTtlMs(1000);
+        registry = new SimpleMeterRegistry();
+        cache = new ExternalResultCache(properties, registry, now::get);
+    }
+
+    private static Job job(String title, String country, int salary) {
+        return Job.builder().title(title).country(country).salary(new BigDecimal(salary)).build();
+    }
+
+    private static JobSearchCriteria.JobSearchCriteriaBuilder query() {
+        return JobSearchCriteria.builder();
+    }
+
+    private static final List<Job> USA = List.of(
+            job("Java Developer", "USA", 50000),
+            job("Senior Java Developer", "USA", 90000),
+            job("Go Developer", "USA", 70000));
+
+    @Test
+    void shouldCoverNarrowerQueriesOnly() {
+        ExternalResultCache.Query usa = ExternalResultCache.Query.of(query().country("usa").build());
+        ExternalResultCache.Query java = ExternalResultCache.Query.of(query().title("Java").build());
+
+        // Narrower: same country plus more filters
+        assertThat(usa.covers(ExternalResultCache.Query.of(query().country(" USA ").minSalary(new BigDecimal("60000")).build()))).isTrue();
+        assertThat(usa.covers(ExternalResultCache.Query.of(query().country("USA").title("java").build()))).isTrue();
+        // Title containing the cached title
+        assertThat(java.covers(ExternalResultCache.Query.of(query().title("senior java dev").build()))).isTrue();
+        // Wider or different
+        assertThat(usa.covers(ExternalResultCache.Query.of(query().build()))).isFalse();
+        assertThat(usa.covers(ExternalResultCache.Query.of(query().country("Spain").build()))).isFalse();
+        assertThat(java.covers(ExternalResultCache.Query.of(query().title("jav").build()))).isFalse();
+
+        ExternalResultCache.Query range = ExternalResultCache.Query.of(query()
+                .minSalary(new BigDecimal("50000")).maxSalary(new BigDecimal("80000")).build());
+        assertThat(range.covers(ExternalResultCache.Query.of(query()
+                .minSalary(new BigDecimal("50000.00")).maxSalary(new BigDecimal("70000")).build()))).isTrue();
+        assertThat(range.covers(ExternalResultCache.Query.of(query().minSalary(new BigDecimal("60000")).build()))).isFalse();
+        assertThat(range.covers(ExternalResultCache.Query.of(query().maxSalary(new BigDecimal("70000")).build()))).isFalse();
+    }
+
+    @Test
+    void shouldAnswerNarrowerQueriesByFilteringLocally() {
+        //Given
+        cache.put(query().country("USA").build(), USA);
+
+        //When
+        List<Job> paid = cache.get(query().country("USA").minSalary(new BigDecimal("60000")).build());
+        List<Job> java = cache.get(query().country("usa").title("java dev").build());
+        List<Job> spain = cache.get(query().country("Spain").build());
+
+        //Then
+        assertThat(paid).extracting(Job::getTitle).containsExactly("Senior Java Developer", "Go Developer");
+        assertThat(java).extracting(Job::getTitle).containsExactly("Java Developer", "Senior Java Developer");
+        assertThat(spain).isNull();
+        assertThat(registry.get("cache.gets").tag("result", "hit").counter().count()).isEqualTo(2);
+        assertThat(registry.get("cache.gets").tag("result", "miss").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldUseTheSmallestCoveringEntry() {
+        //Given
+        cache.put(query().build(), List.of(USA.get(0), USA.get(1), USA.get(2), job("Java Developer", "Spain", 40000)));
+        cache.put(query().title("java").build(), List.of(USA.get(0), USA.get(1)));
+
+        //When
+        List<Job> jobs = cache.get(query().title("senior java").build());
+
+        //Then
+        assertThat(jobs).extracting(Job::getTitle).containsExactly("Senior Java Developer");
+    }
+
+    @Test
+    void shouldExpireAndBoundEntries() {
+        //Given
+        cache.put(query().country("USA").build(), USA);
+
+        //When & Then - expired
+        now.addAndGet(1_000_000_000L);
+        assertThat(cache.get(query().country("USA").build())).isNull();
+        assertThat(cache.size()).isZero();
+
+        //When & Then - LRU beyond maxEntries
+        for (String country : List.of("A", "B", "C", "D")) {
+            cache.put(query().country(country).build(), List.of());
+        }
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get(query().country("A").build())).isNull();
+        assertThat(cache.get(query().country("D").build())).isEmpty();
+    }
+
+    @Test
+    void shouldNotKeepLargeAnswers() {
+        //Given
+        properties.getExternal().getResultCache().setMaxJobsPerEntry(2);
+
+        //When
+        cache.put(query().build(), USA);
+
+        //Then
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void shouldLetTheSourceSkipTheApiForNarrowerQueries() {
+        //Given
+        ExternalJobApiClient apiClient = mock(ExternalJobApiClient.class);
+        String feed = """
+                {"USA": [
+                  ["Java Developer", 50000, "<skills><skill>Java</skill></skills>"],
+                  ["Senior Java Developer", 90000, "<skills><skill>Java</skill><skill>AWS</skill></skills>"]
+                ]}""";
+        when(apiClient.fetchJobs(any(), any())).thenAnswer(inv -> inv.getArgument(1, Function.class)
+                .apply(new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8))));
+        ExternalJobResponseAdapter adapter = new ExternalJobResponseAdapter(new ObjectMapper(), new XmlSkillsParser());
+        ExternalJobSource source = new ExternalJobSource(apiClient, adapter, properties, null, cache);
+
+        //When - the user narrows the filters step by step
+        List<Job> usa = source.searchJobs(query().country("USA").build());
+        List<Job> paid = source.searchJobs(query().country("USA").minSalary(new BigDecimal("60000")).build());
+        List<Job> aws = source.searchJobs(query().country("USA").title("senior").skill("aws").build());
+
+        //Then
+        assertThat(usa).hasSize(2);
+        assertThat(paid).extracting(Job::getTitle).containsExactly("Senior Java Developer");
+        assertThat(aws).extracting(Job::getTitle).containsExactly("Senior Java Developer");
+        verify(apiClient, times(1)).fetchJobs(any(), any());
+    }
+
+    @Test
+    void shouldNotCacheAnswersCutByTheLimit() {
+        //Given
+        ExternalJobApiClient apiClient = mock(ExternalJobApiClient.class);
+        String feed = """
+                {"USA": [["A", 1, "<skills></skills>"], ["B", 2, "<skills></skills>"], ["C", 3, "<skills></skills>"]]}""";
+        when(apiClient.fetchJobs(any(), any())).thenAnswer(inv -> inv.getArgument(1, Function.class)
+                .apply(new ByteArrayInputStream(feed.getBytes(StandardCharsets.UTF_8))));
+        ExternalJobResponseAdapter adapter = new ExternalJobResponseAdapter(new ObjectMapper(), new XmlSkillsParser());
+        ExternalJobSource source = new ExternalJobSource(apiClient, adapter, properties, null, cache);
+
+        //When
+        List<Job> firstTwo = source.searchJobs(query().build(), 2);
+        List<Job> all = source.searchJobs(query().build(), 10);
+        List<Job> cached = source.searchJobs(query().build(), 10);
+
+        //Then
+        assertThat(firstTwo).extracting(Job::getTitle).containsExactly("A", "B");
+        assertThat(all).extracting(Job::getTitle).containsExactly("A", "B", "C");
+        assertThat(cached).extracting(Job::getTitle).containsExactly("A", "B", "C");
+        verify(apiClient, times(2)).fetchJobs(any(), any());
+    }
+}
@@ -1,16 +1,23 @@
 package io.github.vivianagh.jobberwocky.infrastructure.source;
 
+import io.github.vivianagh.jobberwocky.config.SearchProperties;
 import io.github.vivianagh.jobberwocky.domain.model.Job;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.JobSort;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
 import io.github.vivianagh.jobberwocky.infrastructure.repository.JobRepository;
+import io.github.vivianagh.jobberwocky.infrastructure.search.TitleIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
 
@@ -18,7 +25,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 
 @DataJpaTest
-@Import(InternalJobSource.class)
+@Import({InternalJobSource.class, TitleIndex.class})
+@EnableConfigurationProperties(SearchProperties.class)
 @TestPropertySource(properties = {
         "spring.jpa.hibernate.ddl-auto=create-drop"
 })
@@ -97,6 +105,184 @@ public class InternalJobSourceIntegrationTest {
         );
     }
 
+    @Test
+    void shouldReturnOnlyRequestedWindowSortedInSql() {
+        // Given
+        JobSearchCriteria criteria = JobSearchCriteria.builder().build();
+
+        // When: second page of 2, salary desc
+        SearchResult result = internalJobSource.search(criteria,
+                SearchWindow.page(1, 2, JobSort.parse("salary,desc")));
+
+        // Then
+        assertThat(result.total()).isEqualTo(5);
+        assertThat(result.jobs()).extracting(job -> job.getSalary().intValue())
+                .containsExactly(90000, 80000);
+    }
+
+    @Test
+    void shouldHandleWindowNotAlignedToPageSize() {
+        // Given
+        JobSearchCriteria criteria = JobSearchCriteria.builder().build();
+
+        // When: rows [1, 4) by salary asc
+        SearchResult result = internalJobSource.search(criteria,
+                new SearchWindow(1, 3, JobSort.parse("salary")));
+
+        // Then
+        assertThat(result.jobs()).extracting(job -> job.getSalary().intValue())
+                .containsExactly(80000, 90000, 95000);
+    }
+
+    @Test
+    void shouldSeekPastCursorInsteadOfSkippingRows() {
+        // Given: first page of 2 by salary desc
+        JobSearchCriteria criteria = JobSearchCriteria.builder().build();
+        SearchResult first = internalJobSource.search(criteria,
+                SearchWindow.page(0, 2, JobSort.parse("salary,desc")));
+
+        // When: a richer job is inserted, then the next pages are read through the cursor
+        jobRepository.save(Job.builder().title("CTO").company("X").country("USA")
+                .salary(new BigDecimal("500000")).skills(Set.of()).build());
+        SearchResult second = internalJobSource.search(criteria, SearchWindow.after(first.next(), 2));
+        SearchResult third = internalJobSource.search(criteria, SearchWindow.after(second.next(), 2));
+
+        // Then: pages do not drift and the last page has no next cursor
+        assertThat(first.jobs()).extracting(job -> job.getSalary().intValue()).containsExactly(150000, 95000);
+        assertThat(second.jobs()).extracting(job -> job.getSalary().intValue()).containsExactly(90000, 80000);
+        assertThat(third.jobs()).extracting(job -> job.getSalary().intValue()).containsExactly(60000);
+        assertThat(third.next()).isNull();
+    }
+
+    @Test
+    void shouldPageMixedCaseTitlesInComparatorOrder() {
+        // Given: titles whose case-sensitive order (Z < a < b) differs from the comparator's
+        for (String title : List.of("alpha dev", "Zeta dev", "beta dev")) {
+            jobRepository.save(Job.builder().title(title).company("X").country("Iceland")
+                    .salary(new BigDecimal("50000")).skills(Set.of()).build());
+        }
+        JobSearchCriteria criteria = JobSearchCriteria.builder().country("iceland").build();
+        JobSort byTitle = JobSort.parse("title,asc");
+
+        // When: one row per page, by offset and by cursor
+        List<String> byOffset = new ArrayList<>();
+        for (int page = 0; page < 3; page++) {
+            internalJobSource.search(criteria, SearchWindow.page(page, 1, byTitle)).jobs()
+                    .forEach(job -> byOffset.add(job.getTitle()));
+        }
+        List<String> byCursor = new ArrayList<>();
+        SearchResult page = internalJobSource.search(criteria, SearchWindow.page(0, 1, byTitle));
+        page.jobs().forEach(job -> byCursor.add(job.getTitle()));
+        while (page.next() != null) {
+            page = internalJobSource.search(criteria, SearchWindow.after(page.next(), 1));
+            page.jobs().forEach(job -> byCursor.add(job.getTitle()));
+        }
+
+        // Then: every row exactly once, in comparator order
+        List<Job> expected = new ArrayList<>(jobRepository.findAll().stream()
+                .filter(job -> job.getCountry().equals("Iceland")).toList());
+        expected.sort(byTitle.comparator());
+        assertThat(expected).extracting(Job::getTitle).containsExactly("alpha dev", "beta dev", "Zeta dev");
+        assertThat(byOffset).containsExactly("alpha dev", "beta dev", "Zeta dev");
+        assertThat(byCursor).containsExactly("alpha dev", "beta dev", "Zeta dev");
+    }
+
+    @Test
+    void shouldFilterBySkillIgnoringCase() {
+        // Given
+        JobSearchCriteria criteria = JobSearchCriteria.builder()
+                .skill("PYTHON")
+                .build();
+
+        // When
+        List<Job> jobs = internalJobSource.searchJobs(criteria);
+
+        // Then
+        assertThat(jobs).hasSize(2);
+        assertThat(jobs).allMatch(job -> job.getSkills().contains("Python"));
+    }
+
+    @Test
+    void shouldRequireAllSkillsByDefault() {
+        // Given
+        JobSearchCriteria criteria = JobSearchCriteria.builder()
+                .skill("python, sql")
+                .build();
+
+        // When
+        List<Job> jobs = internalJobSource.searchJobs(criteria);
+
+        // Then
+        assertThat(jobs).extracting(Job::getSalary).extracting(BigDecimal::intValue)
+                .containsExactly(95000);
+    }
+
+    @Test
+    void shouldMatchAnySkillWhenAsked() {
+        // Given
+        JobSearchCriteria criteria = JobSearchCriteria.builder()
+                .skill("react,docker,cobol")
+                .skillMatch(JobSearchCriteria.SkillMatch.ANY)
+                .build();
+
+        // When
+        SearchResult result = internalJobSource.search(criteria,
+                SearchWindow.page(0, 10, JobSort.parse("salary,desc")));
+
+        // Then
+        assertThat(result.total()).isEqualTo(2);
+        assertThat(result.jobs()).extracting(job -> job.getSalary().intValue())
+                .containsExactly(90000, 80000);
+    }
+
+    @Test
+    void shouldMatchEveryTitleTermAsPrefix() {
+        // Given
+        JobSearchCriteria criteria = JobSearchCriteria.builder()
+                .title("senior eng")
+                .build();
+
+        // When
+        List<Job> jobs = internalJobSource.searchJobs(criteria);
+
+        // Then
+        assertThat(jobs).extracting(Job::getTitle).containsExactly("Senior Backend Engineer");
+    }
+
+    @Test
+    void shouldSeeJobsSavedAfterTheIndexWasLoaded() {
+        // Given: the index is loaded by a first title search
+        internalJobSource.searchJobs(JobSearchCriteria.builder().title("engineer").build());
+
+        // When
+        jobRepository.save(Job.builder().title("Platform Engineer").company("X").country("USA")
+                .salary(new BigDecimal("70000")).skills(Set.of()).build());
+        List<Job> jobs = internalJobSource.searchJobs(JobSearchCriteria.builder().title("platform").build());
+
+        // Then
+        assertThat(jobs).extracting(Job::getTitle).containsExactly("Platform Engineer");
+    }
+
+    @Test
+    void shouldMatchTitlesByTokenPrefixWithoutTheIndexToo() {
+        // Given: one word containing the term, one token starting with it after punctuation
+        jobRepository.save(Job.builder().title("Process Reengineering Lead").company("X").country("USA")
+                .salary(new BigDecimal("70000")).skills(Set.of()).build());
+        jobRepository.save(Job.builder().title("Sr. Data-Engineering Manager").company("X").country("USA")
+                .salary(new BigDecimal("70000")).skills(Set.of()).build());
+        JobSearchCriteria criteria = JobSearchCriteria.builder().title("engineer").build();
+
+        // When
+        List<Job> indexed = internalJobSource.searchJobs(criteria);
+        List<Job> scanned = new InternalJobSource(jobRepository).searchJobs(criteria);
+
+        // Then
+        assertThat(scanned).extracting(Job::getTitle)
+                .containsExactlyInAnyOrderElementsOf(indexed.stream().map(Job::getTitle).toList())
+                .contains("Sr. Data-Engineering Manager")
+                .doesNotContain("Process Reengineering Lead");
+    }
+
     private void createTestJobs() {
         List<Job> jobs = List.of(
                 Job.builder()
@@ -2,12 +2,17 @@ package io.github.vivianagh.jobberwocky.infrastructure.source;
 
 import io.github.vivianagh.jobberwocky.domain.model.Job;
 import io.github.vivianagh.jobberwocky.domain.model.JobSearchCriteria;
+import io.github.vivianagh.jobberwocky.domain.model.JobSort;
+import io.github.vivianagh.jobberwocky.domain.model.SearchResult;
+import io.github.vivianagh.jobberwocky.domain.model.SearchWindow;
 import io.github.vivianagh.jobberwocky.infrastructure.repository.JobRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.math.BigDecimal;
@@ -16,6 +21,9 @@ import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 import static org.mockito.Mockito.when;
@@ -60,7 +68,7 @@ public class InternalJobSourceTest {
         Job job1 = createJob("Developer 1", "USA", new BigDecimal("100000"));
         Job job2 = createJob("Developer 2", "Spain", new BigDecimal("80000"));
 
-        when(jobRepository.findAll(any(Specification.class)))
+        when(jobRepository.findDetached(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
                 .thenReturn(List.of(job1, job2));
 
         // When
@@ -68,7 +76,8 @@ public class InternalJobSourceTest {
 
         // Then
         assertThat(results).hasSize(2);
-        verify(jobRepository).findAll(any(Specification.class));
+        verify(jobRepository).findDetached(any(Specification.class), eq(Sort.unsorted()), eq(0L), eq(Integer.MAX_VALUE));
+        verify(jobRepository, never()).findAll(any(Specification.class));
 
     }
 
@@ -81,7 +90,7 @@ public class InternalJobSourceTest {
 
         Job matchingJob = createJob("Software Engineer", "USA", new BigDecimal("120000"));
 
-        when(jobRepository.findAll(any(Specification.class)))
+        when(jobRepository.findDetached(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
                 .thenReturn(List.of(matchingJob));
 
         // When
@@ -90,7 +99,45 @@ public class InternalJobSourceTest {
         // Then
         assertThat(results).hasSize(1);
         assertThat(results.get(0).getTitle()).contains("Engineer");
-        verify(jobRepository).findAll(any(Specification.class));
+        verify(jobRepository).findDetached(any(Specification.class), any(Sort.class), anyLong(), anyInt());
+    }
+
+    @Test
+    void shouldPushWindowDownAsOffsetAndLimit() {
+        // Given
+        JobSearchCriteria criteria = JobSearchCriteria.builder().build();
+        List<Job> page = java.util.Collections.nCopies(10, createJob("Developer 1", "USA", new BigDecimal("100000")));
+
+        when(jobRepository.findDetached(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .thenReturn(page);
+        when(jobRepository.count(any(Specification.class))).thenReturn(42L);
+
+        // When
+        SearchResult result = internalJobSource.search(criteria,
+                SearchWindow.page(2, 10, JobSort.parse("salary,desc")));
+
+        // Then
+        ArgumentCaptor<Sort> sort = ArgumentCaptor.forClass(Sort.class);
+        verify(jobRepository).findDetached(any(Specification.class), sort.capture(), eq(20L), eq(10));
+        assertThat(sort.getValue())
+                .isEqualTo(Sort.by(Sort.Direction.DESC, "salary").and(Sort.by(Sort.Direction.DESC, "id")));
+        assertThat(result.jobs()).hasSize(10);
+        assertThat(result.total()).isEqualTo(42);
+    }
+
+    @Test
+    void shouldSkipCountWhenPageIsShort() {
+        // Given
+        JobSearchCriteria criteria = JobSearchCriteria.builder().build();
+        when(jobRepository.findDetached(any(Specification.class), any(Sort.class), anyLong(), anyInt()))
+                .thenReturn(List.of(createJob("Developer 1", "USA", new BigDecimal("100000"))));
+
+        // When
+        SearchResult result = internalJobSource.search(criteria, SearchWindow.page(1, 10, null));
+
+        // Then
+        assertThat(result.total()).isEqualTo(11);
+        verify(jobRepository, never()).count(any(Specification.class));
     }
 
     // Helper method
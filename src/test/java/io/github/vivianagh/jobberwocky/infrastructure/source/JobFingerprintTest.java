@@ -0,0 +1,70 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JobFingerprintTest {
+
+    private static Job content(String title, String country, String salary) {
+        return Job.builder().title(title).country(country).salary(salary == null ? null : new BigDecimal(salary)).build();
+    }
+
+    @Test
+    void shouldNormalizeContentLikeTheStringKey() {
+        //Given
+        long reference = JobFingerprint.of(content("sr java dev", "usa", "100000"));
+
+        //When & Then
+        assertThat(JobFingerprint.of(content("  Sr. Java -- DEV! ", " USA ", "100000"))).isEqualTo(reference);
+        assertThat(JobFingerprint.of(content("Sr\tJava\nDev", "Usa", "100000"))).isEqualTo(reference);
+        // Word boundaries, country and salary (with its scale) still count
+        assertThat(JobFingerprint.of(content("srjava dev", "usa", "100000"))).isNotEqualTo(reference);
+        assertThat(JobFingerprint.of(content("sr java dev", "spain", "100000"))).isNotEqualTo(reference);
+        assertThat(JobFingerprint.of(content("sr java dev", "usa", "100000.00"))).isNotEqualTo(reference);
+        assertThat(JobFingerprint.of(content("sr java dev", "usa", null))).isNotEqualTo(reference);
+        // Fields cannot shift into each other
+        assertThat(JobFingerprint.of(content("a", "b", null))).isNotEqualTo(JobFingerprint.of(content("a b", "", null)));
+    }
+
+    @Test
+    void shouldPreferExternalIdThenIdOverContent() {
+        //Given
+        Job external = content("Java Developer", "USA", "1");
+        external.setExternalId(" ext-1 ");
+        Job sameExternal = content("Other title", "Spain", "2");
+        sameExternal.setExternalId("ext-1");
+        Job persisted = content("Java Developer", "USA", "1");
+        persisted.setId(7L);
+        Job samePersisted = content("Go Developer", "USA", "1");
+        samePersisted.setId(7L);
+
+        //When & Then
+        assertThat(JobFingerprint.of(external)).isEqualTo(JobFingerprint.of(sameExternal));
+        assertThat(JobFingerprint.of(persisted)).isEqualTo(JobFingerprint.of(samePersisted));
+        assertThat(JobFingerprint.of(persisted)).isNotEqualTo(JobFingerprint.of(content("Java Developer", "USA", "1")));
+        assertThat(JobFingerprint.of(external)).isNotEqualTo(JobFingerprint.of(persisted));
+    }
+
+    @Test
+    void shouldNotCollideOnDistinctJobs() {
+        //Given
+        Set<Long> fingerprints = new HashSet<>();
+
+        //When
+        for (int i = 0; i < 100_000; i++) {
+            Job byId = content("Java Developer", "USA", "1");
+            byId.setId((long) i);
+            fingerprints.add(JobFingerprint.of(byId));
+            fingerprints.add(JobFingerprint.of(content("Java Developer " + i, "USA", String.valueOf(i % 97))));
+        }
+
+        //Then
+        assertThat(fingerprints).hasSize(200_000);
+    }
+}
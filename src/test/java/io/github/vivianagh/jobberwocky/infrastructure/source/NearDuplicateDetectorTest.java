@@ -0,0 +1,104 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import io.github.vivianagh.jobberwocky.config.SourcesProperties;
+import io.github.vivianagh.jobberwocky.domain.model.Job;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class NearDuplicateDetectorTest {
+
+    private NearDuplicateDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        detector = new NearDuplicateDetector(new SourcesProperties.NearDuplicates());
+    }
+
+    private static Job job(String title, String country, Integer salary, String source) {
+        return Job.builder().title(title).country(country)
+                .salary(salary == null ? null : new BigDecimal(salary)).source(source).build();
+    }
+
+    @Test
+    void shouldSpellOutAbbreviations() {
+        assertThat(NearDuplicateDetector.normalize("Sr. Java Dev")).isEqualTo("senior java developer");
+        assertThat(NearDuplicateDetector.normalize("  SWE (Backend)/Ops ")).isEqualTo("software engineer backend operations");
+        assertThat(detector.similarity("Sr. Java Developer", "Senior Java Dev")).isEqualTo(1.0);
+        assertThat(detector.similarity("Senior Java Developer", "Junior Python Analyst")).isLessThan(0.3);
+    }
+
+    @Test
+    void shouldPointNearDuplicatesToTheFirstPosting() {
+        //Given
+        List<Job> jobs = List.of(
+                job("Senior Java Dev", "USA", 100000, "EXTERNAL_API"),
+                job("Senior Go Developer", "USA", 100000, "INTERNAL"),
+                job("Sr. Java Developer", " usa ", 95000, "INTERNAL"),
+                job("Senior Java Developers", "USA", 100000, "PARTNER"));
+
+        //When
+        int[] representatives = detector.representatives(jobs);
+
+        //Then
+        assertThat(representatives).containsExactly(0, 1, 0, 0);
+    }
+
+    @Test
+    void shouldKeepPostingsApartByCountrySalaryAndSource() {
+        //Given
+        List<Job> jobs = List.of(
+                job("Senior Java Developer", "USA", 100000, "EXTERNAL_API"),
+                job("Senior Java Developer", "Spain", 100000, "INTERNAL"),          // another country
+                job("Senior Java Developer", "USA", 150000, "INTERNAL"),            // another salary
+                job("Senior Java Developer", "USA", null, "INTERNAL"),              // no salary
+                job("Sr Java Developer", "USA", 100000, "EXTERNAL_API"));           // same source
+
+        //When
+        int[] representatives = detector.representatives(jobs);
+
+        //Then
+        assertThat(representatives).containsExactly(0, 1, 2, 3, 4);
+    }
+
+    @Test
+    void shouldNotFoldTwoPostingsOfOneSourceThroughAnother() {
+        //Given - the second INTERNAL posting would join the first through the external one
+        List<Job> jobs = List.of(
+                job("Senior Java Developer", "USA", 100000, "INTERNAL"),
+                job("Senior Java Dev", "USA", 100000, "EXTERNAL_API"),
+                job("Sr Java Developer", "USA", 100000, "INTERNAL"));
+
+        //When
+        int[] representatives = detector.representatives(jobs);
+
+        //Then
+        assertThat(representatives[1]).isEqualTo(0);
+        assertThat(representatives[2]).isEqualTo(2);
+    }
+
+    @Test
+    void shouldScaleWithTheNumberOfJobs() {
+        //Given - 20k distinct postings, each also seen by a second source
+        List<Job> jobs = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            jobs.add(job("Java Developer team " + i, "USA", 50_000 + i, "INTERNAL"));
+            jobs.add(job("Java Dev team " + i, "USA", 50_000 + i, "EXTERNAL_API"));
+        }
+
+        //When
+        int[] representatives = detector.representatives(jobs);
+
+        //Then - most pairs found, far from 800M comparisons
+        int folded = 0;
+        for (int i = 0; i < representatives.length; i++) {
+            if (representatives[i] != i) folded++;
+        }
+        assertThat(folded).isGreaterThan(18_000);
+    }
+}
@@ -0,0 +1,143 @@
+package io.github.vivianagh.jobberwocky.infrastructure.source;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SingleFlightTest {
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final SingleFlight<String, String> flights = new SingleFlight<>(executor);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private static long in(long ms) {
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(ms);
+    }
+
+    @Test
+    void shouldShareOneCallBetweenConcurrentCallers() throws Exception {
+        //Given
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<String>> callers = new ArrayList<>();
+
+        //When
+        for (int i = 0; i < 20; i++) {
+            callers.add(executor.submit(() -> flights.run("java|usa", () -> {
+                calls.incrementAndGet();
+                release.await();
+                return "result";
+            }, in(5000))));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        //Then
+        for (Future<String> caller : callers) {
+            assertThat(caller.get()).isEqualTo("result");
+        }
+        assertThat(calls).hasValue(1);
+        assertThat(flights.size()).isZero();
+    }
+
+    @Test
+    void shouldTellOnlyTheCallersJoiningARunningCallThatItIsShared() throws Exception {
+        //Given
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger sharedWith = new AtomicInteger();
+        List<Future<String>> callers = new ArrayList<>();
+
+        //When
+        for (int i = 0; i < 5; i++) {
+            callers.add(executor.submit(() -> flights.run("java|usa", () -> {
+                release.await();
+                return "result";
+            }, in(5000), sharedWith::incrementAndGet)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+        for (Future<String> caller : callers) caller.get();
+
+        //Then: everyone but the leader
+        assertThat(sharedWith).hasValue(4);
+    }
+
+    @Test
+    void shouldStartANewCallOnceThePreviousOneCompleted() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        flights.run("k", () -> "v" + calls.incrementAndGet(), in(1000));
+        String second = flights.run("k", () -> "v" + calls.incrementAndGet(), in(1000));
+
+        assertThat(second).isEqualTo("v2");
+    }
+
+    @Test
+    void shouldLetOneCallerTimeOutWithoutCancellingTheOthers() throws Exception {
+        //Given
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> patient = executor.submit(() -> flights.run("k", () -> {
+            release.await();
+            return "late";
+        }, in(5000)));
+        Thread.sleep(50);
+
+        //When
+        assertThatThrownBy(() -> flights.run("k", () -> "never called", in(50)))
+                .isInstanceOf(TimeoutException.class);
+        release.countDown();
+
+        //Then
+        assertThat(patient.get()).isEqualTo("late");
+    }
+
+    @Test
+    void shouldCancelTheCallWhenTheLastCallerLeaves() throws Exception {
+        //Given
+        CountDownLatch interrupted = new CountDownLatch(1);
+        AtomicBoolean started = new AtomicBoolean();
+
+        //When
+        assertThatThrownBy(() -> flights.run("k", () -> {
+            started.set(true);
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw e;
+            }
+            return "v";
+        }, in(50))).isInstanceOf(TimeoutException.class);
+
+        //Then - interrupted, or cancelled before it even started (slow executor)
+        assertThat(!started.get() || interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        assertThat(flights.size()).isZero();
+    }
+
+    @Test
+    void shouldHandTheFailureToEveryCaller() {
+        assertThatThrownBy(() -> flights.run("k", () -> {
+            throw new IllegalStateException("boom");
+        }, in(1000)))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(IllegalStateException.class);
+    }
+}